@@ -0,0 +1,21 @@
+package com.semantic.saas.config;
+
+import com.semantic.saas.security.CurrentTenantArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration.
+ * Registers the resolver behind {@code @CurrentTenant} controller parameters.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentTenantArgumentResolver());
+    }
+}
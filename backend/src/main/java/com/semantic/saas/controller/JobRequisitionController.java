@@ -0,0 +1,101 @@
+package com.semantic.saas.controller;
+
+import com.semantic.saas.dto.ApiResponseDTO;
+import com.semantic.saas.dto.JobRequisitionDTO;
+import com.semantic.saas.dto.PagedResponseDTO;
+import com.semantic.saas.dto.TalentMatch;
+import com.semantic.saas.model.JobRequisition;
+import com.semantic.saas.security.CurrentTenant;
+import com.semantic.saas.service.JobRequisitionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/job-requisitions")
+public class JobRequisitionController {
+
+    private final JobRequisitionService jobRequisitionService;
+
+    @Autowired
+    public JobRequisitionController(JobRequisitionService jobRequisitionService) {
+        this.jobRequisitionService = jobRequisitionService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<PagedResponseDTO<JobRequisitionDTO>> getRequisitions(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @CurrentTenant Integer customerId) {
+        
+        Page<JobRequisition> requisitions = jobRequisitionService.getRequisitions(
+                customerId, PageRequest.of(page, size, Sort.by("id").descending()));
+        
+        return ResponseEntity.ok(PagedResponseDTO.from(requisitions, requisition -> new JobRequisitionDTO(requisition)));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<JobRequisitionDTO> getRequisitionById(
+            @PathVariable(value = "id") Integer requisitionId,
+            @CurrentTenant Integer customerId) {
+        
+        return ResponseEntity.ok(new JobRequisitionDTO(jobRequisitionService.getRequisitionById(requisitionId, customerId)));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDTO> createRequisition(
+            @Valid @RequestBody JobRequisitionDTO requisitionDTO,
+            @CurrentTenant Integer customerId) {
+        
+        JobRequisition saved = jobRequisitionService.createRequisition(requisitionDTO.toEntity(), customerId);
+        
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponseDTO.success("Job requisition created successfully", new JobRequisitionDTO(saved)));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDTO> updateRequisition(
+            @PathVariable(value = "id") Integer requisitionId,
+            @Valid @RequestBody JobRequisitionDTO requisitionDTO,
+            @CurrentTenant Integer customerId) {
+        
+        JobRequisition updated = jobRequisitionService.updateRequisition(requisitionId, requisitionDTO.toEntity(), customerId);
+        
+        return ResponseEntity.ok(ApiResponseDTO.success("Job requisition updated successfully", new JobRequisitionDTO(updated)));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDTO> deleteRequisition(
+            @PathVariable(value = "id") Integer requisitionId,
+            @CurrentTenant Integer customerId) {
+        
+        jobRequisitionService.deleteRequisition(requisitionId, customerId);
+        
+        return ResponseEntity.ok(ApiResponseDTO.success("Job requisition deleted successfully"));
+    }
+
+    @GetMapping("/{id}/matches")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<TalentMatch>> getShortlist(
+            @PathVariable(value = "id") Integer requisitionId,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "minScore", defaultValue = "0") float minScore,
+            @CurrentTenant Integer customerId) {
+        
+        return ResponseEntity.ok(jobRequisitionService.getShortlist(requisitionId, customerId, limit, minScore));
+    }
+}
@@ -1,26 +1,54 @@
 package com.semantic.saas.controller;
 
 import com.semantic.saas.dto.ApiResponseDTO;
+import com.semantic.saas.dto.CursorPageDTO;
+import com.semantic.saas.dto.DuplicateCandidate;
+import com.semantic.saas.dto.FacetValue;
 import com.semantic.saas.dto.PagedResponseDTO;
+import com.semantic.saas.dto.TalentCacheStats;
+import com.semantic.saas.dto.TalentCursor;
 import com.semantic.saas.dto.TalentDTO;
+import com.semantic.saas.dto.TalentFilter;
+import com.semantic.saas.dto.TalentImportReport;
+import com.semantic.saas.dto.TalentSearchHit;
+import com.semantic.saas.dto.TalentSummary;
+import com.semantic.saas.index.SkillFilter;
+import com.semantic.saas.index.TalentDuplicateIndex;
+import com.semantic.saas.index.TalentLuceneIndex;
+import com.semantic.saas.index.TalentSuggestIndex;
 import com.semantic.saas.model.Talent;
-import com.semantic.saas.model.User;
-import com.semantic.saas.service.AuthService;
+import com.semantic.saas.security.CurrentTenant;
+import com.semantic.saas.service.TalentExportService;
+import com.semantic.saas.service.TalentFacetService;
+import com.semantic.saas.service.TalentFileFormat;
+import com.semantic.saas.service.TalentImportService;
+import com.semantic.saas.service.TalentResponseCache;
+import com.semantic.saas.service.TalentSearchQuery;
 import com.semantic.saas.service.TalentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,119 +56,504 @@ import java.util.stream.Collectors;
 public class TalentController {
 
     private final TalentService talentService;
-    private final AuthService authService;
+    private final TalentFacetService talentFacetService;
+    private final TalentExportService talentExportService;
+    private final TalentImportService talentImportService;
+    private final TalentResponseCache talentResponseCache;
 
     @Autowired
-    public TalentController(TalentService talentService, AuthService authService) {
+    public TalentController(
+            TalentService talentService,
+            TalentFacetService talentFacetService,
+            TalentExportService talentExportService,
+            TalentImportService talentImportService,
+            TalentResponseCache talentResponseCache) {
         this.talentService = talentService;
-        this.authService = authService;
+        this.talentFacetService = talentFacetService;
+        this.talentExportService = talentExportService;
+        this.talentImportService = talentImportService;
+        this.talentResponseCache = talentResponseCache;
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<PagedResponseDTO<TalentDTO>> getAllTalents(
+    public ResponseEntity<?> getAllTalents(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
             @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
             @RequestParam(value = "sortDir", defaultValue = "asc") String sortDir,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "view", defaultValue = "full") String view,
+            @RequestParam(value = "near", required = false) String near,
+            @RequestParam(value = "radiusKm", defaultValue = "50") double radiusKm,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentTenant Integer customerId) {
         
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
+        // Radius mode: "near" is "lat,lon" or a city name such as "Berlin, Germany"
+        if (near != null) {
+            if (after != null) {
+                throw new IllegalArgumentException("near does not support cursor pagination");
+            }
+            return filterTalents(talentService.nearFilter(near, radiusKm), page, size, sortBy, sortDir, view, customerId);
+        }
+        
+        boolean summary = isSummaryView(view);
+        
+        // Cursor mode: pass an empty "after" for the first slice, then the returned nextCursor
+        if (after != null) {
+            return ResponseEntity.ok(scrollTalents(customerId, null, sortBy, sortDir, after, size, summary));
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") 
                 ? Sort.by(sortBy).descending() 
                 : Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Talent> talents = talentService.getAllTalents(currentUser.getCustomer().getId(), pageable);
-        
-        PagedResponseDTO<TalentDTO> response = PagedResponseDTO.from(talents, talent -> new TalentDTO(talent));
-        
-        return ResponseEntity.ok(response);
+        String query = "list|" + page + "|" + size + "|" + sort + "|" + summary;
+        return cachedPage(customerId, query, acceptEncoding, () -> {
+            if (summary) {
+                return PagedResponseDTO.from(talentService.getTalentSummaries(customerId, pageable), Function.identity());
+            }
+            
+            Page<Talent> talents = talentService.getAllTalents(customerId, pageable);
+            
+            return PagedResponseDTO.from(talents, talent -> new TalentDTO(talent));
+        });
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<TalentDTO> getTalentById(
             @PathVariable(value = "id") Integer talentId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentTenant Integer customerId) {
         
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
-        
-        Talent talent = talentService.getTalentById(talentId, currentUser.getCustomer().getId());
-        
-        return ResponseEntity.ok(new TalentDTO(talent));
+        TalentDTO talent = talentService.getTalentDetail(talentId, customerId);
+        return ResponseEntity.ok().eTag(talentETag(talent.getVersion())).body(talent);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponseDTO> createTalent(
             @Valid @RequestBody TalentDTO talentDTO,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
+            @RequestParam(value = "allowDuplicates", defaultValue = "false") boolean allowDuplicates,
+            @CurrentTenant Integer customerId) {
         
         Talent talent = talentDTO.toEntity();
-        Talent savedTalent = talentService.createTalent(talent, currentUser.getCustomer().getId());
+        Talent savedTalent = talentService.createTalent(talent, customerId, allowDuplicates);
         
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponseDTO.success("Talent created successfully", new TalentDTO(savedTalent)));
     }
 
+    /**
+     * Create up to 1000 talents at once; either all of them are created or none is
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDTO> createTalents(
+            @RequestBody List<@Valid TalentDTO> talentDTOs,
+            @RequestParam(value = "allowDuplicates", defaultValue = "false") boolean allowDuplicates,
+            @CurrentTenant Integer customerId) {
+        
+        List<Talent> talents = talentDTOs.stream().map(TalentDTO::toEntity).toList();
+        List<Talent> savedTalents = talentService.createTalents(talents, customerId, allowDuplicates);
+        
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponseDTO.success(savedTalents.size() + " talents created successfully",
+                        savedTalents.stream().map(TalentDTO::new).toList()));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponseDTO> updateTalent(
             @PathVariable(value = "id") Integer talentId,
             @Valid @RequestBody TalentDTO talentDTO,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @CurrentTenant Integer customerId) {
         
         Talent talent = talentDTO.toEntity();
-        Talent updatedTalent = talentService.updateTalent(talentId, talent, currentUser.getCustomer().getId());
+        // With If-Match the update only succeeds on the versions the client has seen, otherwise 412
+        List<Long> versions = ifMatch == null ? null : parseIfMatch(ifMatch);
+        Talent updatedTalent = versions == null
+                ? talentService.updateTalent(talentId, talent, customerId)
+                : talentService.updateTalentIfMatch(talentId, talent, customerId, versions);
         
-        return ResponseEntity.ok(ApiResponseDTO.success("Talent updated successfully", new TalentDTO(updatedTalent)));
+        return ResponseEntity.ok()
+                .eTag(talentETag(updatedTalent.getVersion()))
+                .body(ApiResponseDTO.success("Talent updated successfully", new TalentDTO(updatedTalent)));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponseDTO> deleteTalent(
             @PathVariable(value = "id") Integer talentId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
+            @CurrentTenant Integer customerId) {
         
-        talentService.deleteTalent(talentId, currentUser.getCustomer().getId());
+        talentService.deleteTalent(talentId, customerId);
         
         return ResponseEntity.ok(ApiResponseDTO.success("Talent deleted successfully"));
     }
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<PagedResponseDTO<TalentDTO>> searchTalents(
+    public ResponseEntity<?> searchTalents(
             @RequestParam(value = "keyword", required = true) String keyword,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "view", defaultValue = "full") String view,
+            @RequestParam(value = "engine", defaultValue = "postgres") String engine,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentTenant Integer customerId) {
         
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
+        boolean summary = isSummaryView(view);
+        
+        if (engine.equalsIgnoreCase("lucene")) {
+            if (after != null) {
+                throw new IllegalArgumentException("Cursor pagination is not supported by the lucene engine");
+            }
+            Page<TalentSearchHit> hits = talentService.searchTalentsWithLucene(customerId, keyword, PageRequest.of(page, size));
+            return ResponseEntity.ok(PagedResponseDTO.from(hits, Function.identity()));
+        }
+        if (!engine.equalsIgnoreCase("postgres")) {
+            throw new IllegalArgumentException("Unknown engine: " + engine + " (expected postgres or lucene)");
+        }
+        
+        if (after != null) {
+            return ResponseEntity.ok(scrollTalents(customerId, keyword, "id", "asc", after, size, summary));
+        }
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Talent> talents = talentService.searchTalents(currentUser.getCustomer().getId(), keyword, pageable);
+        // Keywords that parse the same run the same query; the free text goes last as it may contain '|'
+        TalentSearchQuery parsed = TalentSearchQuery.parse(keyword);
+        String query = "search|" + page + "|" + size + "|" + summary + "|" + parsed.prefix() + "|" + parsed.text();
+        return cachedPage(customerId, query, acceptEncoding, () -> {
+            if (summary) {
+                return PagedResponseDTO.from(talentService.searchTalentSummaries(customerId, keyword, pageable), Function.identity());
+            }
+            
+            Page<Talent> talents = talentService.searchTalents(customerId, keyword, pageable);
+            
+            return PagedResponseDTO.from(talents, talent -> new TalentDTO(talent));
+        });
+    }
+
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<TalentSuggestIndex.Suggestion>> suggest(
+            @RequestParam(value = "prefix") String prefix,
+            @RequestParam(value = "kind", required = false) String kinds,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @CurrentTenant Integer customerId) {
         
-        PagedResponseDTO<TalentDTO> response = PagedResponseDTO.from(talents, talent -> new TalentDTO(talent));
+        return ResponseEntity.ok(talentService.suggest(customerId, prefix, kinds, limit));
+    }
+
+    @GetMapping("/semantic-search")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<TalentSearchHit>> semanticSearchTalents(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @CurrentTenant Integer customerId) {
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(talentService.semanticSearch(customerId, query, k));
     }
 
-    @GetMapping("/count")
+    @PostMapping("/search-index/rebuild")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<ApiResponseDTO> countTalents(@AuthenticationPrincipal UserDetails userDetails) {
-        User currentUser = authService.getUserByEmail(userDetails.getUsername());
+    public ResponseEntity<ApiResponseDTO> rebuildSearchIndex(@CurrentTenant Integer customerId) {
+        int indexed = talentService.rebuildSearchIndex(customerId);
         
-        long count = talentService.countTalents(currentUser.getCustomer().getId());
+        return ResponseEntity.ok(ApiResponseDTO.success("Search index rebuilt", indexed));
+    }
+
+    @GetMapping("/search-index/check")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<TalentLuceneIndex.ConsistencyReport> checkSearchIndex(@CurrentTenant Integer customerId) {
+        return ResponseEntity.ok(talentService.checkSearchIndex(customerId));
+    }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<TalentCacheStats> getTalentCacheStats(@CurrentTenant Integer customerId) {
+        return ResponseEntity.ok(talentService.getTalentCacheStats(customerId));
+    }
+
+    @PostMapping("/duplicates/check")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<DuplicateCandidate>> checkDuplicates(
+            @RequestBody TalentDTO talentDTO,
+            @CurrentTenant Integer customerId) {
+        
+        return ResponseEntity.ok(talentService.findDuplicateCandidates(customerId, talentDTO.toEntity()));
+    }
+
+    @GetMapping("/duplicates/clusters")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<TalentDuplicateIndex.DuplicateReport> getDuplicateClusters(@CurrentTenant Integer customerId) {
+        return ResponseEntity.ok(talentService.getDuplicateReport(customerId));
+    }
+
+    @GetMapping("/skills/filter")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<PagedResponseDTO<TalentSummary>> filterTalentsBySkills(
+            @RequestParam(value = "all", required = false) String all,
+            @RequestParam(value = "any", required = false) String any,
+            @RequestParam(value = "none", required = false) String none,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @CurrentTenant Integer customerId) {
+        
+        SkillFilter filter = SkillFilter.of(all, any, none);
+        Page<TalentSummary> talents = talentService.filterBySkills(customerId, filter, PageRequest.of(page, size));
+        
+        return ResponseEntity.ok(PagedResponseDTO.from(talents, Function.identity()));
+    }
+
+    /**
+     * Filter talents by a structured filter tree, see {@link TalentFilter} for the format.
+     * Filters that no index can narrow down are answered with a Warning header, or refused,
+     * depending on talent.filter.unindexed.
+     */
+    @PostMapping("/filter")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<PagedResponseDTO<?>> filterTalents(
+            @RequestBody TalentFilter filter,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
+            @RequestParam(value = "sortDir", defaultValue = "asc") String sortDir,
+            @RequestParam(value = "view", defaultValue = "full") String view,
+            @CurrentTenant Integer customerId) {
+        
+        boolean summary = isSummaryView(view);
+        String warning = talentService.checkFilter(filter);
+        
+        Sort sort = sortDir.equalsIgnoreCase("desc") 
+                ? Sort.by(sortBy).descending() 
+                : Sort.by(sortBy).ascending();
+        
+        Page<Talent> talents = talentService.filterTalents(customerId, filter, PageRequest.of(page, size, sort));
+        
+        PagedResponseDTO<?> response = summary
+                ? PagedResponseDTO.from(talents, TalentSummary::of)
+                : PagedResponseDTO.from(talents, talent -> new TalentDTO(talent));
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (warning != null) {
+            builder.header(HttpHeaders.WARNING, "299 - \"" + warning + "\"");
+        }
+        return builder.body(response);
+    }
+
+    /**
+     * Stream all talents of the customer as NDJSON or CSV, gzipped if the client accepts it.
+     * The body is written from a database cursor on an async thread, so memory use does not grow with the export.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTalents(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentTenant Integer customerId) {
+        
+        TalentFileFormat exportFormat = TalentFileFormat.parse(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("talents." + exportFormat.getExtension()).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(out -> talentExportService.export(customerId, exportFormat, gzip, out));
+    }
+
+    /**
+     * Import talents from a CSV or NDJSON body, optionally gzipped; the format of an export can be imported as is.
+     * The format defaults to CSV for text/csv bodies and NDJSON otherwise. Invalid rows and likely duplicates
+     * of existing talents are skipped and reported, unless allowDuplicates is set.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDTO> importTalents(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "allowDuplicates", defaultValue = "false") boolean allowDuplicates,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body,
+            @CurrentTenant Integer customerId) throws IOException {
+        
+        TalentFileFormat importFormat = format != null
+                ? TalentFileFormat.parse(format)
+                : contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")
+                        ? TalentFileFormat.CSV
+                        : TalentFileFormat.NDJSON;
+        TalentImportReport report = talentImportService.importTalents(customerId, importFormat, body, allowDuplicates);
+        
+        return ResponseEntity.ok(ApiResponseDTO.success(
+                "Imported " + report.imported() + " of " + report.received() + " talents", report));
+    }
+
+    @GetMapping("/facets")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, List<FacetValue>>> getTalentFacets(
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @CurrentTenant Integer customerId) {
+        
+        return ResponseEntity.ok(talentFacetService.getFacets(customerId, keyword, limit));
+    }
+
+    @GetMapping("/fuzzy")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<TalentSummary>> fuzzySearchTalents(
+            @RequestParam(value = "q") String term,
+            @RequestParam(value = "threshold", required = false) Double threshold,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @CurrentTenant Integer customerId) {
+        
+        List<TalentSummary> talents = talentService.fuzzySearch(customerId, term, threshold, limit);
+        
+        return ResponseEntity.ok(talents);
+    }
+
+    @GetMapping("/count")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDTO> countTalents(@CurrentTenant Integer customerId) {
+        long count = talentService.countTalents(customerId);
         
         return ResponseEntity.ok(ApiResponseDTO.success("Total number of talents retrieved", count));
     }
+
+    /**
+     * Build a keyset paginated slice of talents.
+     * A non-empty cursor carries its own sort field and direction, which take precedence over the request.
+     */
+    private CursorPageDTO<?> scrollTalents(Integer customerId, String keyword, String sortBy, String sortDir,
+                                           String after, int size, boolean summary) {
+        TalentCursor cursor = after.isEmpty() ? null : TalentCursor.decode(after);
+        String sortField = cursor != null ? cursor.getSortField() : sortBy;
+        boolean descending = cursor != null ? cursor.isDescending() : sortDir.equalsIgnoreCase("desc");
+        
+        if (summary) {
+            Slice<TalentSummary> summaries = talentService.scrollTalentSummaries(
+                    customerId, keyword, sortField, descending, cursor, size);
+            return CursorPageDTO.from(
+                    summaries,
+                    Function.identity(),
+                    talent -> TalentCursor.after(sortField, descending, talent).encode());
+        }
+        
+        Slice<Talent> talents = talentService.scrollTalents(customerId, keyword, sortField, descending, cursor, size);
+        
+        return CursorPageDTO.from(
+                talents,
+                talent -> new TalentDTO(talent),
+                talent -> TalentCursor.after(sortField, descending, talent).encode());
+    }
+
+    /**
+     * Serve a list or search page through the response cache, gzipped if the client accepts it.
+     * The ETag is the hash of the cached page, so unchanged pages answer If-None-Match with 304.
+     * @param query The normalized request, see {@link TalentResponseCache#get}
+     * @param loader Builds the page on a miss
+     */
+    private ResponseEntity<?> cachedPage(Integer customerId, String query, String acceptEncoding, Supplier<?> loader) {
+        if (!talentResponseCache.isEnabled()) {
+            return ResponseEntity.ok(loader.get());
+        }
+        
+        TalentResponseCache.CachedResponse cached = talentResponseCache.get(customerId, query, loader);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // With an ETag on a 200 response, Spring answers a matching If-None-Match with 304 and no body
+        if (cached.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.eTag(cached.eTag(true)).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+        }
+        return builder.eTag(cached.eTag(false)).body(cached.json());
+    }
+
+    static String talentETag(Long version) {
+        return "\"v" + version + "\"";
+    }
+
+    /**
+     * Parse an If-Match header into the talent versions it accepts
+     * @param ifMatch The header value, e.g. "v3" or "v3", "v4" or *
+     * @return The versions, or null for * which any existing talent matches.
+     *         Weak and unknown tags never match under the strong comparison If-Match requires.
+     */
+    static List<Long> parseIfMatch(String ifMatch) {
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.length() > 3 && tag.startsWith("\"v") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(2, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not one of our tags
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Check whether a client accepts gzip, honouring quality values
+     * @param acceptEncoding The Accept-Encoding header, e.g. "gzip, deflate" or "br;q=1.0, gzip;q=0", may be null
+     * @return true if gzip, or else *, is listed with a quality above zero
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        // A malformed weight does not make a coding acceptable
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                any = Math.max(any, quality);
+            }
+        }
+        // A coding named explicitly overrides the wildcard
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    /**
+     * Parse the "view" request parameter
+     * @param view Either "full" or "summary"
+     * @return true for the summary view
+     */
+    private boolean isSummaryView(String view) {
+        if (view.equalsIgnoreCase("summary")) {
+            return true;
+        }
+        if (view.equalsIgnoreCase("full")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown view: " + view + " (expected full or summary)");
+    }
 }
@@ -1,8 +1,9 @@
 package com.semantic.saas.controller;
 
 import com.semantic.saas.dto.UserDTO;
-import com.semantic.saas.model.Role;
 import com.semantic.saas.model.User;
+import com.semantic.saas.security.CurrentTenant;
+import com.semantic.saas.service.RoleRegistry;
 import com.semantic.saas.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,20 +22,23 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final UserService userService;
+    private final RoleRegistry roleRegistry;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, RoleRegistry roleRegistry) {
         this.userService = userService;
+        this.roleRegistry = roleRegistry;
     }
 
     /**
-     * Get all users
-     * @return List of all users
+     * Get all users of the current customer
+     * @param customerId The customer ID of the caller
+     * @return List of all users of the customer
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<List<UserDTO>> getAllUsers(@CurrentTenant Long customerId) {
+        List<User> users = userService.getUsersByCustomerId(customerId);
         List<UserDTO> userDTOs = users.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -44,11 +48,14 @@ public class UserController {
     /**
      * Get users by customer ID
      * @param customerId The customer ID
+     * @param tenantId The customer ID of the caller
      * @return List of users for the customer
      */
     @GetMapping("/customer/{customerId}")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.isFromCustomer(#customerId)")
-    public ResponseEntity<List<UserDTO>> getUsersByCustomer(@PathVariable Long customerId) {
+    public ResponseEntity<List<UserDTO>> getUsersByCustomer(@PathVariable Long customerId, @CurrentTenant Long tenantId) {
+        if (!customerId.equals(tenantId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
+        }
         List<User> users = userService.getUsersByCustomerId(customerId);
         List<UserDTO> userDTOs = users.stream()
                 .map(this::convertToDTO)
@@ -59,42 +66,69 @@ public class UserController {
     /**
      * Get a user by ID
      * @param id The user ID
+     * @param customerId The customer ID of the caller
      * @return The user
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessUser(#id)")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id, @CurrentTenant Long customerId) {
+        User user = getTenantUser(id, customerId);
         return ResponseEntity.ok(convertToDTO(user));
     }
 
     /**
      * Create a new user
      * @param userDTO The user data
+     * @param customerId The customer ID of the caller
      * @return The created user
      */
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<UserDTO> createUser(@RequestBody UserDTO userDTO) {
+    public ResponseEntity<UserDTO> createUser(@RequestBody UserDTO userDTO, @CurrentTenant Long customerId) {
         try {
             User user = convertToEntity(userDTO);
-            User createdUser = userService.createUser(user, userDTO.getCustomerId(), userDTO.getRoles());
+            User createdUser = userService.createUser(user, targetCustomerId(userDTO, customerId), userDTO.getRoles());
             return new ResponseEntity<>(convertToDTO(createdUser), HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
+    /**
+     * Create up to 100 users at once; either all of them are created or none is
+     * @param userDTOs The user data
+     * @param customerId The customer ID of the caller
+     * @return The created users, in the given order
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<UserDTO>> createUsers(@RequestBody List<UserDTO> userDTOs, @CurrentTenant Long customerId) {
+        try {
+            List<UserService.NewUser> newUsers = userDTOs.stream()
+                    .map(userDTO -> new UserService.NewUser(
+                            convertToEntity(userDTO), targetCustomerId(userDTO, customerId), userDTO.getRoles()))
+                    .collect(Collectors.toList());
+            List<UserDTO> createdUsers = userService.createUsers(newUsers).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            return new ResponseEntity<>(createdUsers, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Update an existing user
      * @param id The user ID
      * @param userDTO The updated user data
+     * @param customerId The customer ID of the caller
      * @return The updated user
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessUser(#id)")
-    public ResponseEntity<UserDTO> updateUser(@PathVariable Long id, @RequestBody UserDTO userDTO) {
+    public ResponseEntity<UserDTO> updateUser(
+            @PathVariable Long id, @RequestBody UserDTO userDTO, @CurrentTenant Long customerId) {
+        getTenantUser(id, customerId);
         try {
             User userDetails = convertToEntity(userDTO);
             User updatedUser = userService.updateUser(id, userDetails);
@@ -113,11 +147,13 @@ public class UserController {
     /**
      * Delete a user
      * @param id The user ID
+     * @param customerId The customer ID of the caller
      * @return No content
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id, @CurrentTenant Long customerId) {
+        getTenantUser(id, customerId);
         try {
             userService.deleteUser(id);
             return ResponseEntity.noContent().build();
@@ -126,14 +162,40 @@ public class UserController {
         }
     }
 
+    /**
+     * Get a user of the current customer; users of other customers are reported as not found
+     * @param id The user ID
+     * @param customerId The customer ID of the caller
+     * @return The user
+     */
+    private User getTenantUser(Long id, Long customerId) {
+        return userService.getUserById(id)
+                .filter(user -> customerId.equals(user.getCustomer().getId().longValue()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    /**
+     * Get the customer a new user is created for: always the caller's own customer
+     * @param userDTO The user data, whose customer ID may be omitted
+     * @param customerId The customer ID of the caller
+     * @return The customer ID
+     */
+    private static Long targetCustomerId(UserDTO userDTO, Long customerId) {
+        if (userDTO.getCustomerId() != null && !userDTO.getCustomerId().equals(customerId)) {
+            throw new IllegalArgumentException("Users can only be created for your own customer");
+        }
+        return customerId;
+    }
+
     /**
      * Convert a User entity to a UserDTO
      * @param user The user entity
      * @return The user DTO
      */
     private UserDTO convertToDTO(User user) {
+        // Names from the registry, so roles just assigned by reference are not loaded one by one
         Set<String> roleNames = user.getRoles().stream()
-                .map(Role::getName)
+                .map(roleRegistry::nameOf)
                 .collect(Collectors.toSet());
         
         return new UserDTO(
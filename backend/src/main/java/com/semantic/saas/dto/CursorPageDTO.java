@@ -0,0 +1,74 @@
+package com.semantic.saas.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Slice of results for cursor (keyset) pagination.
+ * Unlike PagedResponseDTO it carries no totals, so no COUNT query is needed to build it.
+ */
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    
+    public CursorPageDTO() {
+    }
+    
+    public CursorPageDTO(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+    
+    public static <X, Y> CursorPageDTO<Y> from(Slice<X> slice, Function<X, Y> converter, Function<X, String> cursorOf) {
+        List<X> rows = slice.getContent();
+        List<Y> content = rows.stream()
+                .map(converter)
+                .collect(Collectors.toList());
+        
+        String nextCursor = slice.hasNext() && !rows.isEmpty()
+                ? cursorOf.apply(rows.get(rows.size() - 1))
+                : null;
+        
+        return new CursorPageDTO<>(content, slice.getSize(), slice.hasNext(), nextCursor);
+    }
+    
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
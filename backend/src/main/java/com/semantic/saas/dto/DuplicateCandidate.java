@@ -0,0 +1,9 @@
+package com.semantic.saas.dto;
+
+/**
+ * An existing talent that is likely the same person as the one being checked
+ * @param talent The existing talent
+ * @param similarity The estimated similarity of the two profiles, from 0 to 1
+ */
+public record DuplicateCandidate(TalentSummary talent, float similarity) {
+}
@@ -0,0 +1,9 @@
+package com.semantic.saas.dto;
+
+/**
+ * A single facet bucket, e.g. "Java (412)"
+ * @param value The facet value
+ * @param count The number of matching talents with this value
+ */
+public record FacetValue(String value, long count) {
+}
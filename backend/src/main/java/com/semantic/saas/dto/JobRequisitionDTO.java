@@ -0,0 +1,138 @@
+package com.semantic.saas.dto;
+
+import com.semantic.saas.model.JobRequisition;
+import com.semantic.saas.model.Seniority;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+public class JobRequisitionDTO {
+    
+    private Integer id;
+    
+    @NotBlank(message = "Title is required")
+    @Size(max = 150, message = "Title must be less than 150 characters")
+    private String title;
+    
+    private String requiredSkills;
+    
+    @Size(max = 100, message = "Location must be less than 100 characters")
+    private String location;
+    
+    @PositiveOrZero(message = "Minimum salary must not be negative")
+    private Double salaryMin;
+    
+    @PositiveOrZero(message = "Maximum salary must not be negative")
+    private Double salaryMax;
+    
+    private Seniority seniority;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public JobRequisitionDTO() {
+    }
+    
+    // Constructor for conversion from entity
+    public JobRequisitionDTO(JobRequisition requisition) {
+        this.id = requisition.getId();
+        this.title = requisition.getTitle();
+        this.requiredSkills = requisition.getRequiredSkills();
+        this.location = requisition.getLocation();
+        this.salaryMin = requisition.getSalaryMin();
+        this.salaryMax = requisition.getSalaryMax();
+        this.seniority = requisition.getSeniority();
+        this.createdAt = requisition.getCreatedAt();
+        this.updatedAt = requisition.getUpdatedAt();
+    }
+    
+    // Method to convert DTO to Entity
+    public JobRequisition toEntity() {
+        JobRequisition requisition = new JobRequisition();
+        requisition.setId(this.id);
+        requisition.setTitle(this.title);
+        requisition.setRequiredSkills(this.requiredSkills);
+        requisition.setLocation(this.location);
+        requisition.setSalaryMin(this.salaryMin);
+        requisition.setSalaryMax(this.salaryMax);
+        requisition.setSeniority(this.seniority);
+        return requisition;
+    }
+    
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getRequiredSkills() {
+        return requiredSkills;
+    }
+    
+    public void setRequiredSkills(String requiredSkills) {
+        this.requiredSkills = requiredSkills;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public Double getSalaryMin() {
+        return salaryMin;
+    }
+    
+    public void setSalaryMin(Double salaryMin) {
+        this.salaryMin = salaryMin;
+    }
+    
+    public Double getSalaryMax() {
+        return salaryMax;
+    }
+    
+    public void setSalaryMax(Double salaryMax) {
+        this.salaryMax = salaryMax;
+    }
+    
+    public Seniority getSeniority() {
+        return seniority;
+    }
+    
+    public void setSeniority(Seniority seniority) {
+        this.seniority = seniority;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.semantic.saas.dto;
+
+/**
+ * Talent detail cache statistics of one tenant
+ * @param hits Reads served from the cache
+ * @param misses Reads that went to the database
+ * @param evictions Entries of the tenant dropped to stay within its own or the shared memory budget
+ * @param entries The number of cached talents
+ * @param weightBytes The estimated memory used by the cached talents
+ * @param maxWeightBytes The tenant's memory budget
+ */
+public record TalentCacheStats(long hits, long misses, long evictions, long entries, long weightBytes, long maxWeightBytes) {
+}
@@ -0,0 +1,110 @@
+package com.semantic.saas.dto;
+
+import com.semantic.saas.model.Talent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination over talents.
+ * Encodes the sort field, direction and the (sort key, id) of the last row of a slice.
+ */
+public class TalentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortField;
+    private final boolean descending;
+    private final Object lastValue;
+    private final Integer lastId;
+
+    public TalentCursor(String sortField, boolean descending, Object lastValue, Integer lastId) {
+        this.sortField = sortField;
+        this.descending = descending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Build the cursor that points just after a talent
+     * @param sortField The sort field
+     * @param descending true if sorted descending
+     * @param talent The last talent of the current slice
+     * @return The cursor
+     */
+    public static TalentCursor after(String sortField, boolean descending, Talent talent) {
+        return after(sortField, descending, talent.getId(), talent.getCreatedAt(), talent.getLastName());
+    }
+
+    /**
+     * Build the cursor that points just after a talent summary
+     * @param sortField The sort field
+     * @param descending true if sorted descending
+     * @param summary The last talent summary of the current slice
+     * @return The cursor
+     */
+    public static TalentCursor after(String sortField, boolean descending, TalentSummary summary) {
+        return after(sortField, descending, summary.id(), summary.createdAt(), summary.lastName());
+    }
+
+    private static TalentCursor after(String sortField, boolean descending, Integer id,
+                                      LocalDateTime createdAt, String lastName) {
+        Object value = switch (sortField) {
+            case "createdAt" -> createdAt;
+            case "lastName" -> lastName;
+            default -> id;
+        };
+        return new TalentCursor(sortField, descending, value, id);
+    }
+
+    /**
+     * Encode the cursor as an opaque URL-safe string
+     * @return The encoded cursor
+     */
+    public String encode() {
+        String raw = sortField + SEPARATOR + (descending ? "d" : "a") + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode()}
+     * @param cursor The encoded cursor
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static TalentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            String sortField = parts[0];
+            boolean descending = "d".equals(parts[1]);
+            Integer lastId = Integer.valueOf(parts[2]);
+            Object lastValue = switch (sortField) {
+                case "createdAt" -> LocalDateTime.parse(parts[3]);
+                case "lastName" -> parts[3];
+                case "id" -> lastId;
+                default -> throw new IllegalArgumentException("Unknown sort field: " + sortField);
+            };
+            return new TalentCursor(sortField, descending, lastValue, lastId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Object getLastValue() {
+        return lastValue;
+    }
+
+    public Integer getLastId() {
+        return lastId;
+    }
+}
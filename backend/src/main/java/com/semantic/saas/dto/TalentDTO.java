@@ -1,6 +1,8 @@
 package com.semantic.saas.dto;
 
+import com.semantic.saas.model.Seniority;
 import com.semantic.saas.model.Talent;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
@@ -38,30 +40,47 @@ public class TalentDTO {
     @Past(message = "Date of birth must be in the past")
     private LocalDate dateOfBirth;
     
+    @Size(max = 100, message = "Location must be less than 100 characters")
     private String location;
     
+    @Size(max = 255, message = "LinkedIn URL must be less than 255 characters")
     private String linkedinUrl;
     
+    @Size(max = 255, message = "GitHub URL must be less than 255 characters")
     private String githubUrl;
     
+    @Size(max = 255, message = "Portfolio URL must be less than 255 characters")
     private String portfolioUrl;
     
+    @Size(max = 255, message = "Resume URL must be less than 255 characters")
     private String resumeUrl;
     
+    @Size(max = 100, message = "Current position must be less than 100 characters")
     private String currentPosition;
     
+    @Size(max = 100, message = "Desired position must be less than 100 characters")
     private String desiredPosition;
     
+    @DecimalMax(value = "9999999999.99", message = "Salary expectation is too large")
     private Double salaryExpectation;
     
+    @Size(max = 100, message = "Availability must be less than 100 characters")
     private String availability;
     
     private String notes;
     
+    // Derived at write time; ignored on input
+    private Integer totalExperienceMonths;
+    
+    private Seniority seniority;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
     
+    // Also sent as the ETag; ignored on input, send it back in If-Match instead
+    private Long version;
+    
     // Default constructor
     public TalentDTO() {
     }
@@ -87,8 +106,11 @@ public class TalentDTO {
         this.salaryExpectation = talent.getSalaryExpectation();
         this.availability = talent.getAvailability();
         this.notes = talent.getNotes();
+        this.totalExperienceMonths = talent.getTotalExperienceMonths();
+        this.seniority = talent.getSeniority();
         this.createdAt = talent.getCreatedAt();
         this.updatedAt = talent.getUpdatedAt();
+        this.version = talent.getVersion();
     }
     
     // Method to convert DTO to Entity
@@ -269,6 +291,22 @@ public class TalentDTO {
         this.notes = notes;
     }
     
+    public Integer getTotalExperienceMonths() {
+        return totalExperienceMonths;
+    }
+    
+    public void setTotalExperienceMonths(Integer totalExperienceMonths) {
+        this.totalExperienceMonths = totalExperienceMonths;
+    }
+    
+    public Seniority getSeniority() {
+        return seniority;
+    }
+    
+    public void setSeniority(Seniority seniority) {
+        this.seniority = seniority;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -284,4 +322,12 @@ public class TalentDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
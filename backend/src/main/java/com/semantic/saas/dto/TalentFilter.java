@@ -0,0 +1,107 @@
+package com.semantic.saas.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.semantic.saas.model.Seniority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Typed filter tree for talents. Each node is recognized by its single property, e.g.
+ * <pre>
+ * {"and": [
+ *   {"salary": {"min": 50000, "max": 90000}},
+ *   {"or": [{"location": ["Berlin", "Remote"]}, {"hasGithub": true}]},
+ *   {"not": {"availability": ["Not available"]}},
+ *   {"skills": {"all": ["java"], "any": ["aws", "gcp"]}}
+ * ]}
+ * </pre>
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.DEDUCTION)
+@JsonSubTypes({
+        @JsonSubTypes.Type(TalentFilter.And.class),
+        @JsonSubTypes.Type(TalentFilter.Or.class),
+        @JsonSubTypes.Type(TalentFilter.Not.class),
+        @JsonSubTypes.Type(TalentFilter.Salary.class),
+        @JsonSubTypes.Type(TalentFilter.Location.class),
+        @JsonSubTypes.Type(TalentFilter.Availability.class),
+        @JsonSubTypes.Type(TalentFilter.DesiredPosition.class),
+        @JsonSubTypes.Type(TalentFilter.CreatedAt.class),
+        @JsonSubTypes.Type(TalentFilter.HasGithub.class),
+        @JsonSubTypes.Type(TalentFilter.HasLinkedin.class),
+        @JsonSubTypes.Type(TalentFilter.Skills.class),
+        @JsonSubTypes.Type(TalentFilter.ExperienceYears.class),
+        @JsonSubTypes.Type(TalentFilter.SeniorityLevel.class),
+        @JsonSubTypes.Type(TalentFilter.Near.class)
+})
+public sealed interface TalentFilter {
+
+    /** All children must match */
+    record And(List<TalentFilter> and) implements TalentFilter {
+    }
+
+    /** At least one child must match */
+    record Or(List<TalentFilter> or) implements TalentFilter {
+    }
+
+    /** The child must not match */
+    record Not(TalentFilter not) implements TalentFilter {
+    }
+
+    /** Salary expectation within an inclusive range; either end may be open */
+    record Salary(Range salary) implements TalentFilter {
+    }
+
+    /** Location equal to one of the values, case-insensitive */
+    record Location(List<String> location) implements TalentFilter {
+    }
+
+    /** Availability equal to one of the values */
+    record Availability(List<String> availability) implements TalentFilter {
+    }
+
+    /** Desired position equal to one of the values, case-insensitive */
+    record DesiredPosition(List<String> desiredPosition) implements TalentFilter {
+    }
+
+    /** Created within [from, to); either end may be open */
+    record CreatedAt(Window createdAt) implements TalentFilter {
+    }
+
+    /** Has (or has no) GitHub URL */
+    record HasGithub(boolean hasGithub) implements TalentFilter {
+    }
+
+    /** Has (or has no) LinkedIn URL */
+    record HasLinkedin(boolean hasLinkedin) implements TalentFilter {
+    }
+
+    /** Normalized skill sets: all of, any of, none of */
+    record Skills(SkillSet skills) implements TalentFilter {
+    }
+
+    /** Years of experience derived from the experience text, within an inclusive range */
+    record ExperienceYears(Range experienceYears) implements TalentFilter {
+    }
+
+    /** Derived seniority equal to one of the values */
+    record SeniorityLevel(List<Seniority> seniority) implements TalentFilter {
+    }
+
+    /** Geocoded location within a radius; talents without a known place never match */
+    record Near(Circle near) implements TalentFilter {
+    }
+
+    record Range(Double min, Double max) {
+    }
+
+    record Window(LocalDateTime from, LocalDateTime to) {
+    }
+
+    record SkillSet(List<String> all, List<String> any, List<String> none) {
+    }
+
+    record Circle(Double lat, Double lon, Double radiusKm) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.semantic.saas.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk talent import
+ * @param received The number of data rows in the file
+ * @param imported The number of talents created
+ * @param rejected The number of rows skipped because of errors
+ * @param errors The errors, ordered by line; at most talent.import.max-errors of them
+ * @param truncated true if there were more errors than reported
+ */
+public record TalentImportReport(int received, int imported, int rejected, List<RowError> errors, boolean truncated) {
+
+    /**
+     * An error in one row of the file
+     * @param line The line the row starts on; line 1 is the CSV header
+     * @param field The TalentDTO property at fault, or null if the whole row is
+     * @param message What is wrong
+     */
+    public record RowError(long line, String field, String message) {
+    }
+}
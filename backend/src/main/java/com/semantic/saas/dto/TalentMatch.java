@@ -0,0 +1,9 @@
+package com.semantic.saas.dto;
+
+/**
+ * A talent on a requisition shortlist
+ * @param talent The talent
+ * @param score The overall match score, from 0 to 1
+ */
+public record TalentMatch(TalentSummary talent, float score) {
+}
@@ -0,0 +1,12 @@
+package com.semantic.saas.dto;
+
+import java.util.Map;
+
+/**
+ * A ranked search result with the fragments that matched the query
+ * @param talent The matching talent
+ * @param score The relevance score, only comparable within the same query
+ * @param highlights Field name -> best matching fragment, matched terms wrapped in {@code <em>}
+ */
+public record TalentSearchHit(TalentSummary talent, float score, Map<String, String> highlights) {
+}
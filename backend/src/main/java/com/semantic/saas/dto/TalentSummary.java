@@ -0,0 +1,55 @@
+package com.semantic.saas.dto;
+
+import com.semantic.saas.model.Talent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a talent for list pages.
+ * Leaves out the experience, education and notes TEXT columns and carries only the head of the skills column,
+ * so list queries neither read nor serialize the large text fields.
+ */
+public record TalentSummary(
+        Integer id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        String location,
+        String currentPosition,
+        String desiredPosition,
+        String availability,
+        Double salaryExpectation,
+        String skills,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Maximum number of characters of the skills column included in a summary
+     */
+    public static final int SKILLS_PREVIEW_LENGTH = 255;
+
+    /**
+     * Build the summary of an already loaded talent
+     * @param talent The talent
+     * @return The summary
+     */
+    public static TalentSummary of(Talent talent) {
+        String skills = talent.getSkills();
+        return new TalentSummary(
+                talent.getId(),
+                talent.getFirstName(),
+                talent.getLastName(),
+                talent.getEmail(),
+                talent.getPhone(),
+                talent.getLocation(),
+                talent.getCurrentPosition(),
+                talent.getDesiredPosition(),
+                talent.getAvailability(),
+                talent.getSalaryExpectation(),
+                skills != null && skills.length() > SKILLS_PREVIEW_LENGTH ? skills.substring(0, SKILLS_PREVIEW_LENGTH) : skills,
+                talent.getCreatedAt(),
+                talent.getUpdatedAt());
+    }
+}
@@ -0,0 +1,14 @@
+package com.semantic.saas.event;
+
+/**
+ * Published when derived state can no longer be trusted and has to be dropped rather than updated,
+ * e.g. when a customer is deleted together with its talents, or when this node may have missed
+ * changes made on other nodes. Listeners drop what they hold and reload it on next use.
+ * @param customerId The tenant whose state is stale, or null for every tenant and the shared state
+ */
+public record CacheInvalidationEvent(Integer customerId) {
+
+    public static CacheInvalidationEvent all() {
+        return new CacheInvalidationEvent(null);
+    }
+}
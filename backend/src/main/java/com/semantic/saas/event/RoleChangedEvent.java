@@ -0,0 +1,9 @@
+package com.semantic.saas.event;
+
+/**
+ * Published by RoleService whenever a role is created, updated or deleted,
+ * so that the role registry reloads once the change is committed
+ * @param roleId The role ID
+ */
+public record RoleChangedEvent(Integer roleId) {
+}
@@ -0,0 +1,33 @@
+package com.semantic.saas.event;
+
+import com.semantic.saas.model.Talent;
+
+/**
+ * Published by TalentService whenever a talent is created, updated or deleted.
+ * Listeners that maintain derived state (in-memory indexes, caches) should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ * @param customerId The tenant the talent belongs to
+ * @param talentId The talent ID
+ * @param type The kind of change
+ * @param talent The talent as written, or null when it was deleted
+ */
+public record TalentChangedEvent(Integer customerId, Integer talentId, ChangeType type, Talent talent) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TalentChangedEvent created(Integer customerId, Talent talent) {
+        return new TalentChangedEvent(customerId, talent.getId(), ChangeType.CREATED, talent);
+    }
+
+    public static TalentChangedEvent updated(Integer customerId, Talent talent) {
+        return new TalentChangedEvent(customerId, talent.getId(), ChangeType.UPDATED, talent);
+    }
+
+    public static TalentChangedEvent deleted(Integer customerId, Integer talentId) {
+        return new TalentChangedEvent(customerId, talentId, ChangeType.DELETED, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.semantic.saas.event;
+
+import java.util.List;
+
+/**
+ * Published by the derived attribute backfill, once per tenant and batch, when it rewrites only the derived
+ * columns (experience, seniority, coordinates) of existing talents. Their other columns are unchanged, so
+ * only listeners that hold derived columns need to hear about it; indexes of names, skills and text do not.
+ * @param customerId The tenant the talents belong to
+ * @param talentIds The IDs of the rederived talents
+ */
+public record TalentsDerivedEvent(Integer customerId, List<Integer> talentIds) {
+}
@@ -0,0 +1,12 @@
+package com.semantic.saas.event;
+
+import java.util.List;
+
+/**
+ * Published by bulk writes instead of one TalentChangedEvent per row, once per file by the import.
+ * Listeners do not get the talents in memory; they drop the tenant's derived state or read the new talents.
+ * @param customerId The tenant the talents belong to
+ * @param talentIds The IDs of the created talents
+ */
+public record TalentsImportedEvent(Integer customerId, List<Integer> talentIds) {
+}
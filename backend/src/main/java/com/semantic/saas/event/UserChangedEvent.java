@@ -0,0 +1,10 @@
+package com.semantic.saas.event;
+
+/**
+ * Published by UserService whenever a user is updated or deleted,
+ * so that state kept per signed-in user is re-checked once the change is committed
+ * @param userId The user ID
+ * @param email The email the user signed in with before the change; tokens carry it as subject
+ */
+public record UserChangedEvent(Integer userId, String email) {
+}
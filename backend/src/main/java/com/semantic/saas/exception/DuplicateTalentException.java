@@ -0,0 +1,23 @@
+package com.semantic.saas.exception;
+
+import com.semantic.saas.dto.DuplicateCandidate;
+
+import java.util.List;
+
+/**
+ * Thrown when a new talent looks like a person that already exists in the tenant
+ */
+public class DuplicateTalentException extends RuntimeException {
+
+    private final List<DuplicateCandidate> candidates;
+
+    public DuplicateTalentException(List<DuplicateCandidate> candidates) {
+        super("Talent looks like an existing talent (id " + candidates.get(0).talent().id()
+                + "); resubmit with allowDuplicates=true to create it anyway");
+        this.candidates = List.copyOf(candidates);
+    }
+
+    public List<DuplicateCandidate> getCandidates() {
+        return candidates;
+    }
+}
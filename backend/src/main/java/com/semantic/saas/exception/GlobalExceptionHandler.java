@@ -1,17 +1,23 @@
 package com.semantic.saas.exception;
 
+import com.semantic.saas.dto.DuplicateCandidate;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ControllerAdvice
@@ -81,6 +87,73 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handle likely duplicate talents
+     */
+    @ExceptionHandler(DuplicateTalentException.class)
+    public ResponseEntity<?> handleDuplicateTalentException(DuplicateTalentException ex, WebRequest request) {
+        DuplicateErrorDetails errorDetails = new DuplicateErrorDetails(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Possible Duplicate",
+                ex.getMessage(),
+                request.getDescription(false),
+                ex.getCandidates()
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Handle conditional updates of talents that changed in the meantime (If-Match)
+     */
+    @ExceptionHandler(TalentModifiedException.class)
+    public ResponseEntity<?> handleTalentModifiedException(TalentModifiedException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    /**
+     * Handle concurrent updates of versioned entities without If-Match
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                "The entity was modified by another request; reload it and retry",
+                request.getDescription(false)
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Handle searches of indexes that are still being built; the client can retry shortly
+     */
+    @ExceptionHandler(IndexNotReadyException.class)
+    public ResponseEntity<?> handleIndexNotReadyException(IndexNotReadyException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Index Not Ready",
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(errorDetails);
+    }
+    
     /**
      * Handle validation exceptions
      */
@@ -105,6 +178,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handle validation exceptions of request bodies that are lists, such as batch creates
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<?> handleMethodValidationExceptions(HandlerMethodValidationException ex, WebRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getAllValidationResults().forEach((result) -> {
+            // Keyed like "[3].email", the index being the position in the list
+            String prefix = result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]." : "";
+            if (result instanceof ParameterErrors parameterErrors) {
+                parameterErrors.getFieldErrors().forEach((error) ->
+                        errors.put(prefix + error.getField(), error.getDefaultMessage()));
+            } else {
+                result.getResolvableErrors().forEach((error) ->
+                        errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage()));
+            }
+        });
+        
+        ValidationErrorDetails errorDetails = new ValidationErrorDetails(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                "Input validation failed",
+                request.getDescription(false),
+                errors
+        );
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+    
     /**
      * Error details class
      */
@@ -162,4 +265,22 @@ public class GlobalExceptionHandler {
             return validationErrors;
         }
     }
+    
+    /**
+     * Duplicate error details class
+     */
+    static class DuplicateErrorDetails extends ErrorDetails {
+        private List<DuplicateCandidate> candidates;
+        
+        public DuplicateErrorDetails(LocalDateTime timestamp, int status, String error, String message,
+                                     String path, List<DuplicateCandidate> candidates) {
+            super(timestamp, status, error, message, path);
+            this.candidates = candidates;
+        }
+        
+        // Getter
+        public List<DuplicateCandidate> getCandidates() {
+            return candidates;
+        }
+    }
 }
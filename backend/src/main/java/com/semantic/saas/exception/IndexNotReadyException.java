@@ -0,0 +1,18 @@
+package com.semantic.saas.exception;
+
+/**
+ * Thrown when an in-memory or on-disk search index of a tenant is still being built in the background
+ */
+public class IndexNotReadyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public IndexNotReadyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
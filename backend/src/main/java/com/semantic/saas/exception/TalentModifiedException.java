@@ -0,0 +1,18 @@
+package com.semantic.saas.exception;
+
+/**
+ * Thrown when a conditional update names versions of a talent that are no longer current
+ */
+public class TalentModifiedException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public TalentModifiedException(Integer talentId, Long currentVersion) {
+        super("Talent " + talentId + " has been modified; its current version is " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,189 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.Seniority;
+import com.semantic.saas.model.Talent;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives total experience and seniority from the free-text experience column, e.g.
+ * "Senior Software Engineer at Tech Corp (2018-Present)".
+ * Date ranges are merged before summing, so overlapping jobs are not counted twice.
+ */
+public final class ExperienceExtractor {
+
+    private static final String MONTHS = "jan|feb|mar|apr|may|jun|jul|aug|sep|oct|nov|dec";
+
+    private static final Pattern RANGE = Pattern.compile(
+            "\\b(?:(?<startMonthName>" + MONTHS + ")[a-z]*\\.?\\s+|(?<startMonth>\\d{1,2})[/.])?(?<startYear>(?:19|20)\\d{2})\\b"
+            + "\\s*(?:-|\u2013|\u2014|to|until|till)\\s*"
+            + "(?:(?<open>present|current|now|today|ongoing|date)"
+            + "|(?:(?<endMonthName>" + MONTHS + ")[a-z]*\\.?\\s+|(?<endMonth>\\d{1,2})[/.])?(?<endYear>(?:19|20)\\d{2})\\b)");
+
+    /** Fallback for texts that state a duration instead of dates, e.g. "5+ years of experience" */
+    private static final Pattern YEARS = Pattern.compile("(\\d{1,2})\\+?\\s*(?:years?|yrs?)\\b");
+
+    private static final Pattern LEAD = Pattern.compile(
+            "\\b(?:lead|principal|staff|head|architect|director|manager|vp|cto|chief)\\b");
+    private static final Pattern SENIOR = Pattern.compile("\\b(?:senior|sr)\\b");
+    private static final Pattern MID = Pattern.compile("\\b(?:mid[- ]level|intermediate)\\b");
+    private static final Pattern JUNIOR = Pattern.compile(
+            "\\b(?:junior|jr|intern|trainee|graduate|apprentice|entry[- ]level)\\b");
+
+    private ExperienceExtractor() {
+    }
+
+    /**
+     * Derived experience attributes
+     * @param totalMonths Months of experience, null if the text has no usable dates
+     * @param seniority The seniority, null if neither titles nor dates tell
+     * @param ongoing true if a range is open-ended, so the total grows with time
+     */
+    public record Extraction(Integer totalMonths, Seniority seniority, boolean ongoing) {
+    }
+
+    /**
+     * Extract the experience attributes of a talent and store them on it
+     * @param talent The talent
+     * @param today The date open-ended ranges end at
+     */
+    public static void apply(Talent talent, LocalDate today) {
+        Extraction extraction = extract(talent.getExperience(), talent.getCurrentPosition(), today);
+        talent.setTotalExperienceMonths(extraction.totalMonths());
+        talent.setSeniority(extraction.seniority());
+        talent.setExperienceOngoing(extraction.ongoing());
+        talent.setExperienceExtractedOn(today);
+    }
+
+    /**
+     * Extract experience attributes
+     * @param experience The free-text experience, may be null
+     * @param currentPosition The current position, may be null; its title wins over older ones
+     * @param today The date open-ended ranges end at
+     * @return The extraction
+     */
+    public static Extraction extract(String experience, String currentPosition, LocalDate today) {
+        String text = experience == null ? "" : experience.toLowerCase(Locale.ROOT);
+        YearMonth now = YearMonth.from(today);
+
+        List<YearMonth[]> ranges = new ArrayList<>();
+        boolean ongoing = false;
+        Matcher matcher = RANGE.matcher(text);
+        while (matcher.find()) {
+            YearMonth start = yearMonth(matcher.group("startYear"), matcher.group("startMonthName"),
+                    matcher.group("startMonth"), true);
+            YearMonth end;
+            if (matcher.group("open") != null) {
+                end = now;
+                ongoing = true;
+            } else {
+                end = yearMonth(matcher.group("endYear"), matcher.group("endMonthName"), matcher.group("endMonth"), false);
+            }
+            if (start == null || end == null || start.isAfter(now)) {
+                continue;
+            }
+            if (end.isAfter(now)) {
+                end = now;
+            }
+            if (end.isBefore(start)) {
+                // "2019-2019" without months: count a single month rather than nothing
+                if (end.getYear() != start.getYear()) {
+                    continue;
+                }
+                end = start;
+            }
+            ranges.add(new YearMonth[] {start, end});
+        }
+
+        Integer totalMonths = ranges.isEmpty() ? statedMonths(text) : mergedMonths(ranges);
+        Seniority seniority = titleSeniority(currentPosition);
+        if (seniority == null) {
+            seniority = titleSeniority(experience);
+        }
+        if (seniority == null && totalMonths != null) {
+            // Durations alone never make a lead; that takes a title
+            seniority = totalMonths < 24 ? Seniority.JUNIOR : totalMonths < 60 ? Seniority.MID : Seniority.SENIOR;
+        }
+        return new Extraction(totalMonths, seniority, ongoing);
+    }
+
+    /**
+     * Parse one end of a range. A bare year is taken as its middle, so "2015-2018" counts three years.
+     */
+    private static YearMonth yearMonth(String year, String monthName, String month, boolean start) {
+        int y = Integer.parseInt(year);
+        int m;
+        if (monthName != null) {
+            m = MONTHS.indexOf(monthName.substring(0, 3)) / 4 + 1;
+        } else if (month != null) {
+            m = Integer.parseInt(month);
+            if (m < 1 || m > 12) {
+                return null;
+            }
+        } else {
+            m = start ? 7 : 6;
+        }
+        return YearMonth.of(y, m);
+    }
+
+    private static Integer mergedMonths(List<YearMonth[]> ranges) {
+        ranges.sort(Comparator.comparing(range -> range[0]));
+        int months = 0;
+        YearMonth start = ranges.get(0)[0];
+        YearMonth end = ranges.get(0)[1];
+        for (YearMonth[] range : ranges.subList(1, ranges.size())) {
+            if (!range[0].isAfter(end.plusMonths(1))) {
+                end = range[1].isAfter(end) ? range[1] : end;
+            } else {
+                months += monthsInclusive(start, end);
+                start = range[0];
+                end = range[1];
+            }
+        }
+        return months + monthsInclusive(start, end);
+    }
+
+    private static int monthsInclusive(YearMonth start, YearMonth end) {
+        return (end.getYear() - start.getYear()) * 12 + end.getMonthValue() - start.getMonthValue() + 1;
+    }
+
+    private static Integer statedMonths(String text) {
+        Integer months = null;
+        Matcher matcher = YEARS.matcher(text);
+        while (matcher.find()) {
+            int stated = Integer.parseInt(matcher.group(1)) * 12;
+            months = months == null ? stated : Math.max(months, stated);
+        }
+        return months;
+    }
+
+    /**
+     * Highest seniority named in a title or text; careers go up, so older junior titles do not count
+     */
+    private static Seniority titleSeniority(String title) {
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        String text = title.toLowerCase(Locale.ROOT);
+        if (LEAD.matcher(text).find()) {
+            return Seniority.LEAD;
+        }
+        if (SENIOR.matcher(text).find()) {
+            return Seniority.SENIOR;
+        }
+        if (MID.matcher(text).find()) {
+            return Seniority.MID;
+        }
+        if (JUNIOR.matcher(text).find()) {
+            return Seniority.JUNIOR;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.Talent;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Offline geocoder for free-text locations such as "San Francisco, CA" or "Berlin (Remote OK)".
+ * Places come from the bundled geo/cities.tsv; nothing leaves the process.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Pattern PARENTHESES = Pattern.compile("\\([^)]*\\)");
+    private static final Pattern PART_SEPARATOR = Pattern.compile("[,;/|]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * A known place
+     * @param name The primary name
+     * @param country The ISO country code
+     */
+    public record Place(String name, String country, double latitude, double longitude) {
+    }
+
+    private record Entry(Place place, Set<String> regions) {
+    }
+
+    private final Map<String, List<Entry>> places = new HashMap<>();
+    private final Map<String, String> countries = new HashMap<>();
+
+    public Gazetteer() {
+        read("geo/countries.tsv", fields -> {
+            String code = fields[0];
+            countries.put(normalize(code), code);
+            for (String name : fields[1].split("\\|")) {
+                countries.put(normalize(name), code);
+            }
+        });
+        read("geo/cities.tsv", fields -> {
+            String[] names = fields[0].split("\\|");
+            Set<String> regions = new LinkedHashSet<>();
+            if (!fields[1].equals("-")) {
+                for (String region : fields[1].split("\\|")) {
+                    regions.add(normalize(region));
+                }
+            }
+            Place place = new Place(names[0], fields[2],
+                    Double.parseDouble(fields[3]), Double.parseDouble(fields[4]));
+            Entry entry = new Entry(place, regions);
+            for (String name : names) {
+                places.computeIfAbsent(normalize(name), key -> new ArrayList<>()).add(entry);
+            }
+        });
+    }
+
+    /**
+     * Geocode a location. The first part naming a known place wins; the other parts
+     * pick between places of the same name, e.g. "Portland, ME".
+     * @param location The free-text location, may be null
+     * @return The place, or null if none is known
+     */
+    public Place geocode(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        for (String part : PART_SEPARATOR.split(PARENTHESES.matcher(location).replaceAll(" "))) {
+            String normalized = normalize(part);
+            if (!normalized.isEmpty()) {
+                parts.add(normalized);
+            }
+        }
+
+        for (String part : parts) {
+            List<Entry> candidates = places.get(part);
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry candidate : candidates) {
+                for (String hint : parts) {
+                    if (candidate.regions().contains(hint) || candidate.place().country().equals(countries.get(hint))) {
+                        return candidate.place();
+                    }
+                }
+            }
+            return candidates.get(0).place();
+        }
+        return null;
+    }
+
+    /**
+     * Geocode the location of a talent and store the coordinates and geohash on it
+     * @param talent The talent
+     * @param today The date to record as geocoding date
+     */
+    public void apply(Talent talent, LocalDate today) {
+        Place place = geocode(talent.getLocation());
+        talent.setLatitude(place == null ? null : place.latitude());
+        talent.setLongitude(place == null ? null : place.longitude());
+        talent.setGeohash(place == null ? null : GeoHash.encode(place.latitude(), place.longitude(), GeoHash.PRECISION));
+        talent.setLocationGeocodedOn(today);
+    }
+
+    /**
+     * Lower case, accents dropped, words separated by single spaces, so that "St. Louis" and "st louis" match
+     */
+    private static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT).replace('\u0131', 'i'), Normalizer.Form.NFD);
+        return NON_ALPHANUMERIC.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim();
+    }
+
+    private static void read(String resource, Consumer<String[]> consumer) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    consumer.accept(line.split("\t"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read gazetteer " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.semantic.saas.index;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash encoding and radius cover. Points in a geohash cell share its string as a prefix,
+ * so a circle becomes a few prefix range scans on an ordinary B-tree index.
+ */
+public final class GeoHash {
+
+    /** Stored precision: cells of about 5 x 5 m */
+    public static final int PRECISION = 9;
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /** Largest supported search radius; wider circles would cover whole continents */
+    public static final double MAX_RADIUS_KM = 1000;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Encode a point
+     * @param latitude The latitude in degrees
+     * @param longitude The longitude in degrees
+     * @param precision The number of characters
+     * @return The geohash
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = value << 1 | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = value << 1 | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Find geohash cells that together contain every point within a radius.
+     * Picks the finest precision whose cells are at least as large as the radius,
+     * then takes the cell of the center and its eight neighbours.
+     * @param latitude The center latitude in degrees
+     * @param longitude The center longitude in degrees
+     * @param radiusKm The radius in kilometers, at most {@link #MAX_RADIUS_KM}
+     * @return The cell prefixes, at most nine
+     * @throws IllegalArgumentException if the circle is too large for geohash cells at this latitude
+     */
+    public static Set<String> cover(double latitude, double longitude, double radiusKm) {
+        // Cells narrow towards the poles, so size them for the most poleward point of the circle
+        double poleward = Math.min(90, Math.abs(latitude) + radiusKm / KM_PER_DEGREE);
+        // Margin for the spherical excess that the flat cell model ignores
+        double required = radiusKm * 1.1;
+
+        for (int precision = PRECISION; precision >= 1; precision--) {
+            int latBits = 5 * precision / 2;
+            double cellLat = 180 / Math.pow(2, latBits);
+            double cellLon = 360 / Math.pow(2, 5 * precision - latBits);
+            if (cellLat * KM_PER_DEGREE < required
+                    || cellLon * KM_PER_DEGREE * Math.cos(Math.toRadians(poleward)) < required) {
+                continue;
+            }
+
+            // Center of the cell that contains the point
+            double centerLat = (Math.floor((latitude + 90) / cellLat) + 0.5) * cellLat - 90;
+            double centerLon = (Math.floor((longitude + 180) / cellLon) + 0.5) * cellLon - 180;
+            Set<String> cells = new LinkedHashSet<>();
+            for (int dLat = -1; dLat <= 1; dLat++) {
+                double lat = centerLat + dLat * cellLat;
+                if (lat < -90 || lat > 90) {
+                    continue;
+                }
+                for (int dLon = -1; dLon <= 1; dLon++) {
+                    double lon = centerLon + dLon * cellLon;
+                    // Wrap around the antimeridian
+                    lon = lon >= 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+                    cells.add(encode(lat, lon, precision));
+                }
+            }
+            return cells;
+        }
+        throw new IllegalArgumentException("Radius of " + radiusKm + " km is too large at latitude " + latitude);
+    }
+
+    /**
+     * Great-circle distance between two points
+     * @return The distance in kilometers
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double dLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = dLat * dLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * dLon * dLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
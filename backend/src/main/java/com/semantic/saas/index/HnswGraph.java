@@ -0,0 +1,289 @@
+package com.semantic.saas.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Hierarchical Navigable Small World graph for approximate nearest-neighbour search by dot product
+ * over L2-normalized vectors (i.e. cosine similarity). Vectors live in an {@link OffHeapVectorStore}.
+ * Updates insert a new node and tombstone the old one; tombstoned nodes still route searches
+ * but are never returned. Not thread-safe; callers synchronize.
+ */
+class HnswGraph {
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::similarity).reversed();
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::similarity);
+
+    private final OffHeapVectorStore vectors;
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    private int[] talentIds = new int[1024];
+    // links[node][level] = {count, neighbour...}
+    private int[][][] links = new int[1024][][];
+    private final Map<Integer, Integer> nodeByTalentId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswGraph(int dimensions, int m, int efConstruction) {
+        this.vectors = new OffHeapVectorStore(dimensions);
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+    }
+
+    /**
+     * Insert or replace the vector of a talent
+     * @param talentId The talent ID
+     * @param vector The normalized vector
+     */
+    void put(int talentId, float[] vector) {
+        remove(talentId);
+
+        int node = size;
+        ensureCapacity(node + 1);
+        vectors.set(node, vector);
+        talentIds[node] = talentId;
+        nodeByTalentId.put(talentId, node);
+
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        int[][] nodeLinks = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            nodeLinks[l] = new int[1 + maxConnections(l)];
+        }
+        links[node] = nodeLinks;
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = searchLayer(vector, current, efConstruction, l, false);
+            for (Candidate neighbour : selectNeighbours(candidates, m)) {
+                connect(node, neighbour.node(), l);
+                connect(neighbour.node(), node, l);
+            }
+            current = candidates.get(0).node();
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Remove the vector of a talent, if present
+     * @param talentId The talent ID
+     */
+    void remove(int talentId) {
+        Integer node = nodeByTalentId.remove(talentId);
+        if (node != null) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Find the approximate nearest neighbours of a query
+     * @param query The normalized query vector
+     * @param k The number of neighbours
+     * @param ef The search beam width, at least k; larger is slower and more accurate
+     * @return Up to k hits, most similar first
+     */
+    List<Hit> search(float[] query, int k, int ef) {
+        if (entryPoint < 0 || nodeByTalentId.isEmpty()) {
+            return List.of();
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        List<Candidate> candidates = searchLayer(query, current, Math.max(ef, k), 0, true);
+
+        List<Hit> hits = new ArrayList<>(Math.min(k, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < k; i++) {
+            Candidate candidate = candidates.get(i);
+            hits.add(new Hit(talentIds[candidate.node()], candidate.similarity()));
+        }
+        return hits;
+    }
+
+    int liveCount() {
+        return nodeByTalentId.size();
+    }
+
+    /**
+     * Share of nodes that are tombstones
+     */
+    double deletedRatio() {
+        return size == 0 ? 0 : (double) deletedCount / size;
+    }
+
+    long offHeapBytes() {
+        return vectors.allocatedBytes();
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        float best = vectors.dot(current, query);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float similarity = vectors.dot(neighbours[i], query);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search within one layer
+     * @param liveOnly true to leave tombstones out of the results (they are still traversed)
+     * @return The best ef nodes found, most similar first
+     */
+    private List<Candidate> searchLayer(float[] query, int entry, int ef, int level, boolean liveOnly) {
+        BitSet visited = new BitSet(size);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+        Candidate start = new Candidate(entry, vectors.dot(entry, query));
+        visited.set(entry);
+        candidates.add(start);
+        if (!liveOnly || !deleted.get(entry)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            if (results.size() >= ef && candidate.similarity() < results.peek().similarity()) {
+                break;
+            }
+
+            int[] neighbours = links[candidate.node()][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+
+                float similarity = vectors.dot(neighbour, query);
+                if (results.size() < ef || similarity > results.peek().similarity()) {
+                    Candidate next = new Candidate(neighbour, similarity);
+                    candidates.add(next);
+                    if (!liveOnly || !deleted.get(neighbour)) {
+                        results.add(next);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * Neighbour selection heuristic: prefer candidates that are closer to the base node than to any
+     * already selected neighbour, which keeps links spread across clusters; top up with the rest.
+     * @param candidates Candidates, most similar first
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> candidates, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (selected.size() >= max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate chosen : selected) {
+                if (vectors.dot(candidate.node(), chosen.node()) > candidate.similarity()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : pruned).add(candidate);
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < max; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    private void connect(int from, int to, int level) {
+        int[] neighbours = links[from][level];
+        int count = neighbours[0];
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = to;
+            neighbours[0] = count + 1;
+            return;
+        }
+
+        // Full: keep the best links among the existing ones and the new one
+        List<Candidate> candidates = new ArrayList<>(count + 1);
+        for (int i = 1; i <= count; i++) {
+            candidates.add(new Candidate(neighbours[i], vectors.dot(from, neighbours[i])));
+        }
+        candidates.add(new Candidate(to, vectors.dot(from, to)));
+        candidates.sort(BEST_FIRST);
+
+        List<Candidate> kept = selectNeighbours(candidates, count);
+        neighbours[0] = kept.size();
+        for (int i = 0; i < kept.size(); i++) {
+            neighbours[i + 1] = kept.get(i).node();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > talentIds.length) {
+            int grown = Math.max(capacity, talentIds.length + (talentIds.length >> 1));
+            talentIds = Arrays.copyOf(talentIds, grown);
+            links = Arrays.copyOf(links, grown);
+        }
+    }
+
+    private record Candidate(int node, float similarity) {
+    }
+
+    /**
+     * A nearest-neighbour hit
+     * @param talentId The talent ID
+     * @param similarity The cosine similarity to the query
+     */
+    record Hit(int talentId, float similarity) {
+    }
+}
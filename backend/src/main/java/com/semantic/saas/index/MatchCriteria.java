@@ -0,0 +1,30 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.JobRequisition;
+
+import java.util.Set;
+
+/**
+ * What a job requisition asks for, as seen by the matching index
+ * @param requisitionId The requisition ID, used as the key of its cached scores
+ * @param skills The normalized required skills
+ * @param location The required location, null if any
+ * @param salaryMin The lower end of the salary band, null if open
+ * @param salaryMax The upper end of the salary band, null if open
+ */
+public record MatchCriteria(int requisitionId, Set<String> skills, String location, Double salaryMin, Double salaryMax) {
+
+    /**
+     * Build the criteria of a requisition
+     * @param requisition The requisition
+     * @return The criteria
+     */
+    public static MatchCriteria from(JobRequisition requisition) {
+        return new MatchCriteria(
+                requisition.getId(),
+                SkillNormalizer.normalize(requisition.getRequiredSkills()),
+                requisition.getLocation(),
+                requisition.getSalaryMin(),
+                requisition.getSalaryMax());
+    }
+}
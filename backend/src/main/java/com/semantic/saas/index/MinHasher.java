@@ -0,0 +1,139 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.Talent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures of talent profiles for near-duplicate detection.
+ * A profile is a set of shingles (name trigrams, phone number, experience word triples); the share of equal
+ * positions in two signatures estimates the Jaccard similarity of the two shingle sets.
+ */
+class MinHasher {
+
+    static final int SIGNATURE_LENGTH = 128;
+
+    private static final int MIN_SHINGLES = 3;
+    // The phone number is a single shingle; repeating it under distinct keys gives it the weight of a few words
+    private static final int PHONE_WEIGHT = 8;
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private final long[] seeds = new long[SIGNATURE_LENGTH];
+
+    MinHasher() {
+        // Fixed seed: signatures must stay comparable across restarts and nodes
+        SplittableRandom random = new SplittableRandom(0x5eed_d0b1eL);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Compute the signature of a talent profile
+     * @param talent The talent
+     * @return The signature, or null if the profile has too little text to compare
+     */
+    int[] signature(Talent talent) {
+        Set<Long> shingles = shingles(talent);
+        if (shingles.size() < MIN_SHINGLES) {
+            return null;
+        }
+
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int hash = (int) (mix(shingle ^ seeds[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the profiles behind two signatures
+     */
+    static float similarity(int[] signature, int[] other) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (signature[i] == other[i]) {
+                equal++;
+            }
+        }
+        return (float) equal / SIGNATURE_LENGTH;
+    }
+
+    private static Set<Long> shingles(Talent talent) {
+        Set<Long> shingles = new HashSet<>();
+
+        // Name trigrams, with tokens sorted so "Smith John" matches "John Smith"
+        List<String> names = words(talent.getFirstName());
+        names.addAll(words(talent.getLastName()));
+        names.sort(null);
+        String name = String.join(" ", names);
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            shingles.add(hash("n:" + name.substring(i, i + 3)));
+        }
+
+        String digits = talent.getPhone() == null ? "" : talent.getPhone().replaceAll("\\D", "");
+        if (digits.length() >= MIN_PHONE_DIGITS) {
+            // Ignore country and trunk prefixes
+            String number = digits.substring(Math.max(0, digits.length() - 9));
+            for (int i = 0; i < PHONE_WEIGHT; i++) {
+                shingles.add(hash("p" + i + ":" + number));
+            }
+        }
+
+        List<String> experience = words(talent.getExperience());
+        if (experience.size() < 3) {
+            experience.forEach(word -> shingles.add(hash("x:" + word)));
+        } else {
+            for (int i = 0; i + 3 <= experience.size(); i++) {
+                shingles.add(hash("x:" + experience.get(i) + ' ' + experience.get(i + 1) + ' ' + experience.get(i + 2)));
+            }
+        }
+        return shingles;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 64-bit FNV-1a
+     */
+    private static long hash(String shingle) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < shingle.length(); i++) {
+            hash ^= shingle.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,81 @@
+package com.semantic.saas.index;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-dimension float vectors stored contiguously in direct (off-heap) memory.
+ * Memory is allocated in chunks so the store grows without copying and stays out of the GC's way.
+ * Not thread-safe; callers synchronize.
+ */
+class OffHeapVectorStore {
+
+    private static final int VECTORS_PER_CHUNK = 4096;
+
+    private final int dimensions;
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+
+    OffHeapVectorStore(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Store a vector in a slot, allocating memory as needed
+     * @param slot The slot
+     * @param vector The vector, of the store's dimensions
+     */
+    void set(int slot, float[] vector) {
+        while (chunks.size() <= slot / VECTORS_PER_CHUNK) {
+            chunks.add(ByteBuffer.allocateDirect(VECTORS_PER_CHUNK * dimensions * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer());
+        }
+        chunk(slot).put(offset(slot), vector);
+    }
+
+    /**
+     * Dot product of a stored vector and a query vector
+     */
+    float dot(int slot, float[] query) {
+        FloatBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += chunk.get(offset + i) * query[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Dot product of two stored vectors
+     */
+    float dot(int slot, int otherSlot) {
+        FloatBuffer chunk = chunk(slot);
+        FloatBuffer otherChunk = chunk(otherSlot);
+        int offset = offset(slot);
+        int otherOffset = offset(otherSlot);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += chunk.get(offset + i) * otherChunk.get(otherOffset + i);
+        }
+        return sum;
+    }
+
+    /**
+     * Off-heap bytes currently allocated
+     */
+    long allocatedBytes() {
+        return (long) chunks.size() * VECTORS_PER_CHUNK * dimensions * Float.BYTES;
+    }
+
+    private FloatBuffer chunk(int slot) {
+        return chunks.get(slot / VECTORS_PER_CHUNK);
+    }
+
+    private int offset(int slot) {
+        return (slot % VECTORS_PER_CHUNK) * dimensions;
+    }
+}
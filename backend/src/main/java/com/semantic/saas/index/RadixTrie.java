@@ -0,0 +1,220 @@
+package com.semantic.saas.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Compressed prefix tree of weighted terms.
+ * Every node keeps the highest weight in its subtree, so the top-k completions of a prefix are found
+ * best-first without visiting the rest of the subtree. Not thread-safe; callers synchronize.
+ */
+class RadixTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+    private int size;
+
+    /**
+     * Change the weight of a term, adding it if needed and dropping it when the weight reaches zero
+     * @param key The normalized (lower case) term
+     * @param display The term as shown to users, kept from the first time the term is added
+     * @param delta The weight change
+     */
+    void add(String key, String display, int delta) {
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                if (delta < 0) {
+                    return;
+                }
+                Node leaf = new Node(key.substring(i));
+                node.insert(leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                if (delta < 0) {
+                    return;
+                }
+                // Split the edge at the end of the shared prefix
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[]{child};
+                middle.maxWeight = child.maxWeight;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+
+        int before = node.weight;
+        node.weight = Math.max(0, node.weight + delta);
+        if (before == 0 && node.weight > 0) {
+            node.display = display;
+            size++;
+        } else if (before > 0 && node.weight == 0) {
+            node.display = null;
+            size--;
+        }
+
+        for (int p = path.size() - 1; p > 0; p--) {
+            Node current = path.get(p);
+            Node parent = path.get(p - 1);
+            if (current.weight == 0 && current.children.length == 0) {
+                parent.remove(current);
+            } else if (current.weight == 0 && current.children.length == 1) {
+                // Merge a pass-through node into its only child to keep the tree compressed
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[parent.indexOf(current.label.charAt(0))] = only;
+            } else {
+                current.updateMaxWeight();
+            }
+        }
+        root.updateMaxWeight();
+    }
+
+    /**
+     * Find the heaviest terms that start with a prefix
+     * @param prefix The normalized (lower case) prefix
+     * @param k The maximum number of terms
+     * @return The terms, heaviest first
+     */
+    List<Entry> topK(String prefix, int k) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.indexOf(prefix.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, i);
+            if (common < child.label.length() && i + common < prefix.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+
+        // Best-first search: nodes are ranked by the best weight they can still lead to
+        List<Entry> results = new ArrayList<>(k);
+        PriorityQueue<Pending> queue = new PriorityQueue<>((a, b) -> Integer.compare(b.priority(), a.priority()));
+        queue.add(new Pending(node, null, node.maxWeight));
+        while (!queue.isEmpty() && results.size() < k) {
+            Pending next = queue.poll();
+            if (next.entry() != null) {
+                results.add(next.entry());
+                continue;
+            }
+            Node current = next.node();
+            if (current.weight > 0) {
+                queue.add(new Pending(null, new Entry(current.display, current.weight), current.weight));
+            }
+            for (Node child : current.children) {
+                queue.add(new Pending(child, null, child.maxWeight));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Number of terms with a positive weight
+     */
+    int size() {
+        return size;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * A term and its weight
+     */
+    record Entry(String display, int weight) {
+    }
+
+    /**
+     * A subtree to explore or a term to emit, ranked by weight
+     */
+    private record Pending(Node node, Entry entry, int priority) {
+    }
+
+    private static class Node {
+
+        private String label;
+        // Sorted by the first character of their label
+        private Node[] children = NO_CHILDREN;
+        private int weight;
+        private int maxWeight;
+        private String display;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char c = children[middle].label.charAt(0);
+                if (c < first) {
+                    low = middle + 1;
+                } else if (c > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insert(Node child) {
+            int position = -(indexOf(child.label.charAt(0)) + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, position);
+            grown[position] = child;
+            System.arraycopy(children, position, grown, position + 1, children.length - position);
+            children = grown;
+        }
+
+        void remove(Node child) {
+            int position = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, position);
+            System.arraycopy(children, position + 1, shrunk, position, children.length - position - 1);
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+
+        void updateMaxWeight() {
+            int max = weight;
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
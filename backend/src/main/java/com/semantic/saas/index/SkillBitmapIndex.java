@@ -0,0 +1,193 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, per-tenant index of skill -> talent IDs held as compressed (Roaring) bitmaps.
+ * A tenant is loaded from talent_skills on first use and then kept current from committed
+ * TalentChangedEvents, so AND / OR / NOT skill filters never touch the database.
+ * Residency is bounded by {@link TenantIndexes}.
+ */
+@Component
+public class SkillBitmapIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillBitmapIndex.class);
+
+    private final TalentRepository talentRepository;
+    private final TenantIndexes<TenantSkills> tenants;
+
+    public SkillBitmapIndex(
+            TalentRepository talentRepository,
+            @Value("${talent.indexes.max-tenants:200}") long maxTenants,
+            @Value("${talent.indexes.idle-minutes:60}") long idleMinutes) {
+        this.talentRepository = talentRepository;
+        this.tenants = new TenantIndexes<>("skill-index", maxTenants, Duration.ofMinutes(idleMinutes), this::load);
+    }
+
+    /**
+     * Evaluate a skill filter for a tenant
+     * @param customerId The customer ID
+     * @param filter The skill filter
+     * @return The IDs of the matching talents, in ascending order
+     */
+    public RoaringBitmap evaluate(Integer customerId, SkillFilter filter) {
+        return tenants.get(customerId).evaluate(filter);
+    }
+
+    /**
+     * Drop a tenant so it is reloaded from the database on next use
+     * @param customerId The customer ID
+     */
+    public void invalidate(Integer customerId) {
+        tenants.invalidate(customerId);
+    }
+
+    @PreDestroy
+    public void close() {
+        tenants.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        tenants.update(event.customerId(), index -> {
+            if (event.type() == TalentChangedEvent.ChangeType.DELETED) {
+                index.remove(event.talentId());
+            } else {
+                index.put(event.talentId(), SkillNormalizer.normalize(event.talent().getSkills()));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        // Reloading once is cheaper than applying thousands of single changes
+        invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            tenants.invalidateAll();
+        } else {
+            invalidate(event.customerId());
+        }
+    }
+
+    private TenantSkills load(Integer customerId) {
+        long start = System.currentTimeMillis();
+        TenantSkills index = new TenantSkills();
+        for (Integer talentId : talentRepository.findIdsByCustomerId(customerId)) {
+            index.all.add(talentId);
+        }
+        for (Object[] row : talentRepository.findSkillPairsByCustomerId(customerId)) {
+            index.bySkill.computeIfAbsent((String) row[1], skill -> new RoaringBitmap()).add((Integer) row[0]);
+        }
+        index.bySkill.values().forEach(RoaringBitmap::runOptimize);
+
+        logger.debug("Loaded skill index for tenant {}: {} talents, {} skills in {} ms",
+                customerId, index.all.getCardinality(), index.bySkill.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    /**
+     * Skill bitmaps of a single tenant
+     */
+    private static class TenantSkills {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<String, RoaringBitmap> bySkill = new HashMap<>();
+
+        RoaringBitmap evaluate(SkillFilter filter) {
+            lock.readLock().lock();
+            try {
+                RoaringBitmap result;
+                if (filter.all().isEmpty()) {
+                    result = all.clone();
+                } else {
+                    result = null;
+                    for (String skill : filter.all()) {
+                        RoaringBitmap talents = bySkill.get(skill);
+                        if (talents == null) {
+                            return new RoaringBitmap();
+                        }
+                        if (result == null) {
+                            result = talents.clone();
+                        } else {
+                            result.and(talents);
+                        }
+                    }
+                }
+
+                if (!filter.any().isEmpty()) {
+                    RoaringBitmap anyOf = new RoaringBitmap();
+                    for (String skill : filter.any()) {
+                        RoaringBitmap talents = bySkill.get(skill);
+                        if (talents != null) {
+                            anyOf.or(talents);
+                        }
+                    }
+                    result.and(anyOf);
+                }
+
+                for (String skill : filter.none()) {
+                    RoaringBitmap talents = bySkill.get(skill);
+                    if (talents != null) {
+                        result.andNot(talents);
+                    }
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(Integer talentId, Set<String> skills) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(talentId);
+                all.add(talentId);
+                for (String skill : skills) {
+                    bySkill.computeIfAbsent(skill, key -> new RoaringBitmap()).add(talentId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Integer talentId) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(talentId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeUnlocked(Integer talentId) {
+            all.remove(talentId);
+            bySkill.values().removeIf(talents -> {
+                talents.remove(talentId);
+                return talents.isEmpty();
+            });
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.semantic.saas.index;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Boolean skill filter: every skill in {@code all}, at least one skill in {@code any}
+ * (when given) and none of the skills in {@code none}.
+ */
+public record SkillFilter(Set<String> all, Set<String> any, Set<String> none) {
+
+    public SkillFilter {
+        all = Set.copyOf(all);
+        any = Set.copyOf(any);
+        none = Set.copyOf(none);
+    }
+
+    /**
+     * Build a filter from comma separated skill lists
+     * @param all Skills that must all be present, may be null
+     * @param any Skills of which at least one must be present, may be null
+     * @param none Skills that must be absent, may be null
+     * @return The filter with normalized skill names
+     */
+    public static SkillFilter of(String all, String any, String none) {
+        return new SkillFilter(parse(all), parse(any), parse(none));
+    }
+
+    public boolean isEmpty() {
+        return all.isEmpty() && any.isEmpty() && none.isEmpty();
+    }
+
+    private static Set<String> parse(String skills) {
+        return skills == null ? new LinkedHashSet<>() : SkillNormalizer.normalize(skills);
+    }
+}
@@ -0,0 +1,47 @@
+package com.semantic.saas.index;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns the free-text skills column into normalized skill names.
+ * Must stay in line with the backfill in V6__Create_Talent_Skills_Table.sql.
+ */
+public final class SkillNormalizer {
+
+    public static final int MAX_SKILL_LENGTH = 100;
+
+    private SkillNormalizer() {
+    }
+
+    /**
+     * Split a comma, semicolon or newline separated skills string into normalized skills
+     * @param skills The raw skills text, may be null
+     * @return The distinct normalized skills in input order
+     */
+    public static Set<String> normalize(String skills) {
+        Set<String> result = new LinkedHashSet<>();
+        if (skills == null || skills.isBlank()) {
+            return result;
+        }
+
+        for (String part : skills.split("[,;\\n]")) {
+            String skill = normalizeSkill(part);
+            if (!skill.isEmpty()) {
+                result.add(skill);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Normalize a single skill name: lower case, collapsed whitespace, bounded length
+     * @param skill The raw skill name
+     * @return The normalized skill, empty if nothing is left
+     */
+    public static String normalizeSkill(String skill) {
+        String normalized = skill.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+        return normalized.length() > MAX_SKILL_LENGTH ? normalized.substring(0, MAX_SKILL_LENGTH) : normalized;
+    }
+}
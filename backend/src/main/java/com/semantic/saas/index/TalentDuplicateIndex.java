@@ -0,0 +1,371 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, per-tenant locality-sensitive hashing index of MinHash signatures for finding likely duplicate talents
+ * (same person, different email) without pairwise comparison. Signatures are split into bands; two talents are
+ * candidates when any band hashes to the same bucket, and candidates are confirmed by their estimated similarity.
+ * A tenant is loaded on first use and then kept current from committed TalentChangedEvents.
+ * Residency is bounded by {@link TenantIndexes}.
+ */
+@Component
+public class TalentDuplicateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentDuplicateIndex.class);
+
+    // 32 bands of 4 rows: pairs above ~0.5 similarity share a bucket with high probability
+    private static final int BANDS = 32;
+    private static final int ROWS = MinHasher.SIGNATURE_LENGTH / BANDS;
+    // Buckets this large come from boilerplate text rather than duplicates and would make clustering quadratic
+    private static final int MAX_BUCKET_SIZE_FOR_CLUSTERING = 200;
+    private static final int MAX_REPORTED_CLUSTERS = 1000;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    private final TalentRepository talentRepository;
+    private final TransactionTemplate loadTransaction;
+    private final float threshold;
+    private final MinHasher minHasher = new MinHasher();
+    private final TenantIndexes<TenantSignatures> tenants;
+    private final Map<Integer, DuplicateReport> reports = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TalentDuplicateIndex(
+            TalentRepository talentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${talent.duplicates.threshold:0.5}") float threshold,
+            @Value("${talent.indexes.max-tenants:200}") long maxTenants,
+            @Value("${talent.indexes.idle-minutes:60}") long idleMinutes) {
+        this.talentRepository = talentRepository;
+        // Loads run in a transaction of their own, so clearing the persistence context never detaches the caller's entities
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        this.threshold = threshold;
+        this.tenants = new TenantIndexes<>("duplicate-index", maxTenants, Duration.ofMinutes(idleMinutes), this::load);
+    }
+
+    /**
+     * Find the existing talents that are likely the same person as a (possibly unsaved) talent
+     * @param customerId The customer ID
+     * @param talent The talent to check; its own ID, if any, is never returned
+     * @return The likely duplicates, most similar first
+     */
+    public List<Candidate> findCandidates(Integer customerId, Talent talent) {
+        int[] signature = minHasher.signature(talent);
+        if (signature == null) {
+            return List.of();
+        }
+
+        TenantSignatures index = tenants.get(customerId);
+        index.lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            List<Candidate> candidates = new ArrayList<>();
+            for (int band = 0; band < BANDS; band++) {
+                int[] bucket = index.buckets.get(bucketKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int talentId : bucket) {
+                    if ((talent.getId() != null && talentId == talent.getId()) || !seen.add(talentId)) {
+                        continue;
+                    }
+                    float similarity = MinHasher.similarity(signature, index.signatures.get(talentId));
+                    if (similarity >= threshold) {
+                        candidates.add(new Candidate(talentId, similarity));
+                    }
+                }
+            }
+            candidates.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+            return candidates;
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Make sure a tenant's signatures are in memory, e.g. before a bulk check that must not load them midway
+     * @param customerId The customer ID
+     */
+    public void preload(Integer customerId) {
+        tenants.get(customerId);
+    }
+
+    /**
+     * Get the latest duplicate cluster report of a tenant, computing it if there is none yet
+     * @param customerId The customer ID
+     * @return The report
+     */
+    public DuplicateReport getReport(Integer customerId) {
+        return reports.computeIfAbsent(customerId, this::buildReport);
+    }
+
+    /**
+     * Background job: recompute the duplicate reports of every tenant that has one
+     */
+    @Scheduled(fixedDelayString = "${talent.duplicates.report-interval-ms:3600000}",
+               initialDelayString = "${talent.duplicates.report-interval-ms:3600000}")
+    public void refreshReports() {
+        for (Integer customerId : reports.keySet()) {
+            try {
+                reports.put(customerId, buildReport(customerId));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to refresh duplicate report for tenant {}", customerId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        tenants.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        int[] signature = event.type() == TalentChangedEvent.ChangeType.DELETED
+                ? null
+                : minHasher.signature(event.talent());
+        tenants.update(event.customerId(), index -> {
+            index.lock.writeLock().lock();
+            try {
+                index.remove(event.talentId());
+                if (signature != null) {
+                    index.put(event.talentId(), signature);
+                }
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        // Reports keep their last state until the next refresh clusters the new signatures too
+        List<Integer> ids = event.talentIds();
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IMPORT_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(ids.size(), from + IMPORT_BATCH_SIZE)));
+        }
+        tenants.updateInBackground(event.customerId(), batches, (index, batch) -> {
+            List<Talent> talents = talentRepository.findAllByCustomerIdAndIdIn(event.customerId(), batch);
+            index.lock.writeLock().lock();
+            try {
+                for (Talent talent : talents) {
+                    int[] signature = minHasher.signature(talent);
+                    index.remove(talent.getId());
+                    if (signature != null) {
+                        index.put(talent.getId(), signature);
+                    }
+                }
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            tenants.invalidateAll();
+        } else {
+            tenants.invalidate(event.customerId());
+        }
+    }
+
+    private DuplicateReport buildReport(Integer customerId) {
+        long start = System.currentTimeMillis();
+        TenantSignatures index = tenants.get(customerId);
+
+        index.lock.readLock().lock();
+        try {
+            // Union-find over confirmed pairs that share a bucket
+            Map<Integer, Integer> parent = new HashMap<>();
+            for (int[] bucket : index.buckets.values()) {
+                if (bucket.length < 2 || bucket.length > MAX_BUCKET_SIZE_FOR_CLUSTERING) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.length; i++) {
+                    int[] signature = index.signatures.get(bucket[i]);
+                    for (int j = i + 1; j < bucket.length; j++) {
+                        if (MinHasher.similarity(signature, index.signatures.get(bucket[j])) >= threshold) {
+                            union(parent, bucket[i], bucket[j]);
+                        }
+                    }
+                }
+            }
+
+            Map<Integer, List<Integer>> clustersByRoot = new HashMap<>();
+            for (Integer talentId : parent.keySet()) {
+                clustersByRoot.computeIfAbsent(find(parent, talentId), root -> new ArrayList<>()).add(talentId);
+            }
+            List<List<Integer>> clusters = new ArrayList<>();
+            for (List<Integer> cluster : clustersByRoot.values()) {
+                if (cluster.size() > 1) {
+                    cluster.sort(null);
+                    clusters.add(cluster);
+                }
+            }
+            clusters.sort(Comparator.<List<Integer>>comparingInt(List::size).reversed()
+                    .thenComparing(cluster -> cluster.get(0)));
+
+            logger.debug("Built duplicate report for tenant {}: {} clusters in {} ms",
+                    customerId, clusters.size(), System.currentTimeMillis() - start);
+            return new DuplicateReport(
+                    LocalDateTime.now(),
+                    index.signatures.size(),
+                    clusters.size(),
+                    clusters.size() > MAX_REPORTED_CLUSTERS ? clusters.subList(0, MAX_REPORTED_CLUSTERS) : clusters);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    private TenantSignatures load(Integer customerId) {
+        return loadTransaction.execute(status -> loadSignatures(customerId));
+    }
+
+    private TenantSignatures loadSignatures(Integer customerId) {
+        long start = System.currentTimeMillis();
+        TenantSignatures index = new TenantSignatures();
+
+        Integer lastId = null;
+        List<Talent> batch;
+        do {
+            batch = talentRepository.findSlice(customerId, "id", false, lastId, lastId, LOAD_BATCH_SIZE);
+            for (Talent talent : batch) {
+                int[] signature = minHasher.signature(talent);
+                if (signature != null) {
+                    index.put(talent.getId(), signature);
+                }
+                lastId = talent.getId();
+            }
+            // Keep the persistence context from growing with the whole tenant
+            entityManager.clear();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        logger.debug("Loaded duplicate index for tenant {}: {} talents in {} ms",
+                customerId, index.signatures.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private static long bucketKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = MinHasher.mix(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    private static int find(Map<Integer, Integer> parent, int talentId) {
+        int root = talentId;
+        while (parent.getOrDefault(root, root) != root) {
+            root = parent.get(root);
+        }
+        // Path compression
+        int node = talentId;
+        while (node != root) {
+            int next = parent.get(node);
+            parent.put(node, root);
+            node = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<Integer, Integer> parent, int a, int b) {
+        parent.putIfAbsent(a, a);
+        parent.putIfAbsent(b, b);
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent.put(Math.max(rootA, rootB), Math.min(rootA, rootB));
+        }
+    }
+
+    /**
+     * A likely duplicate
+     * @param talentId The talent ID
+     * @param similarity The estimated Jaccard similarity of the two profiles, from 0 to 1
+     */
+    public record Candidate(int talentId, float similarity) {
+    }
+
+    /**
+     * Groups of talents that are likely the same person
+     * @param generatedAt When the report was computed
+     * @param talentCount The number of comparable talents in the tenant
+     * @param clusterCount The total number of clusters
+     * @param clusters The largest clusters (at most 1000), each a sorted list of talent IDs
+     */
+    public record DuplicateReport(LocalDateTime generatedAt, int talentCount, int clusterCount,
+                                  List<List<Integer>> clusters) {
+    }
+
+    /**
+     * Signatures and LSH buckets of a single tenant
+     */
+    private static class TenantSignatures {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, int[]> signatures = new HashMap<>();
+        private final Map<Long, int[]> buckets = new HashMap<>();
+
+        void put(int talentId, int[] signature) {
+            signatures.put(talentId, signature);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.merge(bucketKey(signature, band), new int[]{talentId}, (bucket, added) -> {
+                    int[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                    grown[bucket.length] = talentId;
+                    return grown;
+                });
+            }
+        }
+
+        void remove(int talentId) {
+            int[] signature = signatures.remove(talentId);
+            if (signature == null) {
+                return;
+            }
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfPresent(bucketKey(signature, band), (key, bucket) -> {
+                    int[] remaining = Arrays.stream(bucket).filter(id -> id != talentId).toArray();
+                    return remaining.length == 0 ? null : remaining;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,891 @@
+package com.semantic.saas.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.exception.IndexNotReadyException;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene full-text index of talents, one index directory per tenant.
+ * Postgres stays the system of record: the index is fed from committed TalentChangedEvents,
+ * refreshed near-real-time, and can be rebuilt or checked against the talents table at any time.
+ * Ranking is Lucene's default BM25 with per-field boosts.
+ * <p>
+ * Only a bounded number of tenant indexes is open at a time; the least recently used and idle ones are
+ * closed and reopened from disk on their next use. One scheduler thread refreshes the searchers of all
+ * open indexes.
+ * <p>
+ * Committed changes, and the drift checks that follow cache invalidations, run on a single indexer thread in the
+ * order their events arrive. A large import or a check never holds up the thread that published the event, and
+ * an import cannot overwrite a newer change of the same talent.
+ * <p>
+ * Each build, the first one of a tenant as well as a rebuild, writes a new generation directory on a build thread
+ * while searches keep using the previous generation. Once complete, the new generation is swapped in and the
+ * previous one is deleted when its last search finishes.
+ */
+@Component
+public class TalentLuceneIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentLuceneIndex.class);
+
+    private static final String ID_FIELD = "id";
+    private static final String VERSION_FIELD = "version";
+    private static final String GENERATION_PREFIX = "gen-";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            "firstName", 3.0f,
+            "lastName", 3.0f,
+            "skills", 2.0f,
+            "experience", 1.0f,
+            "education", 0.8f,
+            "notes", 0.5f
+    );
+    private static final String[] SEARCH_FIELDS = {"firstName", "lastName", "skills", "experience", "education", "notes"};
+    private static final List<String> HIGHLIGHT_FIELDS = List.of("skills", "experience", "education", "notes");
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private final TalentRepository talentRepository;
+    private final boolean enabled;
+    private final Path basePath;
+    private final int commitInterval;
+    private final long buildWaitMillis;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Cache<Integer, TenantIndex> tenants;
+    // Indexes dropped from the cache but still in use; they must be closed before they are opened again
+    private final Map<Integer, TenantIndex> closing = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private final ExecutorService indexer;
+    private final ExecutorService builder;
+    // Builds in progress; changes indexed meanwhile are recorded and applied to the new generation before the swap
+    private final Map<Integer, Build> builds = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TalentLuceneIndex(
+            TalentRepository talentRepository,
+            @Value("${talent.lucene.enabled:true}") boolean enabled,
+            @Value("${talent.lucene.path:data/lucene}") String basePath,
+            @Value("${talent.lucene.commit-interval:1000}") int commitInterval,
+            @Value("${talent.lucene.max-stale-seconds:1.0}") double maxStaleSeconds,
+            @Value("${talent.lucene.max-open-tenants:100}") long maxOpenTenants,
+            @Value("${talent.lucene.idle-close-minutes:30}") long idleCloseMinutes,
+            @Value("${talent.lucene.build-wait-seconds:5}") long buildWaitSeconds) {
+        this.talentRepository = talentRepository;
+        this.enabled = enabled;
+        this.basePath = Paths.get(basePath);
+        this.commitInterval = commitInterval;
+        this.buildWaitMillis = TimeUnit.SECONDS.toMillis(buildWaitSeconds);
+        this.tenants = Caffeine.newBuilder()
+                .maximumSize(maxOpenTenants)
+                .expireAfterAccess(Duration.ofMinutes(idleCloseMinutes))
+                .scheduler(Scheduler.systemScheduler())
+                // Runs atomically with the removal, so a concurrent reopen always finds the index in closing
+                .evictionListener((Integer customerId, TenantIndex index, RemovalCause cause) -> retire(customerId, index))
+                .build();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lucene-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long refreshMillis = Math.max(1L, Math.round(maxStaleSeconds * 1000));
+            refresher.scheduleWithFixedDelay(this::refreshAll, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        }
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lucene-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.builder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lucene-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Search a tenant's index. A tenant without an index gets one built in the background; the search waits
+     * up to talent.lucene.build-wait-seconds for it.
+     * @param customerId The customer ID
+     * @param keyword The query, in Lucene query syntax; falls back to plain terms if it does not parse
+     * @param offset The number of hits to skip
+     * @param size The number of hits to return
+     * @return The total hit count and the requested hits, best first, with highlighted fragments
+     * @throws IndexNotReadyException if the tenant's first index is still being built
+     */
+    public SearchResult search(Integer customerId, String keyword, int offset, int size) {
+        Query query = parse(keyword);
+        TenantIndex index = acquireOrBuild(customerId);
+
+        try {
+            IndexSearcher searcher = index.searcherManager.acquire();
+            try {
+                TopScoreDocCollector collector = TopScoreDocCollector.create(Math.max(1, offset + size), Integer.MAX_VALUE);
+                searcher.search(query, collector);
+                TopDocs topDocs = collector.topDocs(offset, size);
+
+                Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new QueryScorer(query));
+                StoredFields storedFields = searcher.storedFields();
+                List<Hit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = storedFields.document(scoreDoc.doc);
+                    hits.add(new Hit(
+                            Integer.parseInt(document.get(ID_FIELD)),
+                            scoreDoc.score,
+                            highlight(highlighter, document)));
+                }
+                return new SearchResult(collector.getTotalHits(), hits);
+            } finally {
+                index.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed for tenant " + customerId, e);
+        } finally {
+            release(index);
+        }
+    }
+
+    /**
+     * Rebuild a tenant's index from the talents table and wait for it.
+     * Searches keep using the previous index until the new one is complete.
+     * @param customerId The customer ID
+     * @return The number of indexed talents
+     */
+    public int rebuild(Integer customerId) {
+        requireEnabled();
+        try {
+            return startBuild(customerId).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Rebuild failed for tenant " + customerId, e.getCause());
+        }
+    }
+
+    /**
+     * Compare a tenant's index with the talents table
+     * @param customerId The customer ID
+     * @return IDs missing from the index, present only in the index, or indexed at another version
+     */
+    public ConsistencyReport check(Integer customerId) {
+        requireEnabled();
+        TenantIndex index = acquire(customerId);
+        try {
+            return check(customerId, index);
+        } finally {
+            if (index != null) {
+                release(index);
+            }
+        }
+    }
+
+    private ConsistencyReport check(Integer customerId, TenantIndex index) {
+        Map<Integer, Long> database = new HashMap<>();
+        for (Object[] row : talentRepository.findIdsAndVersionsByCustomerId(customerId)) {
+            database.put((Integer) row[0], (Long) row[1]);
+        }
+
+        // A tenant without an index yet has everything missing
+        Map<Integer, Long> indexed = new HashMap<>();
+        if (index != null) {
+            try {
+                index.searcherManager.maybeRefreshBlocking();
+                IndexSearcher searcher = index.searcherManager.acquire();
+                try {
+                    for (LeafReaderContext context : searcher.getIndexReader().leaves()) {
+                        LeafReader leaf = context.reader();
+                        Bits liveDocs = leaf.getLiveDocs();
+                        StoredFields storedFields = leaf.storedFields();
+                        for (int doc = 0; doc < leaf.maxDoc(); doc++) {
+                            if (liveDocs != null && !liveDocs.get(doc)) {
+                                continue;
+                            }
+                            Document document = storedFields.document(doc, Set.of(ID_FIELD, VERSION_FIELD));
+                            IndexableField version = document.getField(VERSION_FIELD);
+                            indexed.put(Integer.parseInt(document.get(ID_FIELD)),
+                                    version == null ? -1L : version.numericValue().longValue());
+                        }
+                    }
+                } finally {
+                    index.searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Consistency check failed for tenant " + customerId, e);
+            }
+        }
+
+        List<Integer> extra = new ArrayList<>();
+        List<Integer> stale = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entry : indexed.entrySet()) {
+            Long version = database.get(entry.getKey());
+            if (version == null) {
+                addReported(extra, entry.getKey());
+            } else if (!version.equals(entry.getValue())) {
+                addReported(stale, entry.getKey());
+            }
+        }
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : database.keySet()) {
+            if (!indexed.containsKey(id)) {
+                addReported(missing, id);
+            }
+        }
+
+        return new ConsistencyReport(database.size(), indexed.size(), missing, extra, stale);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        if (enabled) {
+            indexer.execute(() -> indexChange(event));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        if (enabled) {
+            indexer.execute(() -> indexImport(event));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (enabled) {
+            // Checking reads the whole tenant; it must not hold up the cache invalidation listener
+            indexer.execute(() -> repair(event.customerId()));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        refresher.shutdownNow();
+        // A build cut short leaves an uncommitted generation, which is deleted when the tenant is next opened
+        builder.shutdownNow();
+        indexer.shutdown();
+        try {
+            // Changes still queued are lost with the process, like any unindexed change; check and rebuild repair them
+            if (!indexer.awaitTermination(10, TimeUnit.SECONDS)) {
+                indexer.shutdownNow();
+            }
+            builder.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            indexer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        tenants.asMap().forEach(this::retire);
+        tenants.invalidateAll();
+    }
+
+    private void indexChange(TalentChangedEvent event) {
+        Build build = builds.get(event.customerId());
+        if (build != null) {
+            build.record(List.of(event.talentId()));
+        }
+        // A tenant without an index yet gets this change from its build
+        TenantIndex index = acquire(event.customerId());
+        if (index == null) {
+            return;
+        }
+
+        try {
+            Term idTerm = new Term(ID_FIELD, event.talentId().toString());
+            if (event.type() == TalentChangedEvent.ChangeType.DELETED) {
+                index.writer.deleteDocuments(idTerm);
+            } else {
+                index.writer.updateDocument(idTerm, toDocument(event.talent()));
+            }
+            if (index.changesSinceCommit.incrementAndGet() >= commitInterval) {
+                index.changesSinceCommit.set(0);
+                index.writer.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Postgres has the change; the consistency check and rebuild repair the index
+            logger.error("Failed to index talent {} for tenant {}", event.talentId(), event.customerId(), e);
+        } finally {
+            release(index);
+        }
+    }
+
+    private void indexImport(TalentsImportedEvent event) {
+        List<Integer> ids = event.talentIds();
+        Build build = builds.get(event.customerId());
+        if (build != null) {
+            build.record(ids);
+        }
+        TenantIndex index = acquire(event.customerId());
+        if (index == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            reindex(event.customerId(), index, ids);
+            index.writer.commit();
+            index.changesSinceCommit.set(0);
+            logger.debug("Indexed {} imported talents for tenant {} in {} ms",
+                    ids.size(), event.customerId(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to index {} imported talents for tenant {}", ids.size(), event.customerId(), e);
+        } finally {
+            release(index);
+        }
+    }
+
+    /**
+     * Start rebuilding open indexes that have drifted from the talents table. The index is on disk and cannot
+     * simply be dropped; indexes not opened since startup are no worse off than they were after the restart.
+     * @param customerId The customer ID, or null for all tenants
+     */
+    private void repair(Integer customerId) {
+        for (Integer openCustomerId : List.copyOf(tenants.asMap().keySet())) {
+            if (customerId != null && !customerId.equals(openCustomerId)) {
+                continue;
+            }
+            try {
+                if (!check(openCustomerId).isConsistent()) {
+                    startBuild(openCustomerId);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to verify Lucene index for tenant {}", openCustomerId, e);
+            }
+        }
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("Lucene search is disabled (talent.lucene.enabled=false)");
+        }
+    }
+
+    /**
+     * Get a tenant's index, opening it from disk if needed, and keep it open until {@link #release} is called
+     * @param customerId The customer ID
+     * @return The open index, or null if the tenant has no built index yet
+     */
+    private TenantIndex acquire(Integer customerId) {
+        while (true) {
+            TenantIndex index = tenants.get(customerId, this::open);
+            if (index == null || index.tryIncRef()) {
+                return index;
+            }
+            // Closed between the lookup and now; the next lookup opens it again
+        }
+    }
+
+    /**
+     * Like {@link #acquire}, but a tenant without an index gets one built, which is waited for a little while
+     * @throws IndexNotReadyException if the build takes longer than talent.lucene.build-wait-seconds
+     */
+    private TenantIndex acquireOrBuild(Integer customerId) {
+        requireEnabled();
+        TenantIndex index = acquire(customerId);
+        while (index == null) {
+            try {
+                startBuild(customerId).get(buildWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new IndexNotReadyException("The search index of this tenant is being built; retry shortly",
+                        Math.max(1, TimeUnit.MILLISECONDS.toSeconds(buildWaitMillis)));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Building the search index failed for tenant " + customerId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the search index of tenant " + customerId, e);
+            }
+            index = acquire(customerId);
+        }
+        return index;
+    }
+
+    private void release(TenantIndex index) {
+        if (index.refCount.decrementAndGet() == 0) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close Lucene index for tenant {}", index.customerId, e);
+            } finally {
+                closing.remove(index.customerId, index);
+                index.closed.countDown();
+            }
+        }
+    }
+
+    /**
+     * Drop the cache's reference to an evicted or replaced index; it closes as soon as no search or write uses it
+     */
+    private void retire(Integer customerId, TenantIndex index) {
+        closing.put(customerId, index);
+        release(index);
+    }
+
+    private void refreshAll() {
+        for (TenantIndex index : tenants.asMap().values()) {
+            if (!index.tryIncRef()) {
+                continue;
+            }
+            try {
+                index.searcherManager.maybeRefresh();
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to refresh Lucene searcher for tenant {}", index.customerId, e);
+            } finally {
+                release(index);
+            }
+        }
+    }
+
+    /**
+     * Open the newest complete generation of a tenant's index, deleting older and abandoned ones.
+     * Only opens what is on disk; building is left to {@link #startBuild}.
+     * @return The open index, or null if there is none, which Caffeine does not cache
+     */
+    private TenantIndex open(Integer customerId) {
+        // The index writer holds the directory lock until the previous instance is closed
+        TenantIndex previous = closing.get(customerId);
+        if (previous != null) {
+            previous.awaitClosed();
+        }
+
+        Build build = builds.get(customerId);
+        long building = build == null ? -1 : build.generation;
+        try {
+            List<Long> generations = new ArrayList<>(generations(customerId));
+            Collections.reverse(generations);
+            Long current = null;
+            for (Long generation : generations) {
+                Path path = generationPath(customerId, generation);
+                if (generation == building) {
+                    continue;
+                }
+                if (current == null && hasIndex(path)) {
+                    current = generation;
+                } else if (current != null || build == null) {
+                    // Older generations, and ones whose build never committed because the node stopped
+                    deleteDirectory(path);
+                }
+            }
+            return current == null ? null : openIndex(customerId, current, OpenMode.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open Lucene index for tenant " + customerId, e);
+        }
+    }
+
+    /**
+     * Start building a new generation of a tenant's index, or join the build that is already running
+     * @return Completes with the number of indexed talents once the new generation serves searches
+     */
+    private CompletableFuture<Integer> startBuild(Integer customerId) {
+        return builds.computeIfAbsent(customerId, id -> {
+            Build build = new Build();
+            builder.execute(() -> runBuild(id, build));
+            return build;
+        }).done;
+    }
+
+    private void runBuild(Integer customerId, Build build) {
+        long start = System.currentTimeMillis();
+        TenantIndex index = null;
+        try {
+            List<Long> generations = generations(customerId);
+            build.generation = generations.isEmpty() ? 1 : generations.get(generations.size() - 1) + 1;
+            index = openIndex(customerId, build.generation, OpenMode.CREATE);
+
+            // Changes committed from here on are recorded; rows read below may be older and are indexed again
+            int count = 0;
+            Integer lastId = null;
+            List<Talent> batch;
+            do {
+                batch = talentRepository.findSlice(customerId, "id", false, lastId, lastId, REBUILD_BATCH_SIZE);
+                for (Talent talent : batch) {
+                    index.writer.addDocument(toDocument(talent));
+                    lastId = talent.getId();
+                }
+                count += batch.size();
+                // Builds can cover a whole tenant; keep the persistence context from growing with it
+                entityManager.clear();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            reindex(customerId, index, build.take());
+
+            // The swap runs on the indexer thread, so no change can slip in between the last catch-up and the swap
+            TenantIndex built = index;
+            indexer.submit(() -> {
+                swap(customerId, build, built);
+                return null;
+            }).get();
+            index = null;
+
+            logger.info("Built Lucene index generation {} for tenant {}: {} talents in {} ms",
+                    build.generation, customerId, count, System.currentTimeMillis() - start);
+            build.done.complete(count);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("Failed to build Lucene index for tenant {}", customerId, e);
+            build.done.completeExceptionally(e instanceof ExecutionException ? e.getCause() : e);
+        } finally {
+            builds.remove(customerId, build);
+            if (index != null) {
+                index.obsolete = true;
+                release(index);
+            }
+        }
+    }
+
+    private void swap(Integer customerId, Build build, TenantIndex index) throws IOException {
+        reindex(customerId, index, build.take());
+        index.writer.commit();
+        index.searcherManager.maybeRefreshBlocking();
+
+        // An index still closing, and the one replaced here, delete their generations once their searches finish
+        TenantIndex stillClosing = closing.get(customerId);
+        if (stillClosing != null) {
+            stillClosing.obsolete = true;
+        }
+        TenantIndex previous = tenants.asMap().put(customerId, index);
+        builds.remove(customerId, build);
+        if (previous != null) {
+            previous.obsolete = true;
+            retire(customerId, previous);
+        }
+        for (Long generation : generations(customerId)) {
+            boolean inUse = (previous != null && previous.generation == generation)
+                    || (stillClosing != null && stillClosing.generation == generation);
+            if (generation < index.generation && !inUse) {
+                deleteDirectory(generationPath(customerId, generation));
+            }
+        }
+    }
+
+    private TenantIndex openIndex(Integer customerId, long generation, OpenMode mode) throws IOException {
+        Path path = generationPath(customerId, generation);
+        Files.createDirectories(path);
+        Directory directory = FSDirectory.open(path);
+        try {
+            IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(mode));
+            SearcherManager searcherManager = new SearcherManager(writer, new SearcherFactory());
+            return new TenantIndex(customerId, generation, path, directory, writer, searcherManager);
+        } catch (IOException | RuntimeException e) {
+            directory.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Index the current rows of the given talents and drop the ones that no longer exist
+     */
+    private void reindex(Integer customerId, TenantIndex index, Collection<Integer> talentIds) throws IOException {
+        List<Integer> ids = List.copyOf(talentIds);
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+            Set<Integer> deleted = new HashSet<>(batch);
+            for (Talent talent : talentRepository.findAllByCustomerIdAndIdIn(customerId, batch)) {
+                index.writer.updateDocument(new Term(ID_FIELD, talent.getId().toString()), toDocument(talent));
+                deleted.remove(talent.getId());
+            }
+            for (Integer id : deleted) {
+                index.writer.deleteDocuments(new Term(ID_FIELD, id.toString()));
+            }
+            entityManager.clear();
+        }
+    }
+
+    private Query parse(String keyword) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, FIELD_BOOSTS);
+        try {
+            return parser.parse(keyword);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(keyword));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + keyword, escaped);
+            }
+        }
+    }
+
+    private Map<String, String> highlight(Highlighter highlighter, Document document) throws IOException {
+        Map<String, String> fragments = new LinkedHashMap<>();
+        for (String field : HIGHLIGHT_FIELDS) {
+            String text = document.get(field);
+            if (text == null) {
+                continue;
+            }
+            try {
+                String fragment = highlighter.getBestFragment(analyzer, field, text);
+                if (fragment != null) {
+                    fragments.put(field, fragment);
+                }
+            } catch (InvalidTokenOffsetsException e) {
+                logger.debug("Cannot highlight field {}", field, e);
+            }
+        }
+        return fragments;
+    }
+
+    private static Document toDocument(Talent talent) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, talent.getId().toString(), Field.Store.YES));
+        document.add(new StoredField(VERSION_FIELD, talent.getVersion() == null ? -1L : talent.getVersion()));
+        addText(document, "firstName", talent.getFirstName());
+        addText(document, "lastName", talent.getLastName());
+        addText(document, "skills", talent.getSkills());
+        addText(document, "experience", talent.getExperience());
+        addText(document, "education", talent.getEducation());
+        addText(document, "notes", talent.getNotes());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static void addReported(List<Integer> ids, Integer id) {
+        if (ids.size() < MAX_REPORTED_IDS) {
+            ids.add(id);
+        }
+    }
+
+    private Path tenantPath(Integer customerId) {
+        return basePath.resolve("tenant-" + customerId);
+    }
+
+    private Path generationPath(Integer customerId, long generation) {
+        return tenantPath(customerId).resolve(GENERATION_PREFIX + generation);
+    }
+
+    /**
+     * @return The generation directories of a tenant, oldest first
+     */
+    private List<Long> generations(Integer customerId) throws IOException {
+        Path path = tenantPath(customerId);
+        if (!Files.isDirectory(path)) {
+            return List.of();
+        }
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> children = Files.list(path)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                String name = child.getFileName().toString();
+                if (name.startsWith(GENERATION_PREFIX)) {
+                    try {
+                        generations.add(Long.parseLong(name.substring(GENERATION_PREFIX.length())));
+                    } catch (NumberFormatException e) {
+                        // Not ours
+                    }
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private static boolean hasIndex(Path path) throws IOException {
+        try (Directory directory = FSDirectory.open(path)) {
+            return DirectoryReader.indexExists(directory);
+        }
+    }
+
+    private static void deleteDirectory(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to delete Lucene index directory {}", path, e);
+        }
+    }
+
+    /**
+     * A single search hit
+     * @param talentId The talent ID
+     * @param score The BM25 score
+     * @param highlights Field name -> best matching fragment with {@code <em>} markup
+     */
+    public record Hit(int talentId, float score, Map<String, String> highlights) {
+    }
+
+    /**
+     * A page of search hits
+     * @param totalHits The total number of matching talents
+     * @param hits The hits of the requested page
+     */
+    public record SearchResult(long totalHits, List<Hit> hits) {
+    }
+
+    /**
+     * Result of comparing an index with the talents table; ID lists are capped at 100 entries
+     */
+    public record ConsistencyReport(int databaseCount, int indexCount, List<Integer> missing,
+                                    List<Integer> extra, List<Integer> stale) {
+
+        public boolean isConsistent() {
+            return missing.isEmpty() && extra.isEmpty() && stale.isEmpty();
+        }
+    }
+
+    /**
+     * A build of a new index generation, and the talents changed while it runs
+     */
+    private static class Build {
+
+        private final CompletableFuture<Integer> done = new CompletableFuture<>();
+        private volatile long generation = -1;
+        private Set<Integer> recorded = new HashSet<>();
+
+        synchronized void record(Collection<Integer> talentIds) {
+            recorded.addAll(talentIds);
+        }
+
+        /**
+         * Take the talents changed since the last call
+         */
+        synchronized Set<Integer> take() {
+            Set<Integer> changed = recorded;
+            recorded = new HashSet<>();
+            return changed;
+        }
+    }
+
+    /**
+     * Open Lucene resources of one generation of a tenant's index.
+     * The reference count starts at one for the cache; the resources are closed when it drops to zero.
+     */
+    private static class TenantIndex {
+
+        private final Integer customerId;
+        private final long generation;
+        private final Path path;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+        private final AtomicInteger changesSinceCommit = new AtomicInteger();
+        private final AtomicInteger refCount = new AtomicInteger(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+        // Replaced by a newer generation, or a build that failed: discarded instead of committed on close
+        private volatile boolean obsolete;
+
+        TenantIndex(Integer customerId, long generation, Path path, Directory directory, IndexWriter writer,
+                    SearcherManager searcherManager) {
+            this.customerId = customerId;
+            this.generation = generation;
+            this.path = path;
+            this.directory = directory;
+            this.writer = writer;
+            this.searcherManager = searcherManager;
+        }
+
+        boolean tryIncRef() {
+            for (int count = refCount.get(); count > 0; count = refCount.get()) {
+                if (refCount.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void awaitClosed() {
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Lucene index of tenant " + customerId, e);
+            }
+        }
+
+        void close() throws IOException {
+            searcherManager.close();
+            if (obsolete) {
+                writer.rollback();
+                directory.close();
+                deleteDirectory(path);
+            } else {
+                writer.commit();
+                writer.close();
+                directory.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, per-tenant matrix of the talent attributes used for requisition matching
+ * (skills as sorted int ordinals, salary expectation, location ordinal), held in primitive arrays.
+ * A requisition is scored against every talent in parallel fork-join partitions; its scores are cached
+ * and a committed TalentChangedEvent only rescores the changed talent in every cached requisition.
+ * Residency is bounded by {@link TenantIndexes}.
+ */
+@Component
+public class TalentMatchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentMatchIndex.class);
+
+    private static final float SKILL_WEIGHT = 0.6f;
+    private static final float SALARY_WEIGHT = 0.25f;
+    private static final float LOCATION_WEIGHT = 0.15f;
+    private static final float UNKNOWN_FIT = 0.5f;
+    private static final float NO_TALENT = -1f;
+
+    private static final int PARTITION_SIZE = 4096;
+    private static final int MAX_CACHED_REQUISITIONS = 64;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final TalentRepository talentRepository;
+    private final TenantIndexes<TenantMatrix> tenants;
+
+    public TalentMatchIndex(
+            TalentRepository talentRepository,
+            @Value("${talent.indexes.max-tenants:200}") long maxTenants,
+            @Value("${talent.indexes.idle-minutes:60}") long idleMinutes) {
+        this.talentRepository = talentRepository;
+        this.tenants = new TenantIndexes<>("match-index", maxTenants, Duration.ofMinutes(idleMinutes), this::load);
+    }
+
+    /**
+     * Rank a tenant's talents against a requisition
+     * @param customerId The customer ID
+     * @param criteria The requisition criteria
+     * @param limit The maximum number of matches
+     * @param minScore The minimum score, from 0 to 1
+     * @return The best matches, best first
+     */
+    public Match[] shortlist(Integer customerId, MatchCriteria criteria, int limit, float minScore) {
+        TenantMatrix matrix = tenants.get(customerId);
+        CompiledCriteria compiled = matrix.compile(criteria);
+
+        matrix.lock.readLock().lock();
+        try {
+            CachedScores cached = matrix.scores.get(criteria.requisitionId());
+            if (cached == null || !cached.criteria.equals(compiled)) {
+                float[] scores = new float[matrix.talentIds.length];
+                ForkJoinPool.commonPool().invoke(new ScoreTask(matrix, compiled, scores, 0, matrix.size));
+                cached = new CachedScores(compiled, scores);
+                if (matrix.scores.size() >= MAX_CACHED_REQUISITIONS) {
+                    matrix.scores.clear();
+                }
+                matrix.scores.put(criteria.requisitionId(), cached);
+            }
+
+            TopK top = ForkJoinPool.commonPool().invoke(new TopKTask(cached.scores, limit, minScore, 0, matrix.size));
+            Match[] matches = new Match[top.count];
+            for (int i = matches.length - 1; i >= 0; i--) {
+                // Popping the min-heap yields the worst remaining match first
+                int slot = top.slots[0];
+                matches[i] = new Match(matrix.talentIds[slot], top.scores[0]);
+                top.pop();
+            }
+            return matches;
+        } finally {
+            matrix.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forget the cached scores of a requisition
+     * @param customerId The customer ID
+     * @param requisitionId The requisition ID
+     */
+    public void evict(Integer customerId, int requisitionId) {
+        tenants.update(customerId, matrix -> matrix.scores.remove(requisitionId));
+    }
+
+    @PreDestroy
+    public void close() {
+        tenants.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        tenants.update(event.customerId(), matrix -> {
+            matrix.lock.writeLock().lock();
+            try {
+                if (event.type() == TalentChangedEvent.ChangeType.DELETED) {
+                    matrix.remove(event.talentId());
+                } else {
+                    matrix.put(
+                            event.talentId(),
+                            SkillNormalizer.normalize(event.talent().getSkills()),
+                            event.talent().getSalaryExpectation(),
+                            event.talent().getLocation());
+                }
+            } finally {
+                matrix.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        tenants.invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            tenants.invalidateAll();
+        } else {
+            tenants.invalidate(event.customerId());
+        }
+    }
+
+    private TenantMatrix load(Integer customerId) {
+        long start = System.currentTimeMillis();
+        TenantMatrix matrix = new TenantMatrix();
+
+        Map<Integer, int[]> skillsById = new HashMap<>();
+        Map<Integer, Integer> skillCountById = new HashMap<>();
+        for (Object[] row : talentRepository.findSkillPairsByCustomerId(customerId)) {
+            Integer talentId = (Integer) row[0];
+            int ordinal = matrix.skillOrdinal((String) row[1]);
+            int count = skillCountById.getOrDefault(talentId, 0);
+            int[] skills = skillsById.computeIfAbsent(talentId, id -> new int[4]);
+            if (count == skills.length) {
+                skills = Arrays.copyOf(skills, count * 2);
+                skillsById.put(talentId, skills);
+            }
+            skills[count] = ordinal;
+            skillCountById.put(talentId, count + 1);
+        }
+
+        for (Object[] row : talentRepository.findMatchAttributesByCustomerId(customerId)) {
+            Integer talentId = (Integer) row[0];
+            int[] skills = skillsById.get(talentId);
+            int[] ordinals = skills == null ? new int[0] : Arrays.copyOf(skills, skillCountById.get(talentId));
+            Arrays.sort(ordinals);
+            matrix.putOrdinals(talentId, ordinals, (Double) row[1], (String) row[2]);
+        }
+
+        logger.debug("Loaded match index for tenant {}: {} talents in {} ms",
+                customerId, matrix.slotByTalentId.size(), System.currentTimeMillis() - start);
+        return matrix;
+    }
+
+    private static float score(CompiledCriteria criteria, int[] skills, float salary, int location) {
+        return SKILL_WEIGHT * skillFit(criteria.skills, skills)
+                + SALARY_WEIGHT * salaryFit(criteria.salaryMin, criteria.salaryMax, salary)
+                + LOCATION_WEIGHT * locationFit(criteria.location, location);
+    }
+
+    /**
+     * Share of the required skills the talent has; both arrays are sorted
+     */
+    private static float skillFit(int[] required, int[] skills) {
+        if (required.length == 0) {
+            return 1f;
+        }
+        int matched = 0;
+        int i = 0;
+        int j = 0;
+        while (i < required.length && j < skills.length) {
+            if (required[i] == skills[j]) {
+                matched++;
+                i++;
+                j++;
+            } else if (required[i] < skills[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (float) matched / required.length;
+    }
+
+    /**
+     * 1 within (or below) the band, decreasing linearly to 0 at twice the band's upper end
+     */
+    private static float salaryFit(float min, float max, float salary) {
+        if (Float.isNaN(salary)) {
+            return UNKNOWN_FIT;
+        }
+        if (Float.isNaN(max) || salary <= max) {
+            return 1f;
+        }
+        return max <= 0 ? 0f : Math.max(0f, 1f - (salary - max) / max);
+    }
+
+    private static float locationFit(int required, int location) {
+        if (required < 0) {
+            return 1f;
+        }
+        if (location < 0) {
+            return UNKNOWN_FIT;
+        }
+        return required == location ? 1f : 0f;
+    }
+
+    /**
+     * The city part of a location ("Berlin, Germany" -> "berlin"), null if blank
+     */
+    private static String normalizeLocation(String location) {
+        if (location == null) {
+            return null;
+        }
+        int comma = location.indexOf(',');
+        String city = (comma >= 0 ? location.substring(0, comma) : location).trim().toLowerCase(Locale.ROOT);
+        return city.isEmpty() ? null : city;
+    }
+
+    private static float toFloat(Double value) {
+        return value == null ? Float.NaN : value.floatValue();
+    }
+
+    /**
+     * A scored talent
+     * @param talentId The talent ID
+     * @param score The match score, from 0 to 1
+     */
+    public record Match(int talentId, float score) {
+    }
+
+    /**
+     * Requisition criteria translated to the ordinals of one tenant
+     */
+    private record CompiledCriteria(int[] skills, float salaryMin, float salaryMax, int location) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CompiledCriteria that
+                    && Arrays.equals(skills, that.skills)
+                    && Float.compare(salaryMin, that.salaryMin) == 0
+                    && Float.compare(salaryMax, that.salaryMax) == 0
+                    && location == that.location;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.hashCode(skills), salaryMin, salaryMax, location);
+        }
+    }
+
+    private record CachedScores(CompiledCriteria criteria, float[] scores) {
+    }
+
+    /**
+     * Talent attributes of a single tenant, one slot per talent.
+     * Slots of deleted talents are reused; their talent ID is 0.
+     */
+    private static class TenantMatrix {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Ordinals are only ever added, so criteria compiled earlier stay valid
+        private final Map<String, Integer> skillOrdinals = new ConcurrentHashMap<>();
+        private final Map<String, Integer> locationOrdinals = new ConcurrentHashMap<>();
+        private final AtomicInteger nextSkillOrdinal = new AtomicInteger();
+        private final AtomicInteger nextLocationOrdinal = new AtomicInteger();
+        private final Map<Integer, CachedScores> scores = new ConcurrentHashMap<>();
+
+        private final Map<Integer, Integer> slotByTalentId = new HashMap<>();
+        private int[] talentIds = new int[INITIAL_CAPACITY];
+        private int[][] skills = new int[INITIAL_CAPACITY][];
+        private float[] salaries = new float[INITIAL_CAPACITY];
+        private int[] locations = new int[INITIAL_CAPACITY];
+        private int size;
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+
+        int skillOrdinal(String skill) {
+            return skillOrdinals.computeIfAbsent(skill, key -> nextSkillOrdinal.getAndIncrement());
+        }
+
+        int locationOrdinal(String location) {
+            String city = normalizeLocation(location);
+            return city == null ? -1 : locationOrdinals.computeIfAbsent(city, key -> nextLocationOrdinal.getAndIncrement());
+        }
+
+        CompiledCriteria compile(MatchCriteria criteria) {
+            int[] required = new int[criteria.skills().size()];
+            int i = 0;
+            for (String skill : criteria.skills()) {
+                required[i++] = skillOrdinal(skill);
+            }
+            Arrays.sort(required);
+            return new CompiledCriteria(
+                    required,
+                    toFloat(criteria.salaryMin()),
+                    toFloat(criteria.salaryMax()),
+                    locationOrdinal(criteria.location()));
+        }
+
+        void put(int talentId, Set<String> skillNames, Double salary, String location) {
+            int[] ordinals = new int[skillNames.size()];
+            int i = 0;
+            for (String skill : skillNames) {
+                ordinals[i++] = skillOrdinal(skill);
+            }
+            Arrays.sort(ordinals);
+            int slot = putOrdinals(talentId, ordinals, salary, location);
+
+            // Incremental rescoring: only this talent's slot changes in every cached requisition
+            for (CachedScores cached : scores.values()) {
+                cached.scores[slot] = score(cached.criteria, skills[slot], salaries[slot], locations[slot]);
+            }
+        }
+
+        int putOrdinals(int talentId, int[] ordinals, Double salary, String location) {
+            Integer existing = slotByTalentId.get(talentId);
+            int slot = existing != null ? existing : allocateSlot();
+            talentIds[slot] = talentId;
+            skills[slot] = ordinals;
+            salaries[slot] = toFloat(salary);
+            locations[slot] = locationOrdinal(location);
+            slotByTalentId.put(talentId, slot);
+            return slot;
+        }
+
+        void remove(int talentId) {
+            Integer slot = slotByTalentId.remove(talentId);
+            if (slot == null) {
+                return;
+            }
+            talentIds[slot] = 0;
+            skills[slot] = null;
+            for (CachedScores cached : scores.values()) {
+                cached.scores[slot] = NO_TALENT;
+            }
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+
+        private int allocateSlot() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            if (size == talentIds.length) {
+                int capacity = size * 2;
+                talentIds = Arrays.copyOf(talentIds, capacity);
+                skills = Arrays.copyOf(skills, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                locations = Arrays.copyOf(locations, capacity);
+                // Cached scores grow with the matrix, new slots start empty
+                for (Map.Entry<Integer, CachedScores> entry : scores.entrySet()) {
+                    float[] grown = Arrays.copyOf(entry.getValue().scores, capacity);
+                    Arrays.fill(grown, size, capacity, NO_TALENT);
+                    entry.setValue(new CachedScores(entry.getValue().criteria, grown));
+                }
+            }
+            return size++;
+        }
+    }
+
+    /**
+     * Scores a range of slots, splitting it in halves down to PARTITION_SIZE
+     */
+    private static class ScoreTask extends RecursiveAction {
+
+        private final TenantMatrix matrix;
+        private final CompiledCriteria criteria;
+        private final float[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(TenantMatrix matrix, CompiledCriteria criteria, float[] scores, int from, int to) {
+            this.matrix = matrix;
+            this.criteria = criteria;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARTITION_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreTask(matrix, criteria, scores, from, middle),
+                        new ScoreTask(matrix, criteria, scores, middle, to));
+                return;
+            }
+            int[] talentIds = matrix.talentIds;
+            int[][] skills = matrix.skills;
+            float[] salaries = matrix.salaries;
+            int[] locations = matrix.locations;
+            for (int slot = from; slot < to; slot++) {
+                scores[slot] = talentIds[slot] == 0
+                        ? NO_TALENT
+                        : score(criteria, skills[slot], salaries[slot], locations[slot]);
+            }
+        }
+    }
+
+    /**
+     * Selects the top k slots of a range, merging the results of both halves
+     */
+    private static class TopKTask extends RecursiveTask<TopK> {
+
+        private final float[] scores;
+        private final int k;
+        private final float minScore;
+        private final int from;
+        private final int to;
+
+        TopKTask(float[] scores, int k, float minScore, int from, int to) {
+            this.scores = scores;
+            this.k = k;
+            this.minScore = minScore;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from > PARTITION_SIZE) {
+                int middle = (from + to) >>> 1;
+                TopKTask left = new TopKTask(scores, k, minScore, from, middle);
+                left.fork();
+                TopK right = new TopKTask(scores, k, minScore, middle, to).compute();
+                TopK merged = left.join();
+                for (int i = 0; i < right.count; i++) {
+                    merged.offer(right.slots[i], right.scores[i]);
+                }
+                return merged;
+            }
+            TopK top = new TopK(k);
+            for (int slot = from; slot < to; slot++) {
+                if (scores[slot] >= minScore) {
+                    top.offer(slot, scores[slot]);
+                }
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Bounded min-heap of (slot, score) pairs on parallel primitive arrays
+     */
+    private static class TopK {
+
+        private final int[] slots;
+        private final float[] scores;
+        private int count;
+
+        TopK(int k) {
+            this.slots = new int[k];
+            this.scores = new float[k];
+        }
+
+        void offer(int slot, float score) {
+            if (count < slots.length) {
+                slots[count] = slot;
+                scores[count] = score;
+                siftUp(count++);
+            } else if (count > 0 && score > scores[0]) {
+                slots[0] = slot;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        void pop() {
+            count--;
+            slots[0] = slots[count];
+            scores[0] = scores[count];
+            siftDown(0);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < count && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < count && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int slot = slots[i];
+            slots[i] = slots[j];
+            slots[j] = slot;
+            float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
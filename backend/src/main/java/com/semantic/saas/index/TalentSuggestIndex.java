@@ -0,0 +1,314 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, per-tenant autocomplete index over names, skills, positions and locations.
+ * Each kind of term lives in a radix trie weighted by the number of talents that use the term.
+ * A tenant is loaded on first use and then kept current from committed TalentChangedEvents.
+ * Residency is bounded by {@link TenantIndexes}.
+ */
+@Component
+public class TalentSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentSuggestIndex.class);
+
+    private static final int MAX_TERM_LENGTH = 100;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    private final TalentRepository talentRepository;
+    private final TenantIndexes<TenantTries> tenants;
+
+    public TalentSuggestIndex(
+            TalentRepository talentRepository,
+            @Value("${talent.indexes.max-tenants:200}") long maxTenants,
+            @Value("${talent.indexes.idle-minutes:60}") long idleMinutes) {
+        this.talentRepository = talentRepository;
+        this.tenants = new TenantIndexes<>("suggest-index", maxTenants, Duration.ofMinutes(idleMinutes), this::load);
+    }
+
+    /**
+     * Complete a prefix with the most used terms of a tenant
+     * @param customerId The customer ID
+     * @param prefix The typed prefix, case-insensitive
+     * @param kinds The kinds of terms to suggest
+     * @param limit The maximum number of suggestions
+     * @return The suggestions, most used first
+     */
+    public List<Suggestion> suggest(Integer customerId, String prefix, Set<Kind> kinds, int limit) {
+        String key = normalize(prefix);
+        if (key == null) {
+            return List.of();
+        }
+
+        TenantTries index = tenants.get(customerId);
+        List<Suggestion> suggestions = new ArrayList<>();
+        index.lock.readLock().lock();
+        try {
+            for (Kind kind : kinds) {
+                for (RadixTrie.Entry entry : index.tries.get(kind).topK(key, limit)) {
+                    suggestions.add(new Suggestion(entry.display(), kind, entry.weight()));
+                }
+            }
+        } finally {
+            index.lock.readLock().unlock();
+        }
+
+        suggestions.sort(Comparator.comparingInt(Suggestion::count).reversed().thenComparing(Suggestion::text));
+        return suggestions.size() > limit ? suggestions.subList(0, limit) : suggestions;
+    }
+
+    @PreDestroy
+    public void close() {
+        tenants.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        Map<Kind, Set<String>> terms = event.type() == TalentChangedEvent.ChangeType.DELETED
+                ? null
+                : terms(event.talent(), SkillNormalizer.normalize(event.talent().getSkills()));
+        tenants.update(event.customerId(), index -> {
+            index.lock.writeLock().lock();
+            try {
+                index.remove(event.talentId());
+                if (terms != null) {
+                    index.put(event.talentId(), terms);
+                }
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        List<Integer> ids = event.talentIds();
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IMPORT_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(ids.size(), from + IMPORT_BATCH_SIZE)));
+        }
+        tenants.updateInBackground(event.customerId(), batches, (index, batch) -> {
+            List<Talent> talents = talentRepository.findAllByCustomerIdAndIdIn(event.customerId(), batch);
+            index.lock.writeLock().lock();
+            try {
+                for (Talent talent : talents) {
+                    index.remove(talent.getId());
+                    index.put(talent.getId(), terms(talent, SkillNormalizer.normalize(talent.getSkills())));
+                }
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            tenants.invalidateAll();
+        } else {
+            tenants.invalidate(event.customerId());
+        }
+    }
+
+    private TenantTries load(Integer customerId) {
+        long start = System.currentTimeMillis();
+        TenantTries index = new TenantTries();
+
+        Map<Integer, Set<String>> skillsById = new HashMap<>();
+        for (Object[] row : talentRepository.findSkillPairsByCustomerId(customerId)) {
+            skillsById.computeIfAbsent((Integer) row[0], id -> new LinkedHashSet<>()).add((String) row[1]);
+        }
+
+        for (Object[] row : talentRepository.findSuggestAttributesByCustomerId(customerId)) {
+            Talent talent = new Talent();
+            talent.setFirstName((String) row[1]);
+            talent.setLastName((String) row[2]);
+            talent.setCurrentPosition((String) row[3]);
+            talent.setDesiredPosition((String) row[4]);
+            talent.setLocation((String) row[5]);
+            Integer talentId = (Integer) row[0];
+            index.put(talentId, terms(talent, skillsById.getOrDefault(talentId, Set.of())));
+        }
+
+        logger.debug("Loaded suggest index for tenant {}: {} talents in {} ms",
+                customerId, index.ordinalsByTalentId.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private static Map<Kind, Set<String>> terms(Talent talent, Set<String> skills) {
+        Map<Kind, Set<String>> terms = new EnumMap<>(Kind.class);
+        Set<String> names = new LinkedHashSet<>();
+        addTerm(names, talent.getFirstName());
+        addTerm(names, talent.getLastName());
+        if (talent.getFirstName() != null && talent.getLastName() != null) {
+            addTerm(names, talent.getFirstName() + " " + talent.getLastName());
+        }
+        terms.put(Kind.NAME, names);
+
+        Set<String> skillTerms = new LinkedHashSet<>();
+        skills.forEach(skill -> addTerm(skillTerms, skill));
+        terms.put(Kind.SKILL, skillTerms);
+
+        Set<String> positions = new LinkedHashSet<>();
+        addTerm(positions, talent.getCurrentPosition());
+        addTerm(positions, talent.getDesiredPosition());
+        terms.put(Kind.POSITION, positions);
+
+        Set<String> locations = new LinkedHashSet<>();
+        addTerm(locations, talent.getLocation());
+        terms.put(Kind.LOCATION, locations);
+        return terms;
+    }
+
+    private static void addTerm(Set<String> terms, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String display = value.trim().replaceAll("\\s+", " ");
+        terms.add(display.length() > MAX_TERM_LENGTH ? display.substring(0, MAX_TERM_LENGTH) : display);
+    }
+
+    /**
+     * The trie key of a term: lower case with collapsed whitespace, null if blank
+     */
+    private static String normalize(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        return term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Kinds of suggested terms
+     */
+    public enum Kind {
+        NAME,
+        SKILL,
+        POSITION,
+        LOCATION
+    }
+
+    /**
+     * An autocomplete suggestion
+     * @param text The term
+     * @param kind What the term is
+     * @param count The number of talents that use the term
+     */
+    public record Suggestion(String text, Kind kind, int count) {
+    }
+
+    /**
+     * Tries of a single tenant, plus the term ordinals of each talent so its terms can be withdrawn on change.
+     * Every distinct term is held once, shared with the trie, and talents only keep an int per term.
+     */
+    private static class TenantTries {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Kind, RadixTrie> tries = new EnumMap<>(Kind.class);
+        private final Map<Kind, Map<String, Integer>> ordinals = new EnumMap<>(Kind.class);
+        private final Map<Integer, int[]> ordinalsByTalentId = new HashMap<>();
+        // Per ordinal; ordinals of terms no talent uses any more are reused
+        private String[] terms = new String[1024];
+        private Kind[] kinds = new Kind[1024];
+        private int[] counts = new int[1024];
+        private int size;
+        private int[] freeOrdinals = new int[16];
+        private int freeCount;
+
+        TenantTries() {
+            for (Kind kind : Kind.values()) {
+                tries.put(kind, new RadixTrie());
+                ordinals.put(kind, new HashMap<>());
+            }
+        }
+
+        void put(int talentId, Map<Kind, Set<String>> talentTerms) {
+            int[] talentOrdinals = new int[talentTerms.values().stream().mapToInt(Set::size).sum()];
+            int i = 0;
+            for (Map.Entry<Kind, Set<String>> entry : talentTerms.entrySet()) {
+                RadixTrie trie = tries.get(entry.getKey());
+                for (String term : entry.getValue()) {
+                    int ordinal = acquire(entry.getKey(), term);
+                    talentOrdinals[i++] = ordinal;
+                    trie.add(normalize(term), terms[ordinal], 1);
+                }
+            }
+            ordinalsByTalentId.put(talentId, talentOrdinals);
+        }
+
+        void remove(int talentId) {
+            int[] talentOrdinals = ordinalsByTalentId.remove(talentId);
+            if (talentOrdinals == null) {
+                return;
+            }
+            for (int ordinal : talentOrdinals) {
+                String term = terms[ordinal];
+                tries.get(kinds[ordinal]).add(normalize(term), term, -1);
+                release(ordinal);
+            }
+        }
+
+        private int acquire(Kind kind, String term) {
+            Integer existing = ordinals.get(kind).get(term);
+            if (existing != null) {
+                counts[existing]++;
+                return existing;
+            }
+            int ordinal;
+            if (freeCount > 0) {
+                ordinal = freeOrdinals[--freeCount];
+            } else {
+                if (size == terms.length) {
+                    terms = Arrays.copyOf(terms, size * 2);
+                    kinds = Arrays.copyOf(kinds, size * 2);
+                    counts = Arrays.copyOf(counts, size * 2);
+                }
+                ordinal = size++;
+            }
+            terms[ordinal] = term;
+            kinds[ordinal] = kind;
+            counts[ordinal] = 1;
+            ordinals.get(kind).put(term, ordinal);
+            return ordinal;
+        }
+
+        private void release(int ordinal) {
+            if (--counts[ordinal] > 0) {
+                return;
+            }
+            ordinals.get(kinds[ordinal]).remove(terms[ordinal]);
+            terms[ordinal] = null;
+            kinds[ordinal] = null;
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.Talent;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns talent profiles and queries into dense, L2-normalized vectors without any model download or network call.
+ * Uses signed feature hashing of words and word pairs with sublinear term frequency and per-field weights,
+ * so a vector only depends on its own text and can be computed incrementally on every write.
+ */
+class TalentTextEncoder {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with", "years", "year"
+    );
+    private static final float BIGRAM_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    TalentTextEncoder(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("Vector dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Encode a talent profile
+     * @param talent The talent
+     * @return The normalized vector, all zeros if the profile has no text
+     */
+    float[] encode(Talent talent) {
+        Map<String, Float> features = new HashMap<>();
+        addField(features, talent.getSkills(), 2.0f);
+        addField(features, talent.getCurrentPosition(), 1.5f);
+        addField(features, talent.getDesiredPosition(), 1.5f);
+        addField(features, talent.getExperience(), 1.0f);
+        addField(features, talent.getEducation(), 0.7f);
+        addField(features, talent.getNotes(), 0.5f);
+        addField(features, talent.getLocation(), 0.5f);
+        return toVector(features);
+    }
+
+    /**
+     * Encode a free-text query
+     * @param text The query
+     * @return The normalized vector, all zeros if the query has no usable terms
+     */
+    float[] encode(String text) {
+        Map<String, Float> features = new HashMap<>();
+        addField(features, text, 1.0f);
+        return toVector(features);
+    }
+
+    private void addField(Map<String, Float> features, String text, float weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+
+        Map<String, Integer> unigrams = new HashMap<>();
+        Map<String, Integer> bigrams = new HashMap<>();
+        String previous = null;
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() < 2 || STOP_WORDS.contains(token)) {
+                previous = null;
+                continue;
+            }
+            unigrams.merge(token, 1, Integer::sum);
+            if (previous != null) {
+                bigrams.merge(previous + ' ' + token, 1, Integer::sum);
+            }
+            previous = token;
+        }
+
+        // Dampen repeated terms before weighting so one long field cannot dominate the profile,
+        // while a single mention keeps exactly its field weight
+        unigrams.forEach((term, count) -> features.merge(term, weight * sublinear(count), Float::sum));
+        bigrams.forEach((term, count) -> features.merge(term, weight * BIGRAM_WEIGHT * sublinear(count), Float::sum));
+    }
+
+    private static float sublinear(int count) {
+        return (float) (1 + Math.log(count));
+    }
+
+    private float[] toVector(Map<String, Float> features) {
+        float[] vector = new float[dimensions];
+        for (Map.Entry<String, Float> feature : features.entrySet()) {
+            int hash = mix(feature.getKey().hashCode());
+            float value = feature.getValue();
+            // The sign bit spreads hash collisions around zero instead of letting them add up
+            vector[Math.floorMod(hash, dimensions)] += (hash & 0x80000000) == 0 ? value : -value;
+        }
+
+        double norm = 0;
+        for (float component : vector) {
+            norm += component * component;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Murmur3 finalizer, spreads String.hashCode over all bits
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
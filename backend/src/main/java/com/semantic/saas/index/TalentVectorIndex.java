@@ -0,0 +1,224 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, per-tenant semantic index: every talent profile is encoded locally into a dense vector
+ * and kept in an HNSW graph for approximate top-k search by cosine similarity.
+ * A tenant is built from the talents table on first use and then kept current from committed TalentChangedEvents.
+ * Graphs take about 1 KB of direct memory per talent, so fewer tenants stay resident than in the other indexes.
+ * Compaction rebuilds a graph in the background while searches keep using the current one.
+ */
+@Component
+public class TalentVectorIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentVectorIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int IMPORT_BATCH_SIZE = 100;
+    private static final int MIN_SIZE_FOR_COMPACTION = 1000;
+    private static final double MAX_DELETED_RATIO = 0.3;
+
+    private final TalentRepository talentRepository;
+    private final TransactionTemplate loadTransaction;
+    private final TalentTextEncoder encoder;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final TenantIndexes<TenantVectors> tenants;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TalentVectorIndex(
+            TalentRepository talentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${talent.semantic.dimensions:256}") int dimensions,
+            @Value("${talent.semantic.m:16}") int m,
+            @Value("${talent.semantic.ef-construction:100}") int efConstruction,
+            @Value("${talent.semantic.ef-search:128}") int efSearch,
+            @Value("${talent.semantic.max-tenants:20}") long maxTenants,
+            @Value("${talent.indexes.idle-minutes:60}") long idleMinutes) {
+        this.talentRepository = talentRepository;
+        // Searches can run inside a caller's transaction; the load clears a persistence context of its own
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        this.encoder = new TalentTextEncoder(dimensions);
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.tenants = new TenantIndexes<>("vector-index", maxTenants, Duration.ofMinutes(idleMinutes), this::load);
+    }
+
+    /**
+     * Find the talents whose profiles are semantically closest to a query
+     * @param customerId The customer ID
+     * @param query The free-text query
+     * @param k The number of results
+     * @return Up to k hits, most similar first
+     */
+    public List<Hit> search(Integer customerId, String query, int k) {
+        float[] vector = encoder.encode(query);
+        if (isZero(vector)) {
+            return List.of();
+        }
+
+        TenantVectors index = tenants.get(customerId);
+        index.lock.readLock().lock();
+        try {
+            return index.graph.search(vector, k, efSearch).stream()
+                    .map(hit -> new Hit(hit.talentId(), hit.similarity()))
+                    .toList();
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a tenant so it is rebuilt from the database on next use
+     * @param customerId The customer ID
+     */
+    public void invalidate(Integer customerId) {
+        tenants.invalidate(customerId);
+    }
+
+    @PreDestroy
+    public void close() {
+        tenants.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        float[] vector = event.type() == TalentChangedEvent.ChangeType.DELETED ? null : encoder.encode(event.talent());
+        tenants.update(event.customerId(), index -> {
+            index.lock.writeLock().lock();
+            try {
+                if (vector == null || isZero(vector)) {
+                    index.graph.remove(event.talentId());
+                } else {
+                    index.graph.put(event.talentId(), vector);
+                }
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+
+            // Every update leaves a tombstone behind; rebuild once they start to slow searches down
+            if (index.graph.liveCount() >= MIN_SIZE_FOR_COMPACTION && index.graph.deletedRatio() > MAX_DELETED_RATIO) {
+                tenants.reload(event.customerId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        // Imported talents are new, so inserting them leaves no tombstones; small batches let searches in between
+        List<Integer> ids = event.talentIds();
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IMPORT_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(ids.size(), from + IMPORT_BATCH_SIZE)));
+        }
+        tenants.updateInBackground(event.customerId(), batches, (index, batch) -> {
+            for (Talent talent : talentRepository.findAllByCustomerIdAndIdIn(event.customerId(), batch)) {
+                float[] vector = encoder.encode(talent);
+                if (!isZero(vector)) {
+                    index.lock.writeLock().lock();
+                    try {
+                        index.graph.put(talent.getId(), vector);
+                    } finally {
+                        index.lock.writeLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            tenants.invalidateAll();
+        } else {
+            invalidate(event.customerId());
+        }
+    }
+
+    private TenantVectors load(Integer customerId) {
+        return loadTransaction.execute(status -> loadVectors(customerId));
+    }
+
+    private TenantVectors loadVectors(Integer customerId) {
+        long start = System.currentTimeMillis();
+        TenantVectors index = new TenantVectors(new HnswGraph(encoder.dimensions(), m, efConstruction));
+
+        Integer lastId = null;
+        List<Talent> batch;
+        do {
+            batch = talentRepository.findSlice(customerId, "id", false, lastId, lastId, LOAD_BATCH_SIZE);
+            for (Talent talent : batch) {
+                float[] vector = encoder.encode(talent);
+                if (!isZero(vector)) {
+                    index.graph.put(talent.getId(), vector);
+                }
+                lastId = talent.getId();
+            }
+            // Keep the persistence context from growing with the whole tenant
+            entityManager.clear();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        logger.debug("Loaded vector index for tenant {}: {} talents, {} off-heap bytes in {} ms",
+                customerId, index.graph.liveCount(), index.graph.offHeapBytes(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private static boolean isZero(float[] vector) {
+        for (float component : vector) {
+            if (component != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A semantic search hit
+     * @param talentId The talent ID
+     * @param similarity The cosine similarity between the profile and the query, from -1 to 1
+     */
+    public record Hit(int talentId, float similarity) {
+    }
+
+    /**
+     * HNSW graph of a single tenant
+     */
+    private static class TenantVectors {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final HnswGraph graph;
+
+        TenantVectors(HnswGraph graph) {
+            this.graph = graph;
+        }
+    }
+}
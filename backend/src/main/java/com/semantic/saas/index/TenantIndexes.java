@@ -0,0 +1,227 @@
+package com.semantic.saas.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resident in-memory indexes of the tenants in use, at most maxTenants of them; the least recently used
+ * and idle ones are dropped and loaded again on their next use.
+ * <p>
+ * A tenant is loaded by the first thread that needs it, outside any map lock: other readers of the tenant wait
+ * for that load, while readers of other tenants and change events never do. Changes that arrive during a load
+ * are queued and applied to the loaded index before anyone reads it, so a change committed after the load
+ * has read its row is not lost. Changes of tenants that are not resident are ignored; they are read with the
+ * rest of the tenant when it is loaded.
+ * <p>
+ * Reloads and large changes run on one background thread per instance, in the order they are requested.
+ * A reload keeps serving the current index until the new one has caught up with the changes made meanwhile.
+ * @param <T> The index of one tenant; it guards itself against concurrent reads and changes
+ */
+class TenantIndexes<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantIndexes.class);
+
+    private final Function<Integer, T> loader;
+    private final Cache<Integer, Tenant<T>> tenants;
+    private final ExecutorService background;
+
+    /**
+     * @param name Names the background thread
+     * @param maxTenants The maximum number of resident tenants
+     * @param idleTimeout How long a tenant stays resident without being read
+     * @param loader Loads the index of a tenant from the database
+     */
+    TenantIndexes(String name, long maxTenants, Duration idleTimeout, Function<Integer, T> loader) {
+        this.loader = loader;
+        this.tenants = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.background = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the index of a tenant, loading it if it is not resident
+     * @param customerId The customer ID
+     * @return The index
+     */
+    T get(Integer customerId) {
+        Tenant<T> tenant = tenants.get(customerId, id -> new Tenant<>());
+        if (tenant.loading.compareAndSet(false, true)) {
+            load(customerId, tenant);
+        }
+        try {
+            tenant.loaded.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return tenant.index;
+    }
+
+    /**
+     * Apply a committed change to the index of a resident tenant
+     * @param customerId The customer ID
+     * @param change Applies the change to the index
+     */
+    void update(Integer customerId, Consumer<T> change) {
+        Tenant<T> tenant = tenants.policy().getIfPresentQuietly(customerId);
+        if (tenant != null) {
+            tenant.apply(change);
+        }
+    }
+
+    /**
+     * Apply a large committed change to the index of a resident tenant on the background thread, one part at a time.
+     * Each part runs while other changes of the tenant wait, so it can read the database without overwriting
+     * a change committed meanwhile with an older row.
+     * @param customerId The customer ID
+     * @param parts The parts of the change, e.g. batches of talent IDs
+     * @param change Applies one part to the index
+     */
+    <P> void updateInBackground(Integer customerId, List<P> parts, BiConsumer<T, P> change) {
+        if (tenants.policy().getIfPresentQuietly(customerId) == null) {
+            return;
+        }
+        background.execute(() -> {
+            for (P part : parts) {
+                // Looked up again for every part, so a tenant dropped meanwhile is not updated in vain
+                Tenant<T> tenant = tenants.policy().getIfPresentQuietly(customerId);
+                if (tenant == null) {
+                    return;
+                }
+                try {
+                    tenant.apply(index -> change.accept(index, part));
+                } catch (RuntimeException e) {
+                    // The index misses the change; dropping it makes the next reader load what is committed
+                    logger.error("Failed to update index of tenant {}; dropping it", customerId, e);
+                    tenants.asMap().remove(customerId, tenant);
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Rebuild the index of a resident tenant on the background thread and swap it in once complete.
+     * Readers use the current index meanwhile. A reload that is already pending is not requested again.
+     * @param customerId The customer ID
+     */
+    void reload(Integer customerId) {
+        Tenant<T> tenant = tenants.policy().getIfPresentQuietly(customerId);
+        if (tenant == null || !tenant.loaded.isDone() || !tenant.reloading.compareAndSet(false, true)) {
+            return;
+        }
+        background.execute(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                tenant.startRecording();
+                tenant.swap(loader.apply(customerId));
+                logger.debug("Reloaded index of tenant {} in {} ms", customerId, System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                tenant.stopRecording();
+                logger.error("Failed to reload index of tenant {}", customerId, e);
+            } finally {
+                tenant.reloading.set(false);
+            }
+        });
+    }
+
+    /**
+     * Drop a tenant so it is loaded from the database on its next use
+     * @param customerId The customer ID
+     */
+    void invalidate(Integer customerId) {
+        tenants.invalidate(customerId);
+    }
+
+    void invalidateAll() {
+        tenants.invalidateAll();
+    }
+
+    /**
+     * Stop the background thread; a reload or large change still running is abandoned
+     */
+    void close() {
+        background.shutdownNow();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void load(Integer customerId, Tenant<T> tenant) {
+        T index;
+        try {
+            index = loader.apply(customerId);
+        } catch (RuntimeException | Error e) {
+            // The next reader tries again
+            tenants.asMap().remove(customerId, tenant);
+            tenant.loaded.completeExceptionally(e);
+            throw e;
+        }
+        tenant.loadedWith(index);
+    }
+
+    /**
+     * A resident tenant: its index once loaded, and the changes to apply to an index that is being loaded
+     */
+    private static class Tenant<T> {
+
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private final AtomicBoolean reloading = new AtomicBoolean();
+        private final CompletableFuture<T> loaded = new CompletableFuture<>();
+        private volatile T index;
+        // Not null while a load or reload runs
+        private List<Consumer<T>> pending = new ArrayList<>();
+
+        synchronized void apply(Consumer<T> change) {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+
+        synchronized void startRecording() {
+            pending = new ArrayList<>();
+        }
+
+        synchronized void stopRecording() {
+            pending = null;
+        }
+
+        void loadedWith(T loadedIndex) {
+            swap(loadedIndex);
+            loaded.complete(loadedIndex);
+        }
+
+        synchronized void swap(T loadedIndex) {
+            for (Consumer<T> change : pending) {
+                change.accept(loadedIndex);
+            }
+            pending = null;
+            index = loadedIndex;
+        }
+    }
+}
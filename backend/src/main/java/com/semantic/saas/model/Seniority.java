@@ -0,0 +1,11 @@
+package com.semantic.saas.model;
+
+/**
+ * Seniority levels, ordered from least to most senior
+ */
+public enum Seniority {
+    JUNIOR,
+    MID,
+    SENIOR,
+    LEAD
+}
@@ -1,15 +1,23 @@
 package com.semantic.saas.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.OptimisticLock;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "talents")
 public class Talent {
 
+    /** IDs per sequence call; must match the INCREMENT BY of talents_id_seq */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "talents_id_seq")
+    @SequenceGenerator(name = "talents_id_seq", sequenceName = "talents_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +38,13 @@ public class Talent {
     @Column(columnDefinition = "TEXT")
     private String skills;
 
+    // Derived from skills, whose changes already move the version
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "talent_skills", joinColumns = @JoinColumn(name = "talent_id"))
+    @Column(name = "skill", length = 100, nullable = false)
+    @OptimisticLock(excluded = true)
+    private Set<String> normalizedSkills = new HashSet<>();
+
     @Column(columnDefinition = "TEXT")
     private String experience;
 
@@ -67,12 +82,42 @@ public class Talent {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Derived from experience and current position at write time, see ExperienceExtractor
+    @Column(name = "total_experience_months")
+    private Integer totalExperienceMonths;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Seniority seniority;
+
+    @Column(name = "experience_ongoing", nullable = false)
+    private boolean experienceOngoing;
+
+    @Column(name = "experience_extracted_on")
+    private LocalDate experienceExtractedOn;
+
+    // Geocoded from location at write time, see Gazetteer
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 12)
+    private String geohash;
+
+    @Column(name = "location_geocoded_on")
+    private LocalDate locationGeocodedOn;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Incremented by every update; the ETag of the talent
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -141,6 +186,14 @@ public class Talent {
         this.skills = skills;
     }
 
+    public Set<String> getNormalizedSkills() {
+        return normalizedSkills;
+    }
+
+    public void setNormalizedSkills(Set<String> normalizedSkills) {
+        this.normalizedSkills = normalizedSkills;
+    }
+
     public String getExperience() {
         return experience;
     }
@@ -245,6 +298,70 @@ public class Talent {
         this.notes = notes;
     }
 
+    public Integer getTotalExperienceMonths() {
+        return totalExperienceMonths;
+    }
+
+    public void setTotalExperienceMonths(Integer totalExperienceMonths) {
+        this.totalExperienceMonths = totalExperienceMonths;
+    }
+
+    public Seniority getSeniority() {
+        return seniority;
+    }
+
+    public void setSeniority(Seniority seniority) {
+        this.seniority = seniority;
+    }
+
+    public boolean isExperienceOngoing() {
+        return experienceOngoing;
+    }
+
+    public void setExperienceOngoing(boolean experienceOngoing) {
+        this.experienceOngoing = experienceOngoing;
+    }
+
+    public LocalDate getExperienceExtractedOn() {
+        return experienceExtractedOn;
+    }
+
+    public void setExperienceExtractedOn(LocalDate experienceExtractedOn) {
+        this.experienceExtractedOn = experienceExtractedOn;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
+    public LocalDate getLocationGeocodedOn() {
+        return locationGeocodedOn;
+    }
+
+    public void setLocationGeocodedOn(LocalDate locationGeocodedOn) {
+        this.locationGeocodedOn = locationGeocodedOn;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -260,4 +377,12 @@ public class Talent {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
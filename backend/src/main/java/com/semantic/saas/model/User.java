@@ -10,7 +10,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -148,13 +149,12 @@ public class User {
         this.roles = roles;
     }
 
+    // Role.users is the inverse side and never written; touching it would load every user of the role
     public void addRole(Role role) {
         this.roles.add(role);
-        role.getUsers().add(this);
     }
 
     public void removeRole(Role role) {
         this.roles.remove(role);
-        role.getUsers().remove(this);
     }
 }
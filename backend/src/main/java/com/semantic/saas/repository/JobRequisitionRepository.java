@@ -0,0 +1,23 @@
+package com.semantic.saas.repository;
+
+import com.semantic.saas.model.JobRequisition;
+import com.semantic.saas.repository.base.TenantAwareRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JobRequisitionRepository extends JpaRepository<JobRequisition, Integer>,
+        TenantAwareRepository<JobRequisition, Integer> {
+    
+    @Query("SELECT j FROM JobRequisition j WHERE j.customer.id = :customerId")
+    Page<JobRequisition> findAllByCustomerId(@Param("customerId") Integer customerId, Pageable pageable);
+    
+    @Query("SELECT j FROM JobRequisition j WHERE j.customer.id = :customerId AND j.id = :requisitionId")
+    Optional<JobRequisition> findByIdAndCustomerId(@Param("requisitionId") Integer requisitionId, @Param("customerId") Integer customerId);
+}
@@ -0,0 +1,38 @@
+package com.semantic.saas.repository;
+
+import com.semantic.saas.dto.TalentSummary;
+import com.semantic.saas.model.Talent;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination for talents.
+ * Rows are located by the last seen (sort key, id) pair instead of an OFFSET,
+ * so the cost of a page does not grow with its depth and no COUNT query is issued.
+ */
+public interface TalentKeysetRepository {
+
+    /**
+     * Sort keys that are backed by a (customer_id, key, id) index
+     */
+    List<String> KEYSET_SORT_FIELDS = List.of("id", "createdAt", "lastName");
+
+    /**
+     * Find the talents that follow a given position in the requested order
+     * @param customerId The customer ID
+     * @param sortField The sort field, one of {@link #KEYSET_SORT_FIELDS}
+     * @param descending true to sort in descending order
+     * @param afterValue The sort key value of the last row already seen, null for the first slice
+     * @param afterId The ID of the last row already seen, null for the first slice
+     * @param limit The maximum number of rows to return
+     * @return The next talents in order
+     */
+    List<Talent> findSlice(Integer customerId, String sortField, boolean descending,
+                           Object afterValue, Integer afterId, int limit);
+
+    /**
+     * Same as {@link #findSlice} but returns summary projections instead of full entities
+     */
+    List<TalentSummary> findSummarySlice(Integer customerId, String sortField, boolean descending,
+                                         Object afterValue, Integer afterId, int limit);
+}
@@ -0,0 +1,116 @@
+package com.semantic.saas.repository;
+
+import com.semantic.saas.dto.TalentSummary;
+import com.semantic.saas.model.Talent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria based implementation of {@link TalentKeysetRepository}.
+ */
+public class TalentKeysetRepositoryImpl implements TalentKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Talent> findSlice(Integer customerId, String sortField, boolean descending,
+                                  Object afterValue, Integer afterId, int limit) {
+        return findSlice(Talent.class, (cb, root) -> root,
+                customerId, sortField, descending, afterValue, afterId, limit);
+    }
+
+    @Override
+    public List<TalentSummary> findSummarySlice(Integer customerId, String sortField, boolean descending,
+                                                Object afterValue, Integer afterId, int limit) {
+        return findSlice(TalentSummary.class, (cb, root) -> cb.construct(TalentSummary.class,
+                        root.get("id"),
+                        root.get("firstName"),
+                        root.get("lastName"),
+                        root.get("email"),
+                        root.get("phone"),
+                        root.get("location"),
+                        root.get("currentPosition"),
+                        root.get("desiredPosition"),
+                        root.get("availability"),
+                        root.get("salaryExpectation"),
+                        cb.substring(root.get("skills"), 1, TalentSummary.SKILLS_PREVIEW_LENGTH),
+                        root.get("createdAt"),
+                        root.get("updatedAt")),
+                customerId, sortField, descending, afterValue, afterId, limit);
+    }
+
+    private <R> List<R> findSlice(Class<R> resultType,
+                                  BiFunction<CriteriaBuilder, Root<Talent>, Selection<? extends R>> selection,
+                                  Integer customerId, String sortField, boolean descending,
+                                  Object afterValue, Integer afterId, int limit) {
+        if (!KEYSET_SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for sort field: " + sortField);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultType);
+        Root<Talent> root = query.from(Talent.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("customer").get("id"), customerId));
+
+        Path<Integer> id = root.get("id");
+        if (afterId != null) {
+            predicates.add(seekPredicate(cb, root, sortField, descending, afterValue, afterId));
+        }
+
+        query.select(selection.apply(cb, root)).where(predicates.toArray(new Predicate[0]));
+        if ("id".equals(sortField)) {
+            query.orderBy(descending ? cb.desc(id) : cb.asc(id));
+        } else {
+            Path<?> key = root.get(sortField);
+            query.orderBy(
+                    descending ? cb.desc(key) : cb.asc(key),
+                    descending ? cb.desc(id) : cb.asc(id)
+            );
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Build the predicate that skips everything up to and including the last seen row.
+     * The redundant "key >= value" bound lets Postgres start the index range scan at the cursor
+     * instead of filtering from the start of the tenant.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Talent> root, String sortField, boolean descending,
+                                    Object afterValue, Integer afterId) {
+        Path<Integer> id = root.get("id");
+        if ("id".equals(sortField)) {
+            return descending ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId);
+        }
+
+        Expression<Comparable> key = root.get(sortField);
+        Comparable value = (Comparable) afterValue;
+        if (descending) {
+            return cb.and(
+                    cb.lessThanOrEqualTo(key, value),
+                    cb.or(cb.lessThan(key, value), cb.lessThan(id, afterId))
+            );
+        }
+        return cb.and(
+                cb.greaterThanOrEqualTo(key, value),
+                cb.or(cb.greaterThan(key, value), cb.greaterThan(id, afterId))
+        );
+    }
+}
@@ -1,19 +1,42 @@
 package com.semantic.saas.repository;
 
+import com.semantic.saas.dto.TalentSummary;
 import com.semantic.saas.model.Talent;
 import com.semantic.saas.repository.base.TenantAwareRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TalentRepository extends JpaRepository<Talent, Integer>, TenantAwareRepository<Talent, Integer> {
+public interface TalentRepository extends JpaRepository<Talent, Integer>, TenantAwareRepository<Talent, Integer>,
+        JpaSpecificationExecutor<Talent>, TalentKeysetRepository {
+    
+    /**
+     * Combined tsquery: an empty half is ignored by the && operator
+     */
+    String FULL_TEXT_QUERY = "(SELECT websearch_to_tsquery('english', :text) && to_tsquery('english', :prefix) AS q) query";
+    
+    /**
+     * Top-N value counts per facet over a "matched" CTE of talents, in one grouped statement
+     */
+    String FACET_COUNTS = ", facets AS ("
+            + "SELECT 'skills' AS facet, s.skill AS value, COUNT(*) AS cnt FROM matched m JOIN talent_skills s ON s.talent_id = m.id GROUP BY s.skill "
+            + "UNION ALL SELECT 'location', m.location, COUNT(*) FROM matched m WHERE m.location IS NOT NULL GROUP BY m.location "
+            + "UNION ALL SELECT 'availability', m.availability, COUNT(*) FROM matched m WHERE m.availability IS NOT NULL GROUP BY m.availability "
+            + "UNION ALL SELECT 'desiredPosition', m.desired_position, COUNT(*) FROM matched m WHERE m.desired_position IS NOT NULL GROUP BY m.desired_position) "
+            + "SELECT facet, value, cnt FROM ("
+            + "SELECT facet, value, cnt, ROW_NUMBER() OVER (PARTITION BY facet ORDER BY cnt DESC, value) AS rn FROM facets) ranked "
+            + "WHERE rn <= :limit ORDER BY facet, cnt DESC, value";
     
     @Query("SELECT t FROM Talent t WHERE t.customer.id = :customerId")
     List<Talent> findAllByCustomerId(@Param("customerId") Integer customerId);
@@ -24,8 +47,145 @@ public interface TalentRepository extends JpaRepository<Talent, Integer>, Tenant
     @Query("SELECT t FROM Talent t WHERE t.customer.id = :customerId AND t.id = :talentId")
     Optional<Talent> findByIdAndCustomerId(@Param("talentId") Integer talentId, @Param("customerId") Integer customerId);
     
-    @Query("SELECT t FROM Talent t WHERE t.customer.id = :customerId AND (LOWER(t.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(t.skills) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Talent> search(@Param("customerId") Integer customerId, @Param("keyword") String keyword, Pageable pageable);
+    @Query(value = "SELECT new com.semantic.saas.dto.TalentSummary(t.id, t.firstName, t.lastName, t.email, t.phone, t.location, t.currentPosition, t.desiredPosition, t.availability, t.salaryExpectation, SUBSTRING(t.skills, 1, 255), t.createdAt, t.updatedAt) FROM Talent t WHERE t.customer.id = :customerId",
+           countQuery = "SELECT COUNT(t) FROM Talent t WHERE t.customer.id = :customerId")
+    Page<TalentSummary> findSummariesByCustomerId(@Param("customerId") Integer customerId, Pageable pageable);
+    
+    /**
+     * Overwrite a talent only if it still has one of the given versions, and increment its version.
+     * The check and the write are one statement, so there is no window for a concurrent update to slip in.
+     * @param talentId the talent ID
+     * @param customerId the customer ID
+     * @param versions the versions the caller expects, from If-Match
+     * @param talent the new values, including derived columns and updatedAt
+     * @return 1 if the talent was updated, 0 if it does not exist or has another version
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Talent t SET t.firstName = :#{#talent.firstName}, t.lastName = :#{#talent.lastName}, "
+            + "t.email = :#{#talent.email}, t.phone = :#{#talent.phone}, t.skills = :#{#talent.skills}, "
+            + "t.experience = :#{#talent.experience}, t.education = :#{#talent.education}, "
+            + "t.dateOfBirth = :#{#talent.dateOfBirth}, t.location = :#{#talent.location}, "
+            + "t.linkedinUrl = :#{#talent.linkedinUrl}, t.githubUrl = :#{#talent.githubUrl}, "
+            + "t.portfolioUrl = :#{#talent.portfolioUrl}, t.resumeUrl = :#{#talent.resumeUrl}, "
+            + "t.currentPosition = :#{#talent.currentPosition}, t.desiredPosition = :#{#talent.desiredPosition}, "
+            + "t.salaryExpectation = :#{#talent.salaryExpectation}, t.availability = :#{#talent.availability}, "
+            + "t.notes = :#{#talent.notes}, t.totalExperienceMonths = :#{#talent.totalExperienceMonths}, "
+            + "t.seniority = :#{#talent.seniority}, t.experienceOngoing = :#{#talent.experienceOngoing}, "
+            + "t.experienceExtractedOn = :#{#talent.experienceExtractedOn}, t.latitude = :#{#talent.latitude}, "
+            + "t.longitude = :#{#talent.longitude}, t.geohash = :#{#talent.geohash}, "
+            + "t.locationGeocodedOn = :#{#talent.locationGeocodedOn}, t.updatedAt = :#{#talent.updatedAt}, "
+            + "t.version = t.version + 1 "
+            + "WHERE t.id = :talentId AND t.customer.id = :customerId AND t.version IN :versions")
+    int updateIfVersion(@Param("talentId") Integer talentId, @Param("customerId") Integer customerId,
+                        @Param("versions") Collection<Long> versions, @Param("talent") Talent talent);
+    
+    @Query("SELECT t FROM Talent t WHERE t.customer.id = :customerId AND t.id IN :ids")
+    List<Talent> findAllByCustomerIdAndIdIn(@Param("customerId") Integer customerId, @Param("ids") Collection<Integer> ids);
+
+    // Emails are unique across all tenants
+    @Query("SELECT t.email FROM Talent t WHERE t.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT new com.semantic.saas.dto.TalentSummary(t.id, t.firstName, t.lastName, t.email, t.phone, t.location, t.currentPosition, t.desiredPosition, t.availability, t.salaryExpectation, SUBSTRING(t.skills, 1, 255), t.createdAt, t.updatedAt) FROM Talent t WHERE t.customer.id = :customerId AND t.id IN :ids")
+    List<TalentSummary> findSummariesByCustomerIdAndIdIn(@Param("customerId") Integer customerId, @Param("ids") Collection<Integer> ids);
+    
+    /**
+     * Full-text search over the weighted search_vector column, best matches first.
+     * Only IDs are selected so the GIN index does the work; callers fetch the rows they need.
+     * @param customerId the customer ID
+     * @param text the websearch_to_tsquery part of the query (words, "phrases", or, -exclusions)
+     * @param prefix the to_tsquery prefix part of the query (e.g. "kube:*"), may be empty
+     * @param pageable the page to return
+     * @return a page of matching talent IDs ordered by rank
+     */
+    @Query(value = "SELECT t.id FROM talents t, " + FULL_TEXT_QUERY + " WHERE t.customer_id = :customerId AND t.search_vector @@ query.q ORDER BY ts_rank(t.search_vector, query.q) DESC, t.id",
+           countQuery = "SELECT COUNT(*) FROM talents t, " + FULL_TEXT_QUERY + " WHERE t.customer_id = :customerId AND t.search_vector @@ query.q",
+           nativeQuery = true)
+    Page<Integer> searchRankedIds(@Param("customerId") Integer customerId, @Param("text") String text, @Param("prefix") String prefix, Pageable pageable);
+    
+    /**
+     * Full-text search in ID order, for cursor pagination
+     * @param customerId the customer ID
+     * @param text the websearch_to_tsquery part of the query
+     * @param prefix the to_tsquery prefix part of the query, may be empty
+     * @param afterId the last ID already returned, 0 for the first slice
+     * @param limit the maximum number of IDs to return
+     * @return the matching talent IDs after afterId
+     */
+    @Query(value = "SELECT t.id FROM talents t, " + FULL_TEXT_QUERY + " WHERE t.customer_id = :customerId AND t.search_vector @@ query.q AND t.id > :afterId ORDER BY t.id LIMIT :limit",
+           nativeQuery = true)
+    List<Integer> searchIdsAfter(@Param("customerId") Integer customerId, @Param("text") String text, @Param("prefix") String prefix, @Param("afterId") Integer afterId, @Param("limit") int limit);
+    
+    /**
+     * Set the pg_trgm similarity threshold used by the % operator for the current transaction
+     * @param threshold the threshold between 0 and 1
+     * @return the new setting
+     */
+    @Query(value = "SELECT set_config('pg_trgm.similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setSimilarityThreshold(@Param("threshold") String threshold);
+    
+    /**
+     * Typo-tolerant lookup on first name, last name and email, served by the trigram indexes.
+     * Matches are rows where any of the three columns is above the transaction's similarity threshold.
+     * @param customerId the customer ID
+     * @param term the (possibly misspelled) search term
+     * @param limit the maximum number of IDs to return
+     * @return the matching talent IDs, most similar first
+     */
+    @Query(value = "SELECT t.id FROM talents t WHERE t.customer_id = :customerId AND (t.first_name % :term OR t.last_name % :term OR t.email % :term) ORDER BY GREATEST(similarity(t.first_name, :term), similarity(t.last_name, :term), similarity(t.email, :term)) DESC, t.id LIMIT :limit",
+           nativeQuery = true)
+    List<Integer> findSimilarIds(@Param("customerId") Integer customerId, @Param("term") String term, @Param("limit") int limit);
+    
+    @Query("SELECT t.id FROM Talent t WHERE t.customer.id = :customerId")
+    List<Integer> findIdsByCustomerId(@Param("customerId") Integer customerId);
+    
+    @Query("SELECT t.id, t.firstName, t.lastName, t.currentPosition, t.desiredPosition, t.location FROM Talent t WHERE t.customer.id = :customerId")
+    List<Object[]> findSuggestAttributesByCustomerId(@Param("customerId") Integer customerId);
+    
+    @Query("SELECT t.id, t.salaryExpectation, t.location FROM Talent t WHERE t.customer.id = :customerId")
+    List<Object[]> findMatchAttributesByCustomerId(@Param("customerId") Integer customerId);
+    
+    @Query("SELECT t.id, t.version FROM Talent t WHERE t.customer.id = :customerId")
+    List<Object[]> findIdsAndVersionsByCustomerId(@Param("customerId") Integer customerId);
+    
+    /**
+     * Find talents of all customers whose derived columns are missing,
+     * or whose open-ended experience was extracted before a date
+     * @param afterId only talents with a greater ID
+     * @param staleBefore open-ended extractions before this date are outdated
+     * @param pageable the batch size; sorting is by ID
+     * @return the talents
+     */
+    @Query("SELECT t FROM Talent t WHERE t.id > :afterId AND (t.experienceExtractedOn IS NULL "
+            + "OR (t.experienceOngoing = true AND t.experienceExtractedOn < :staleBefore) "
+            + "OR t.locationGeocodedOn IS NULL) ORDER BY t.id")
+    List<Talent> findWithOutdatedDerivedAttributes(@Param("afterId") Integer afterId,
+                                                   @Param("staleBefore") LocalDate staleBefore, Pageable pageable);
+    
+    /**
+     * Find every (talent ID, normalized skill) pair of a customer
+     * @param customerId the customer ID
+     * @return rows of [Integer talentId, String skill]
+     */
+    @Query("SELECT t.id, s FROM Talent t JOIN t.normalizedSkills s WHERE t.customer.id = :customerId")
+    List<Object[]> findSkillPairsByCustomerId(@Param("customerId") Integer customerId);
+    
+    /**
+     * Top value counts for skills, location, availability and desired position over all talents of a customer
+     * @param customerId the customer ID
+     * @param limit the number of values to return per facet
+     * @return rows of [String facet, String value, Number count]
+     */
+    @Query(value = "WITH matched AS (SELECT t.id, t.location, t.availability, t.desired_position FROM talents t WHERE t.customer_id = :customerId)" + FACET_COUNTS,
+           nativeQuery = true)
+    List<Object[]> countFacets(@Param("customerId") Integer customerId, @Param("limit") int limit);
+    
+    /**
+     * Same as {@link #countFacets} restricted to the talents matching a full-text query
+     */
+    @Query(value = "WITH matched AS (SELECT t.id, t.location, t.availability, t.desired_position FROM talents t, " + FULL_TEXT_QUERY + " WHERE t.customer_id = :customerId AND t.search_vector @@ query.q)" + FACET_COUNTS,
+           nativeQuery = true)
+    List<Object[]> countFacetsForSearch(@Param("customerId") Integer customerId, @Param("text") String text, @Param("prefix") String prefix, @Param("limit") int limit);
     
     @Query("SELECT COUNT(t) FROM Talent t WHERE t.customer.id = :customerId")
     long countByCustomerId(@Param("customerId") Integer customerId);
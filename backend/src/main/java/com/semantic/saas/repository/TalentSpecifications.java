@@ -0,0 +1,335 @@
+package com.semantic.saas.repository;
+
+import com.semantic.saas.dto.TalentFilter;
+import com.semantic.saas.index.GeoHash;
+import com.semantic.saas.index.SkillNormalizer;
+import com.semantic.saas.model.Talent;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Compiles {@link TalentFilter} trees to JPA specifications and tells which trees an index can serve.
+ * Every supported condition has a matching (customer_id, ...) index (see V3, V6, V8, V9 and V10 migrations).
+ */
+public final class TalentSpecifications {
+
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_NODES = 64;
+    private static final int MAX_VALUES = 100;
+
+    private TalentSpecifications() {
+    }
+
+    /**
+     * Restrict talents to one customer
+     * @param customerId The customer ID
+     * @return The specification
+     */
+    public static Specification<Talent> belongsTo(Integer customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    /**
+     * Compile a filter tree
+     * @param filter The filter tree
+     * @return The specification
+     * @throws IllegalArgumentException if the tree is malformed or too large
+     */
+    public static Specification<Talent> matching(TalentFilter filter) {
+        validate(filter);
+        return (root, query, cb) -> toPredicate(filter, root, query, cb);
+    }
+
+    /**
+     * Check that a filter tree is well-formed and small enough to compile
+     * @param filter The filter tree
+     * @throws IllegalArgumentException if the tree is malformed or too large
+     */
+    public static void validate(TalentFilter filter) {
+        validate(filter, 1, new int[1]);
+    }
+
+    /**
+     * Check whether at least one index narrows down the rows a filter has to read.
+     * Negations, "has no URL" conditions, skill exclusions alone and OR branches without such a condition
+     * cannot use an index, so a tree made only of them reads every talent of the tenant.
+     * @param filter The filter tree
+     * @return true if an index can serve the filter
+     */
+    public static boolean isIndexed(TalentFilter filter) {
+        if (filter instanceof TalentFilter.And and) {
+            return and.and().stream().anyMatch(TalentSpecifications::isIndexed);
+        }
+        if (filter instanceof TalentFilter.Or or) {
+            // A bitmap OR needs an index on every branch
+            return or.or().stream().allMatch(TalentSpecifications::isIndexed);
+        }
+        if (filter instanceof TalentFilter.Not) {
+            return false;
+        }
+        if (filter instanceof TalentFilter.Salary salary) {
+            return salary.salary().min() != null || salary.salary().max() != null;
+        }
+        if (filter instanceof TalentFilter.CreatedAt createdAt) {
+            return createdAt.createdAt().from() != null || createdAt.createdAt().to() != null;
+        }
+        if (filter instanceof TalentFilter.ExperienceYears experience) {
+            return experience.experienceYears().min() != null || experience.experienceYears().max() != null;
+        }
+        if (filter instanceof TalentFilter.HasGithub hasGithub) {
+            return hasGithub.hasGithub();
+        }
+        if (filter instanceof TalentFilter.HasLinkedin hasLinkedin) {
+            return hasLinkedin.hasLinkedin();
+        }
+        if (filter instanceof TalentFilter.Skills skills) {
+            return !isEmpty(skills.skills().all()) || !isEmpty(skills.skills().any());
+        }
+        // Location, availability, desired position, seniority and radius
+        return true;
+    }
+
+    private static Predicate toPredicate(TalentFilter filter, Root<Talent> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (filter instanceof TalentFilter.And and) {
+            return cb.and(and.and().stream().map(child -> toPredicate(child, root, query, cb)).toArray(Predicate[]::new));
+        }
+        if (filter instanceof TalentFilter.Or or) {
+            return cb.or(or.or().stream().map(child -> toPredicate(child, root, query, cb)).toArray(Predicate[]::new));
+        }
+        if (filter instanceof TalentFilter.Not not) {
+            return cb.not(toPredicate(not.not(), root, query, cb));
+        }
+        if (filter instanceof TalentFilter.Salary salary) {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (salary.salary().min() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salaryExpectation"), salary.salary().min()));
+            }
+            if (salary.salary().max() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salaryExpectation"), salary.salary().max()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        }
+        if (filter instanceof TalentFilter.Location location) {
+            return cb.lower(root.get("location")).in(lowerCase(location.location()));
+        }
+        if (filter instanceof TalentFilter.Availability availability) {
+            return root.get("availability").in(availability.availability());
+        }
+        if (filter instanceof TalentFilter.DesiredPosition desiredPosition) {
+            return cb.lower(root.get("desiredPosition")).in(lowerCase(desiredPosition.desiredPosition()));
+        }
+        if (filter instanceof TalentFilter.CreatedAt createdAt) {
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (createdAt.createdAt().from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), createdAt.createdAt().from()));
+            }
+            if (createdAt.createdAt().to() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), createdAt.createdAt().to()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        }
+        if (filter instanceof TalentFilter.ExperienceYears experience) {
+            // Compared in months, the unit the derived column is stored in
+            List<Predicate> predicates = new ArrayList<>(2);
+            if (experience.experienceYears().min() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("totalExperienceMonths"),
+                        (int) Math.round(experience.experienceYears().min() * 12)));
+            }
+            if (experience.experienceYears().max() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("totalExperienceMonths"),
+                        (int) Math.round(experience.experienceYears().max() * 12)));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        }
+        if (filter instanceof TalentFilter.SeniorityLevel seniority) {
+            return root.get("seniority").in(seniority.seniority());
+        }
+        if (filter instanceof TalentFilter.Near near) {
+            return withinRadius(near.near(), root, cb);
+        }
+        if (filter instanceof TalentFilter.HasGithub hasGithub) {
+            return hasGithub.hasGithub() ? cb.isNotNull(root.get("githubUrl")) : cb.isNull(root.get("githubUrl"));
+        }
+        if (filter instanceof TalentFilter.HasLinkedin hasLinkedin) {
+            return hasLinkedin.hasLinkedin() ? cb.isNotNull(root.get("linkedinUrl")) : cb.isNull(root.get("linkedinUrl"));
+        }
+        if (filter instanceof TalentFilter.Skills skills) {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!isEmpty(skills.skills().all())) {
+                // One EXISTS per skill, each a primary key lookup on talent_skills
+                for (String skill : normalizeSkills(skills.skills().all())) {
+                    predicates.add(cb.exists(hasAnySkill(List.of(skill), root, query, cb)));
+                }
+            }
+            if (!isEmpty(skills.skills().any())) {
+                predicates.add(cb.exists(hasAnySkill(normalizeSkills(skills.skills().any()), root, query, cb)));
+            }
+            if (!isEmpty(skills.skills().none())) {
+                predicates.add(cb.not(cb.exists(hasAnySkill(normalizeSkills(skills.skills().none()), root, query, cb))));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        }
+        throw new IllegalArgumentException("Unsupported filter: " + filter);
+    }
+
+    /**
+     * Geohash prefix ranges that cover the circle, served by the (customer_id, geohash) index,
+     * followed by the exact haversine check on the few rows they return
+     */
+    private static Predicate withinRadius(TalentFilter.Circle circle, Root<Talent> root, CriteriaBuilder cb) {
+        // Ranges rather than LIKE 'prefix%': with bound parameters a generic plan cannot turn LIKE into an index range
+        Expression<String> geohash = root.get("geohash");
+        Predicate cells = cb.or(GeoHash.cover(circle.lat(), circle.lon(), circle.radiusKm()).stream()
+                .map(cell -> cb.and(
+                        cb.greaterThanOrEqualTo(geohash, cell),
+                        cb.lessThan(geohash, prefixEnd(cell))))
+                .toArray(Predicate[]::new));
+
+        double lat0 = Math.toRadians(circle.lat());
+        double lon0 = Math.toRadians(circle.lon());
+        Expression<Double> lat = cb.function("radians", Double.class, root.get("latitude"));
+        Expression<Double> lon = cb.function("radians", Double.class, root.get("longitude"));
+        Expression<Double> sinHalfDLat = cb.function("sin", Double.class, cb.quot(cb.diff(lat, lat0), 2.0));
+        Expression<Double> sinHalfDLon = cb.function("sin", Double.class, cb.quot(cb.diff(lon, lon0), 2.0));
+        Expression<Double> haversine = cb.sum(
+                cb.prod(sinHalfDLat, sinHalfDLat),
+                cb.prod(cb.prod(cb.function("cos", Double.class, lat), Math.cos(lat0)), cb.prod(sinHalfDLon, sinHalfDLon)));
+        // Compare the haversine term itself, so no asin/sqrt per row
+        double limit = Math.pow(Math.sin(circle.radiusKm() / GeoHash.EARTH_RADIUS_KM / 2), 2);
+
+        return cb.and(cells, cb.lessThanOrEqualTo(haversine, limit));
+    }
+
+    /**
+     * Smallest string greater than every string that starts with the prefix, in the byte order of the
+     * geohash column's "C" collation. Geohash characters are all below '~', so the last one can be bumped.
+     */
+    private static String prefixEnd(String prefix) {
+        return prefix.substring(0, prefix.length() - 1) + (char) (prefix.charAt(prefix.length() - 1) + 1);
+    }
+
+    private static Subquery<Integer> hasAnySkill(Collection<String> skills, Root<Talent> root,
+                                                 CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<Talent> talent = subquery.correlate(root);
+        Join<Talent, String> skill = talent.join("normalizedSkills");
+        return subquery.select(cb.literal(1)).where(skill.in(skills));
+    }
+
+    private static void validate(TalentFilter filter, int depth, int[] nodes) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be empty");
+        }
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Filter is nested deeper than " + MAX_DEPTH + " levels");
+        }
+        if (++nodes[0] > MAX_NODES) {
+            throw new IllegalArgumentException("Filter has more than " + MAX_NODES + " conditions");
+        }
+
+        if (filter instanceof TalentFilter.And and) {
+            validateChildren(and.and(), "and", depth, nodes);
+        } else if (filter instanceof TalentFilter.Or or) {
+            validateChildren(or.or(), "or", depth, nodes);
+        } else if (filter instanceof TalentFilter.Not not) {
+            validate(not.not(), depth + 1, nodes);
+        } else if (filter instanceof TalentFilter.Salary salary) {
+            validateRange(salary.salary(), "salary");
+        } else if (filter instanceof TalentFilter.CreatedAt createdAt) {
+            TalentFilter.Window window = createdAt.createdAt();
+            if (window == null || (window.from() == null && window.to() == null)
+                    || (window.from() != null && window.to() != null && !window.from().isBefore(window.to()))) {
+                throw new IllegalArgumentException("createdAt needs a from and/or to, with from < to");
+            }
+        } else if (filter instanceof TalentFilter.ExperienceYears experience) {
+            validateRange(experience.experienceYears(), "experienceYears");
+        } else if (filter instanceof TalentFilter.Near near) {
+            TalentFilter.Circle circle = near.near();
+            if (circle == null || circle.lat() == null || circle.lon() == null || circle.radiusKm() == null
+                    || Math.abs(circle.lat()) > 90 || Math.abs(circle.lon()) > 180) {
+                throw new IllegalArgumentException("near needs lat (-90..90), lon (-180..180) and radiusKm");
+            }
+            if (circle.radiusKm() <= 0 || circle.radiusKm() > GeoHash.MAX_RADIUS_KM) {
+                throw new IllegalArgumentException("radiusKm must be between 0 and " + (int) GeoHash.MAX_RADIUS_KM);
+            }
+            // Fails early for circles geohash cells cannot cover, e.g. near the poles
+            GeoHash.cover(circle.lat(), circle.lon(), circle.radiusKm());
+        } else if (filter instanceof TalentFilter.SeniorityLevel seniority) {
+            validateValues(seniority.seniority(), "seniority");
+        } else if (filter instanceof TalentFilter.Location location) {
+            validateValues(location.location(), "location");
+        } else if (filter instanceof TalentFilter.Availability availability) {
+            validateValues(availability.availability(), "availability");
+        } else if (filter instanceof TalentFilter.DesiredPosition desiredPosition) {
+            validateValues(desiredPosition.desiredPosition(), "desiredPosition");
+        } else if (filter instanceof TalentFilter.Skills skills) {
+            TalentFilter.SkillSet set = skills.skills();
+            if (set == null || (isEmpty(set.all()) && isEmpty(set.any()) && isEmpty(set.none()))) {
+                throw new IllegalArgumentException("skills needs at least one of all, any or none");
+            }
+            validateOptionalValues(set.all(), "skills.all");
+            validateOptionalValues(set.any(), "skills.any");
+            validateOptionalValues(set.none(), "skills.none");
+        }
+    }
+
+    private static void validateRange(TalentFilter.Range range, String field) {
+        if (range == null || (range.min() == null && range.max() == null)
+                || (range.min() != null && range.max() != null && range.min() > range.max())) {
+            throw new IllegalArgumentException(field + " needs a min and/or max, with min <= max");
+        }
+    }
+
+    private static void validateChildren(List<TalentFilter> children, String operator, int depth, int[] nodes) {
+        if (isEmpty(children)) {
+            throw new IllegalArgumentException(operator + " needs at least one condition");
+        }
+        for (TalentFilter child : children) {
+            validate(child, depth + 1, nodes);
+        }
+    }
+
+    private static void validateValues(List<?> values, String field) {
+        if (isEmpty(values)) {
+            throw new IllegalArgumentException(field + " needs at least one value");
+        }
+        validateOptionalValues(values, field);
+    }
+
+    private static void validateOptionalValues(List<?> values, String field) {
+        if (values == null) {
+            return;
+        }
+        if (values.size() > MAX_VALUES) {
+            throw new IllegalArgumentException(field + " accepts at most " + MAX_VALUES + " values");
+        }
+        // List.contains(null) throws on immutable lists
+        if (values.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException(field + " must not contain null values");
+        }
+    }
+
+    private static List<String> lowerCase(List<String> values) {
+        return values.stream().map(value -> value.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    private static List<String> normalizeSkills(List<String> skills) {
+        return skills.stream().map(SkillNormalizer::normalizeSkill).filter(skill -> !skill.isEmpty()).distinct().toList();
+    }
+
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+}
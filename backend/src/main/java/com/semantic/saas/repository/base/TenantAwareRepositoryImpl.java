@@ -7,6 +7,8 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
@@ -17,22 +19,40 @@ import java.util.List;
 /**
  * Implementation of TenantAwareRepository that automatically filters queries by customer ID.
  * This class intercepts queries and adds a customer ID filter based on the current tenant context.
+ * Specification queries get the tenant predicate ANDed in front of the caller's specification.
  */
 public class TenantAwareRepositoryImpl<T, ID extends Serializable> 
         extends SimpleJpaRepository<T, ID> implements TenantAwareRepository<T, ID> {
 
     private final EntityManager entityManager;
     private final JpaEntityInformation<T, ?> entityInformation;
+    private final boolean tenantScoped;
 
     public TenantAwareRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
         super(entityInformation, entityManager);
         this.entityManager = entityManager;
         this.entityInformation = entityInformation;
+        this.tenantScoped = hasCustomerAttribute(entityInformation.getJavaType(), entityManager);
     }
 
     @Override
     public List<T> findAll() {
-        return findAll(createTenantSpecification());
+        return findAll((Specification<T>) null);
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> spec) {
+        return super.findAll(withTenant(spec));
+    }
+
+    @Override
+    public Page<T> findAll(Specification<T> spec, Pageable pageable) {
+        return super.findAll(withTenant(spec), pageable);
+    }
+
+    @Override
+    public long count(Specification<T> spec) {
+        return super.count(withTenant(spec));
     }
 
     @Override
@@ -47,7 +67,7 @@ public class TenantAwareRepositoryImpl<T, ID extends Serializable>
         
         // Add the tenant predicate
         Long tenantId = TenantContext.getCurrentTenant();
-        if (tenantId != null) {
+        if (tenantScoped && tenantId != null) {
             Predicate tenantPredicate = cb.equal(root.get("customer").get("id"), tenantId);
             query.where(cb.and(idPredicate, tenantPredicate));
         } else {
@@ -58,16 +78,35 @@ public class TenantAwareRepositoryImpl<T, ID extends Serializable>
         return typedQuery.getResultList();
     }
 
+    /**
+     * Combine a specification with the current tenant filter
+     */
+    private Specification<T> withTenant(Specification<T> spec) {
+        return spec == null ? createTenantSpecification() : createTenantSpecification().and(spec);
+    }
+
     /**
      * Create a specification that filters by the current tenant ID
      */
     private Specification<T> createTenantSpecification() {
         return (root, query, cb) -> {
             Long tenantId = TenantContext.getCurrentTenant();
-            if (tenantId != null) {
+            if (tenantScoped && tenantId != null) {
                 return cb.equal(root.get("customer").get("id"), tenantId);
             }
             return null;
         };
     }
+
+    /**
+     * Check whether an entity belongs to a tenant, i.e. has a "customer" association
+     */
+    private static boolean hasCustomerAttribute(Class<?> type, EntityManager entityManager) {
+        try {
+            entityManager.getMetamodel().entity(type).getAttribute("customer");
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.semantic.saas.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds the current tenant (customer) ID to a controller method parameter.
+ * The value comes from the verified JWT via TenantContext, so no user lookup is needed.
+ * Supported parameter types are Integer, Long, int and long.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentTenant {
+}
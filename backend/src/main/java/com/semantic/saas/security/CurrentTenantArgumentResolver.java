@@ -0,0 +1,51 @@
+package com.semantic.saas.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves parameters annotated with {@link CurrentTenant} from the tenant context.
+ */
+public class CurrentTenantArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentTenant.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type == Integer.class || type == int.class || type == Long.class || type == long.class;
+    }
+
+    @Override
+    public Object resolveArgument(
+            MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory) {
+        Long tenantId = TenantContext.getCurrentTenant();
+
+        // Fall back to the attribute set by JwtAuthenticationFilter if TenantFilter was skipped
+        if (tenantId == null) {
+            Object customerId = webRequest.getAttribute("customerId", RequestAttributes.SCOPE_REQUEST);
+            if (customerId != null) {
+                tenantId = Long.valueOf(customerId.toString());
+            }
+        }
+
+        if (tenantId == null) {
+            throw new AccessDeniedException("No tenant associated with the current request");
+        }
+
+        Class<?> type = parameter.getParameterType();
+        if (type == Integer.class || type == int.class) {
+            return Math.toIntExact(tenantId);
+        }
+        return tenantId;
+    }
+}
@@ -1,30 +1,58 @@
 package com.semantic.saas.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.RoleChangedEvent;
+import com.semantic.saas.event.UserChangedEvent;
 import com.semantic.saas.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    // Email -> current authorities of an enabled user, each entry kept for one revalidation window (stateless mode only)
+    private final Cache<String, Set<String>> revalidated;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            @Value("${jwt.stateless.enabled:false}") boolean stateless,
+            @Value("${jwt.stateless.revalidate-seconds:300}") long revalidateSeconds,
+            @Value("${jwt.stateless.max-revalidated-users:100000}") long maxRevalidatedUsers) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.stateless = stateless;
+        // Entries expire one by one from when they were checked, so users never fall due all at once
+        this.revalidated = Caffeine.newBuilder()
+                .maximumSize(maxRevalidatedUsers)
+                .expireAfterWrite(Duration.ofSeconds(revalidateSeconds))
+                .build();
     }
 
     @Override
@@ -35,7 +63,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Check if Authorization header exists and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -47,20 +74,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extract username (email) from JWT token
-            userEmail = jwtService.extractUsername(jwt);
+            // Verify the token once; subject, customer ID and expiry all come from the same principal
+            JwtPrincipal principal = jwtService.verifyToken(jwt);
+            String userEmail = principal.subject();
             
             // If we have a username and no authentication exists yet
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                // Build the principal from claims in stateless mode, otherwise load user details
+                UserDetails userDetails = stateless
+                        ? loadStatelessUser(principal)
+                        : this.userDetailsService.loadUserByUsername(userEmail);
                 
                 // Add customer ID to request attributes for tenant isolation
-                Long customerId = jwtService.extractCustomerId(jwt);
-                request.setAttribute("customerId", customerId);
+                request.setAttribute("customerId", principal.customerId());
                 
-                // If token is valid, set authentication in context
-                if (jwtService.validateToken(jwt, userDetails)) {
+                // If the token belongs to this user and is still live, set authentication in context
+                if (userDetails != null
+                        && userEmail.equals(userDetails.getUsername())
+                        && !principal.isExpired(Instant.now())) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -77,4 +108,61 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Build user details from the token claims without touching the database.
+     * The user is re-checked against the database at most once per revalidation window, so a disabled user,
+     * or one whose roles changed since the token was issued, is cut off within that window.
+     * @param principal The verified token principal
+     * @return The user details, or null if the user has been disabled or no longer has the token's roles
+     */
+    private UserDetails loadStatelessUser(JwtPrincipal principal) {
+        // Tokens issued before user IDs were embedded cannot be trusted on their own
+        if (principal.userId() == null || principal.customerId() == null) {
+            return this.userDetailsService.loadUserByUsername(principal.subject());
+        }
+
+        // A null result, for a disabled user, is not cached and is checked again on the next request
+        Set<String> authorities = revalidated.get(principal.subject(), this::loadAuthorities);
+        if (authorities == null || !authorities.equals(Set.copyOf(principal.roles()))) {
+            // Granted roles are not widened or narrowed from the database; the user signs in again for a new token
+            return null;
+        }
+
+        return new JwtUserDetails(principal);
+    }
+
+    private Set<String> loadAuthorities(String email) {
+        UserDetails current = this.userDetailsService.loadUserByUsername(email);
+        if (!current.isEnabled()) {
+            return null;
+        }
+        return current.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * A changed user is re-checked on the next request instead of at the end of its revalidation window
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null) {
+            revalidated.invalidate(event.email());
+        }
+    }
+
+    /**
+     * A renamed or deleted role changes the authorities of every user that has it
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRoleChanged(RoleChangedEvent event) {
+        revalidated.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        // Entries are not kept per tenant; re-checking everyone once is cheap
+        revalidated.invalidateAll();
+    }
 }
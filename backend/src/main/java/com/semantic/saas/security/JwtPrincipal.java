@@ -0,0 +1,24 @@
+package com.semantic.saas.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of a verified JWT.
+ * Produced once per token by JwtService so the signature is never checked twice for the same request.
+ */
+public record JwtPrincipal(String subject, Integer userId, Long customerId, List<String> roles, Instant expiresAt) {
+
+    public JwtPrincipal {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    /**
+     * Check if the token backing this principal has expired
+     * @param now The reference time
+     * @return true if the token is expired, false otherwise
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,74 @@
+package com.semantic.saas.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * UserDetails built entirely from signed JWT claims.
+ * Used in stateless mode so an authenticated request does not need a user lookup.
+ */
+public class JwtUserDetails implements UserDetails {
+
+    private final Integer id;
+    private final Long customerId;
+    private final String email;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtUserDetails(JwtPrincipal principal) {
+        this.id = principal.userId();
+        this.customerId = principal.customerId();
+        this.email = principal.subject();
+        this.authorities = principal.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        // Never available: the token already proved the credentials
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,122 @@
+package com.semantic.saas.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of already verified tokens.
+ * Entries are keyed by the SHA-256 digest of the token so raw tokens are never kept in memory.
+ * Each entry expires together with its token; when the cache is full the least useful entry is evicted.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, JwtPrincipal> entries;
+    private final int maxSize;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Get the principal for a previously verified token
+     * @param token The JWT token
+     * @return The cached principal, or null if absent or expired
+     */
+    public JwtPrincipal get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+
+        JwtPrincipal principal = entries.getIfPresent(digest(token));
+        // Expiry is checked lazily by the cache, guard against a token that ran out a moment ago
+        if (principal != null && principal.isExpired(Instant.now())) {
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Remember a verified token until it expires
+     * @param token The JWT token
+     * @param principal The verified principal
+     */
+    public void put(String token, JwtPrincipal principal) {
+        if (maxSize <= 0 || principal.isExpired(Instant.now())) {
+            return;
+        }
+        entries.put(digest(token), principal);
+    }
+
+    /**
+     * Drop every cached token
+     */
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    public int size() {
+        return (int) entries.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Keeps an entry exactly as long as the token it was verified from is valid
+     */
+    private static final class TokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            return remainingNanos(principal);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return remainingNanos(principal);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long remainingNanos(JwtPrincipal principal) {
+            if (principal.expiresAt() == null) {
+                return 0;
+            }
+            Duration remaining = Duration.between(Instant.now(), principal.expiresAt());
+            return remaining.isNegative() ? 0 : saturatedNanos(remaining);
+        }
+
+        private static long saturatedNanos(Duration duration) {
+            try {
+                return duration.toNanos();
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+}
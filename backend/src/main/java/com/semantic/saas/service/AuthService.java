@@ -3,7 +3,6 @@ package com.semantic.saas.service;
 import com.semantic.saas.model.Customer;
 import com.semantic.saas.model.User;
 import com.semantic.saas.repository.CustomerRepository;
-import com.semantic.saas.repository.RoleRepository;
 import com.semantic.saas.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,7 +21,7 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
@@ -31,13 +30,13 @@ public class AuthService {
     public AuthService(
             UserRepository userRepository,
             CustomerRepository customerRepository,
-            RoleRepository roleRepository,
+            RoleRegistry roleRegistry,
             PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
             JwtService jwtService) {
         this.userRepository = userRepository;
         this.customerRepository = customerRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
@@ -80,7 +79,7 @@ public class AuthService {
         user.setEnabled(true);
         
         // Assign ADMIN role
-        roleRepository.findByName("ROLE_ADMIN").ifPresent(user::addRole);
+        roleRegistry.findReference("ROLE_ADMIN").ifPresent(user::addRole);
         
         return userRepository.save(user);
     }
@@ -155,7 +154,7 @@ public class AuthService {
         // Assign roles
         Set<String> validRoleNames = new HashSet<>(roleNames);
         for (String roleName : validRoleNames) {
-            roleRepository.findByName(roleName).ifPresent(user::addRole);
+            roleRegistry.findReference(roleName).ifPresent(user::addRole);
         }
         
         return userRepository.save(user);
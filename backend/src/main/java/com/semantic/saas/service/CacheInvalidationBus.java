@@ -0,0 +1,486 @@
+package com.semantic.saas.service;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.RoleChangedEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsDerivedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.event.UserChangedEvent;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the in-memory caches and indexes of several application nodes in step through Postgres LISTEN/NOTIFY.
+ * <p>
+ * Changes made on this node are collected per transaction and announced right before it commits.
+ * NOTIFY is transactional: other nodes hear about a change only once it is committed and never about a
+ * rolled back one. Each node listens on a connection of its own, merges the messages that arrive within
+ * a short window, and replays them as the local events the caches already handle.
+ * <p>
+ * Notifications are not durable; those sent while a node's listener is disconnected are lost. Each announcing
+ * transaction therefore takes the next number from cache_invalidation_seq as the last thing before it commits.
+ * nextval locks nothing until commit, so announcing transactions on all nodes run side by side. A number that
+ * has not arrived one check interval after it was handed out was either missed or belongs to a transaction that
+ * failed to commit after taking it, which is rare and only costs a needless reload. A node that finds such a
+ * number, or that had to reconnect, drops all its derived state instead of trusting it.
+ * <p>
+ * Payload: {@code node|number|kind|customerId|keys}, where kind is one of
+ * T (talents changed; keys are ID ranges such as 1-50,75), I (talents imported; same keys),
+ * D (derived columns of talents rewritten; same keys), C (tenant dropped), R (role changed; key is the role ID) and U (user changed; key is the email).
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String CHANNEL = "cache_invalidation";
+    // Postgres refuses payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_LENGTH = 7800;
+    private static final int POLL_MILLIS = 500;
+    private static final long RETRY_MILLIS = 5000;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final TalentRepository talentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long batchWindowMillis;
+    private final long checkIntervalMillis;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CacheInvalidationBus(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            DataSourceProperties dataSourceProperties,
+            TalentRepository talentRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${cache.invalidation.batch-window-ms:50}") long batchWindowMillis,
+            @Value("${cache.invalidation.check-interval-ms:30000}") long checkIntervalMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.dataSourceProperties = dataSourceProperties;
+        this.talentRepository = talentRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchWindowMillis = batchWindowMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    @EventListener
+    public void onTalentChanged(TalentChangedEvent event) {
+        announce(changes -> changes.talents(event.customerId()).add(event.talentId()));
+    }
+
+    @EventListener
+    public void onTalentsImported(TalentsImportedEvent event) {
+        announce(changes -> changes.imported(event.customerId()).addAll(event.talentIds()));
+    }
+
+    @EventListener
+    public void onTalentsDerived(TalentsDerivedEvent event) {
+        announce(changes -> changes.derived(event.customerId()).addAll(event.talentIds()));
+    }
+
+    @EventListener
+    public void onRoleChanged(RoleChangedEvent event) {
+        announce(changes -> changes.roles.add(event.roleId()));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null) {
+            announce(changes -> changes.users.add(event.email()));
+        }
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        // Dropping everything is a local reaction to missed messages, not something to pass on
+        if (event.customerId() != null) {
+            announce(changes -> changes.tenants.add(event.customerId()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            // Not interrupted: the poll times out on its own and leaves the connection in a clean state
+            thread.join(2L * POLL_MILLIS + batchWindowMillis);
+        }
+    }
+
+    private void announce(Consumer<Changes> change) {
+        // Replayed changes were announced by the node that made them
+        if (!enabled || Thread.currentThread() == listenerThread) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Changes changes = new Changes();
+            change.accept(changes);
+            send(changes);
+            return;
+        }
+
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Changes pending = new Changes();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!pending.isEmpty() && !readOnly) {
+                        // Hibernate flushes after this callback; a flush that fails must fail before the counter
+                        // is locked and the notifications are queued
+                        entityManager.flush();
+                    }
+                    send(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            changes = pending;
+        }
+        change.accept(changes);
+    }
+
+    private void send(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Runs on the transaction's connection, so the notifications are sent only if it commits
+        Long number = jdbcTemplate.queryForObject("SELECT nextval('cache_invalidation_seq')", Long.class);
+        for (String payload : changes.encode(nodeId + "|" + number + "|")) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, CHANNEL, payload);
+        }
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            // Outside the pool: the connection is held for the life of the node
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                listen(connection, reconnected);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    logger.warn("Cache invalidation listener failed; reconnecting in {} ms", RETRY_MILLIS, e);
+                    sleep(RETRY_MILLIS);
+                }
+            }
+            reconnected = true;
+        }
+    }
+
+    private void listen(Connection connection, boolean reconnected) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        Numbers numbers = new Numbers(lastNumber(connection));
+        if (reconnected) {
+            logger.info("Cache invalidation listener reconnected; dropping all cached state");
+            eventPublisher.publishEvent(CacheInvalidationEvent.all());
+        }
+
+        long nextCheck = System.currentTimeMillis() + checkIntervalMillis;
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+            if (notifications != null && notifications.length > 0) {
+                Changes changes = new Changes();
+                receive(notifications, changes, numbers);
+                long until = System.currentTimeMillis() + batchWindowMillis;
+                for (long wait = batchWindowMillis; wait > 0; wait = until - System.currentTimeMillis()) {
+                    receive(pgConnection.getNotifications((int) wait), changes, numbers);
+                }
+                apply(changes);
+            }
+
+            if (System.currentTimeMillis() >= nextCheck) {
+                long missed = numbers.check(lastNumber(connection));
+                if (missed > 0) {
+                    logger.warn("Missed {} cache invalidation(s); dropping all cached state", missed);
+                    eventPublisher.publishEvent(CacheInvalidationEvent.all());
+                }
+                nextCheck = System.currentTimeMillis() + checkIntervalMillis;
+            }
+        }
+    }
+
+    private void receive(PGNotification[] notifications, Changes changes, Numbers numbers) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            String[] fields = notification.getParameter().split("\\|", 5);
+            try {
+                if (fields.length < 5) {
+                    throw new IllegalArgumentException("expected 5 fields");
+                }
+                numbers.received(Long.parseLong(fields[1]));
+                if (!fields[0].equals(nodeId)) {
+                    changes.decode(fields[2], fields[3], fields[4]);
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed cache invalidation '{}': {}", notification.getParameter(), e.getMessage());
+            }
+        }
+    }
+
+    private void apply(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Published inside a transaction so the after-commit listeners run as for local changes
+        transactionTemplate.executeWithoutResult(status -> {
+            changes.roles.forEach(roleId -> eventPublisher.publishEvent(new RoleChangedEvent(roleId)));
+            changes.users.forEach(email -> eventPublisher.publishEvent(new UserChangedEvent(null, email)));
+            changes.tenants.forEach(customerId -> eventPublisher.publishEvent(new CacheInvalidationEvent(customerId)));
+            changes.imported.forEach((customerId, ids) -> {
+                if (!changes.tenants.contains(customerId)) {
+                    eventPublisher.publishEvent(new TalentsImportedEvent(customerId, List.copyOf(ids)));
+                }
+            });
+            changes.derived.forEach((customerId, ids) -> {
+                if (!changes.tenants.contains(customerId)) {
+                    eventPublisher.publishEvent(new TalentsDerivedEvent(customerId, List.copyOf(ids)));
+                }
+            });
+            changes.talents.forEach((customerId, ids) -> {
+                if (!changes.tenants.contains(customerId)) {
+                    replayTalents(customerId, new ArrayList<>(ids));
+                }
+            });
+        });
+    }
+
+    private void replayTalents(Integer customerId, List<Integer> ids) {
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(ids.size(), from + LOAD_BATCH_SIZE));
+            Set<Integer> deleted = new HashSet<>(batch);
+            for (Talent talent : talentRepository.findAllByCustomerIdAndIdIn(customerId, batch)) {
+                deleted.remove(talent.getId());
+                eventPublisher.publishEvent(TalentChangedEvent.updated(customerId, talent));
+            }
+            for (Integer talentId : deleted) {
+                eventPublisher.publishEvent(TalentChangedEvent.deleted(customerId, talentId));
+            }
+        }
+    }
+
+    private static long lastNumber(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT COALESCE(pg_sequence_last_value('cache_invalidation_seq'), 0) AS value")) {
+            rs.next();
+            return rs.getLong("value");
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Changes announced by one transaction, or received from other nodes within one batch window
+     */
+    private static final class Changes {
+
+        final Map<Integer, SortedSet<Integer>> talents = new HashMap<>();
+        final Map<Integer, SortedSet<Integer>> imported = new HashMap<>();
+        final Map<Integer, SortedSet<Integer>> derived = new HashMap<>();
+        final Set<Integer> tenants = new HashSet<>();
+        final Set<Integer> roles = new HashSet<>();
+        final Set<String> users = new HashSet<>();
+
+        SortedSet<Integer> talents(Integer customerId) {
+            return talents.computeIfAbsent(customerId, id -> new TreeSet<>());
+        }
+
+        SortedSet<Integer> imported(Integer customerId) {
+            return imported.computeIfAbsent(customerId, id -> new TreeSet<>());
+        }
+
+        SortedSet<Integer> derived(Integer customerId) {
+            return derived.computeIfAbsent(customerId, id -> new TreeSet<>());
+        }
+
+        boolean isEmpty() {
+            return talents.isEmpty() && imported.isEmpty() && derived.isEmpty() && tenants.isEmpty()
+                    && roles.isEmpty() && users.isEmpty();
+        }
+
+        List<String> encode(String header) {
+            List<String> payloads = new ArrayList<>();
+            talents.forEach((customerId, ids) -> encodeIds(payloads, header + "T|" + customerId + "|", ids));
+            imported.forEach((customerId, ids) -> encodeIds(payloads, header + "I|" + customerId + "|", ids));
+            derived.forEach((customerId, ids) -> encodeIds(payloads, header + "D|" + customerId + "|", ids));
+            tenants.forEach(customerId -> payloads.add(header + "C|" + customerId + "|"));
+            roles.forEach(roleId -> payloads.add(header + "R||" + roleId));
+            users.forEach(email -> payloads.add(header + "U||" + email));
+            return payloads;
+        }
+
+        void decode(String kind, String customer, String keys) {
+            Integer customerId = customer.isEmpty() ? null : Integer.valueOf(customer);
+            switch (kind) {
+                case "T" -> decodeIds(keys, talents(customerId));
+                case "I" -> decodeIds(keys, imported(customerId));
+                case "D" -> decodeIds(keys, derived(customerId));
+                case "C" -> tenants.add(customerId);
+                case "R" -> roles.add(Integer.valueOf(keys));
+                case "U" -> users.add(keys);
+                default -> throw new IllegalArgumentException("unknown kind " + kind);
+            }
+        }
+
+        private static void encodeIds(List<String> payloads, String prefix, SortedSet<Integer> ids) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            // IDs are handed out in blocks, so created and imported talents mostly form a few long runs
+            StringBuilder keys = new StringBuilder();
+            int start = ids.first();
+            int end = start;
+            for (int id : ids.tailSet(start + 1)) {
+                if (id != end + 1) {
+                    appendRange(payloads, prefix, keys, start, end);
+                    start = id;
+                }
+                end = id;
+            }
+            appendRange(payloads, prefix, keys, start, end);
+            payloads.add(prefix + keys);
+        }
+
+        private static void appendRange(List<String> payloads, String prefix, StringBuilder keys, int start, int end) {
+            String range = start == end ? Integer.toString(start) : start + "-" + end;
+            if (prefix.length() + keys.length() + 1 + range.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(prefix + keys);
+                keys.setLength(0);
+            }
+            if (keys.length() > 0) {
+                keys.append(',');
+            }
+            keys.append(range);
+        }
+
+        private static void decodeIds(String keys, Set<Integer> ids) {
+            for (String range : keys.split(",")) {
+                int dash = range.indexOf('-');
+                if (dash < 0) {
+                    ids.add(Integer.valueOf(range));
+                } else {
+                    int end = Integer.parseInt(range.substring(dash + 1));
+                    for (int id = Integer.parseInt(range.substring(0, dash)); id <= end; id++) {
+                        ids.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tracks which announcement numbers have arrived. Numbers are handed out before their transactions commit,
+     * and not in commit order, so a number is only judged one check after it was seen handed out; that window
+     * leaves its transaction time to commit and its notification time to arrive.
+     */
+    private static final class Numbers {
+
+        private final Set<Long> received = new HashSet<>();
+        private long settled;
+        private long handedOut;
+
+        Numbers(long current) {
+            this.settled = current;
+            this.handedOut = current;
+        }
+
+        void received(long number) {
+            if (number > settled) {
+                received.add(number);
+            }
+        }
+
+        long check(long current) {
+            long missed = 0;
+            for (long number = settled + 1; number <= handedOut; number++) {
+                if (!received.remove(number)) {
+                    missed++;
+                }
+            }
+            settled = handedOut;
+            handedOut = current;
+            return missed;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.semantic.saas.service;
 
+import com.semantic.saas.event.CacheInvalidationEvent;
 import com.semantic.saas.model.Customer;
 import com.semantic.saas.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,10 +15,12 @@ import java.util.Optional;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, ApplicationEventPublisher eventPublisher) {
         this.customerRepository = customerRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -90,5 +94,7 @@ public class CustomerService {
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id " + id));
         
         customerRepository.delete(customer);
+        // Talents and users go with the customer (ON DELETE CASCADE) without change events of their own
+        eventPublisher.publishEvent(new CacheInvalidationEvent(customer.getId()));
     }
 }
@@ -0,0 +1,139 @@
+package com.semantic.saas.service;
+
+import com.semantic.saas.dto.TalentMatch;
+import com.semantic.saas.dto.TalentSummary;
+import com.semantic.saas.index.MatchCriteria;
+import com.semantic.saas.index.TalentMatchIndex;
+import com.semantic.saas.model.Customer;
+import com.semantic.saas.model.JobRequisition;
+import com.semantic.saas.repository.CustomerRepository;
+import com.semantic.saas.repository.JobRequisitionRepository;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class JobRequisitionService {
+
+    private static final int MAX_SHORTLIST_SIZE = 500;
+
+    private final JobRequisitionRepository jobRequisitionRepository;
+    private final CustomerRepository customerRepository;
+    private final TalentRepository talentRepository;
+    private final TalentMatchIndex talentMatchIndex;
+
+    @Autowired
+    public JobRequisitionService(
+            JobRequisitionRepository jobRequisitionRepository,
+            CustomerRepository customerRepository,
+            TalentRepository talentRepository,
+            TalentMatchIndex talentMatchIndex) {
+        this.jobRequisitionRepository = jobRequisitionRepository;
+        this.customerRepository = customerRepository;
+        this.talentRepository = talentRepository;
+        this.talentMatchIndex = talentMatchIndex;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JobRequisition> getRequisitions(Integer customerId, Pageable pageable) {
+        return jobRequisitionRepository.findAllByCustomerId(customerId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public JobRequisition getRequisitionById(Integer requisitionId, Integer customerId) {
+        return jobRequisitionRepository.findByIdAndCustomerId(requisitionId, customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Job requisition not found with id " + requisitionId));
+    }
+
+    @Transactional
+    public JobRequisition createRequisition(JobRequisition requisition, Integer customerId) {
+        validateSalaryBand(requisition);
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id " + customerId));
+        
+        requisition.setCustomer(customer);
+        return jobRequisitionRepository.save(requisition);
+    }
+
+    @Transactional
+    public JobRequisition updateRequisition(Integer requisitionId, JobRequisition details, Integer customerId) {
+        validateSalaryBand(details);
+        JobRequisition requisition = getRequisitionById(requisitionId, customerId);
+        
+        requisition.setTitle(details.getTitle());
+        requisition.setRequiredSkills(details.getRequiredSkills());
+        requisition.setLocation(details.getLocation());
+        requisition.setSalaryMin(details.getSalaryMin());
+        requisition.setSalaryMax(details.getSalaryMax());
+        requisition.setSeniority(details.getSeniority());
+        
+        // Cached scores are keyed by the criteria themselves, so changed criteria are rescored on next use
+        return jobRequisitionRepository.save(requisition);
+    }
+
+    @Transactional
+    public void deleteRequisition(Integer requisitionId, Integer customerId) {
+        JobRequisition requisition = getRequisitionById(requisitionId, customerId);
+        jobRequisitionRepository.delete(requisition);
+        talentMatchIndex.evict(customerId, requisitionId);
+    }
+
+    /**
+     * Rank every talent of the tenant against a requisition by skill overlap, salary fit and location
+     * @param requisitionId The requisition ID
+     * @param customerId The customer ID
+     * @param limit The shortlist size, between 1 and 500
+     * @param minScore The minimum score, between 0 and 1
+     * @return The shortlist, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<TalentMatch> getShortlist(Integer requisitionId, Integer customerId, int limit, float minScore) {
+        if (limit < 1 || limit > MAX_SHORTLIST_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SHORTLIST_SIZE);
+        }
+        if (minScore < 0 || minScore > 1) {
+            throw new IllegalArgumentException("Minimum score must be between 0 and 1");
+        }
+        
+        JobRequisition requisition = getRequisitionById(requisitionId, customerId);
+        TalentMatchIndex.Match[] matches = talentMatchIndex.shortlist(
+                customerId, MatchCriteria.from(requisition), limit, minScore);
+        if (matches.length == 0) {
+            return List.of();
+        }
+        
+        List<Integer> ids = new ArrayList<>(matches.length);
+        for (TalentMatchIndex.Match match : matches) {
+            ids.add(match.talentId());
+        }
+        Map<Integer, TalentSummary> rows = new HashMap<>();
+        for (TalentSummary summary : talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids)) {
+            rows.put(summary.id(), summary);
+        }
+        
+        List<TalentMatch> shortlist = new ArrayList<>(matches.length);
+        for (TalentMatchIndex.Match match : matches) {
+            TalentSummary summary = rows.get(match.talentId());
+            if (summary != null) {
+                shortlist.add(new TalentMatch(summary, match.score()));
+            }
+        }
+        return shortlist;
+    }
+
+    private void validateSalaryBand(JobRequisition requisition) {
+        if (requisition.getSalaryMin() != null && requisition.getSalaryMax() != null
+                && requisition.getSalaryMin() > requisition.getSalaryMax()) {
+            throw new IllegalArgumentException("Minimum salary must not exceed maximum salary");
+        }
+    }
+}
@@ -1,20 +1,26 @@
 package com.semantic.saas.service;
 
 import com.semantic.saas.model.User;
+import com.semantic.saas.security.JwtPrincipal;
+import com.semantic.saas.security.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -28,13 +34,52 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    public JwtService(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    /**
+     * Decode the secret and build the parser once instead of on every token
+     */
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verify a JWT token and return its principal.
+     * The signature is checked at most once per token; later calls are served from the verified-token cache.
+     * @param token The JWT token
+     * @return The verified principal
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtPrincipal verifyToken(String token) {
+        JwtPrincipal cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtPrincipal principal = toPrincipal(extractAllClaims(token));
+        verifiedTokenCache.put(token, principal);
+        return principal;
+    }
+
     /**
      * Extract username from JWT token
      * @param token The JWT token
      * @return The username
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
     /**
@@ -43,8 +88,7 @@ public class JwtService {
      * @return The customer ID
      */
     public Long extractCustomerId(String token) {
-        Claims claims = extractAllClaims(token);
-        return Long.parseLong(claims.get("customerId").toString());
+        return verifyToken(token).customerId();
     }
 
     /**
@@ -53,7 +97,7 @@ public class JwtService {
      * @return The expiration date
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verifyToken(token).expiresAt());
     }
 
     /**
@@ -73,20 +117,32 @@ public class JwtService {
      * @return All claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     /**
-     * Check if JWT token is expired
-     * @param token The JWT token
-     * @return true if the token is expired, false otherwise
+     * Convert verified claims into an immutable principal
+     * @param claims The verified claims
+     * @return The principal
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private JwtPrincipal toPrincipal(Claims claims) {
+        Object userId = claims.get("userId");
+        Object customerId = claims.get("customerId");
+        Object roles = claims.get("roles");
+
+        List<String> roleNames = roles instanceof Collection<?> collection
+                ? collection.stream().map(Object::toString).collect(Collectors.toList())
+                : List.of();
+
+        return new JwtPrincipal(
+                claims.getSubject(),
+                userId != null ? Integer.valueOf(userId.toString()) : null,
+                customerId != null ? Long.valueOf(customerId.toString()) : null,
+                roleNames,
+                claims.getExpiration().toInstant()
+        );
     }
 
     /**
@@ -96,11 +152,12 @@ public class JwtService {
      */
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", user.getId());
         claims.put("customerId", user.getCustomer().getId());
         
-        // Add roles to claims
+        // Add roles to claims, named exactly like the authorities CustomUserDetailsService grants
         Collection<String> authorities = user.getRoles().stream()
-                .map(role -> "ROLE_" + role.getName().toUpperCase())
+                .map(role -> role.getName())
                 .collect(Collectors.toList());
         claims.put("roles", authorities);
         
@@ -130,8 +187,8 @@ public class JwtService {
      * @return true if the token is valid, false otherwise
      */
     public Boolean validateToken(String token, User userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getEmail()) && !isTokenExpired(token));
+        final JwtPrincipal principal = verifyToken(token);
+        return (principal.subject().equals(userDetails.getEmail()) && !principal.isExpired(Instant.now()));
     }
 
     /**
@@ -141,8 +198,8 @@ public class JwtService {
      * @return true if the token is valid, false otherwise
      */
     public Boolean validateToken(String token, org.springframework.security.core.userdetails.UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final JwtPrincipal principal = verifyToken(token);
+        return (principal.subject().equals(userDetails.getUsername()) && !principal.isExpired(Instant.now()));
     }
 
     /**
@@ -150,7 +207,6 @@ public class JwtService {
      * @return The signing key
      */
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
@@ -0,0 +1,138 @@
+package com.semantic.saas.service;
+
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.RoleChangedEvent;
+import com.semantic.saas.model.Role;
+import com.semantic.saas.repository.RoleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the roles table, which is tiny and almost never written.
+ * Lookups by name or ID never query; roles to assign are handed out as references
+ * that Hibernate writes as a plain role_id without loading the role.
+ */
+@Component
+public class RoleRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    /**
+     * Immutable view of one role
+     */
+    public record RoleInfo(Integer id, String name, String description) {
+    }
+
+    private record Snapshot(Map<String, RoleInfo> byName, RoleInfo[] byId) {
+    }
+
+    private final RoleRepository roleRepository;
+    private volatile Snapshot snapshot;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Look up a role by name
+     * @param name The role name, e.g. ROLE_ADMIN
+     * @return The role, if it exists
+     */
+    public Optional<RoleInfo> find(String name) {
+        return Optional.ofNullable(snapshot().byName().get(name));
+    }
+
+    /**
+     * Look up a role by ID
+     * @param id The role ID
+     * @return The role, or null if there is none with this ID
+     */
+    public RoleInfo get(Integer id) {
+        RoleInfo[] byId = snapshot().byId();
+        return id != null && id >= 0 && id < byId.length ? byId[id] : null;
+    }
+
+    /**
+     * Get a reference to a role for assigning it in the current transaction, without querying
+     * @param name The role name
+     * @return A managed reference to the role, if it exists
+     */
+    public Optional<Role> findReference(String name) {
+        return find(name).map(role -> entityManager.getReference(Role.class, role.id()));
+    }
+
+    /**
+     * Like {@link #findReference(String)}, for roles that must exist
+     * @param name The role name
+     * @return A managed reference to the role
+     * @throws IllegalArgumentException if there is no such role
+     */
+    public Role reference(String name) {
+        return findReference(name).orElseThrow(() -> new IllegalArgumentException("Role not found: " + name));
+    }
+
+    /**
+     * Get the name of a role without initializing it if it is a reference
+     * @param role The role
+     * @return The role name
+     */
+    public String nameOf(Role role) {
+        RoleInfo info = get(role.getId());
+        return info != null ? info.name() : role.getName();
+    }
+
+    /**
+     * Reload all roles from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        List<Role> roles = roleRepository.findAll();
+        Map<String, RoleInfo> byName = new HashMap<>();
+        int maxId = roles.stream().mapToInt(Role::getId).max().orElse(-1);
+        RoleInfo[] byId = new RoleInfo[maxId + 1];
+        for (Role role : roles) {
+            RoleInfo info = new RoleInfo(role.getId(), role.getName(), role.getDescription());
+            byName.put(info.name(), info);
+            byId[info.id()] = info;
+        }
+        snapshot = new Snapshot(Map.copyOf(byName), byId);
+        logger.debug("Loaded {} roles", roles.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRoleChanged(RoleChangedEvent event) {
+        refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            refresh();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Used before the application is ready, e.g. by a startup runner
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+}
@@ -1,8 +1,10 @@
 package com.semantic.saas.service;
 
+import com.semantic.saas.event.RoleChangedEvent;
 import com.semantic.saas.model.Role;
 import com.semantic.saas.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,10 +15,12 @@ import java.util.Optional;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -60,7 +64,9 @@ public class RoleService {
             throw new IllegalArgumentException("Role with name " + role.getName() + " already exists");
         }
         
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId()));
+        return savedRole;
     }
 
     /**
@@ -78,7 +84,9 @@ public class RoleService {
         role.setName(roleDetails.getName());
         role.setDescription(roleDetails.getDescription());
         
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        eventPublisher.publishEvent(new RoleChangedEvent(savedRole.getId()));
+        return savedRole;
     }
 
     /**
@@ -91,5 +99,6 @@ public class RoleService {
                 .orElseThrow(() -> new IllegalArgumentException("Role not found with id " + id));
         
         roleRepository.delete(role);
+        eventPublisher.publishEvent(new RoleChangedEvent(role.getId()));
     }
 }
@@ -0,0 +1,123 @@
+package com.semantic.saas.service;
+
+import com.semantic.saas.event.TalentsDerivedEvent;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background job that fills in the derived columns (experience, seniority, coordinates) of talents
+ * saved before they existed, and moves open-ended experience ranges ("2018-Present") forward once a month.
+ * Talents saved through {@link TalentService} are derived at write time and skipped here.
+ * A Postgres advisory lock lets only one node run the job at a time.
+ */
+@Component
+public class TalentBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentBackfill.class);
+
+    // Arbitrary application-wide key of the advisory lock, "talentBF" in ASCII
+    private static final long LOCK_KEY = 0x74616c656e744246L;
+
+    private final TalentRepository talentRepository;
+    private final TalentService talentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    @Autowired
+    public TalentBackfill(
+            TalentRepository talentRepository,
+            TalentService talentService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource,
+            @Value("${talent.backfill.batch-size:500}") int batchSize) {
+        this.talentRepository = talentRepository;
+        this.talentService = talentService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Derive all outdated talents unless another node is already doing it
+     */
+    @Scheduled(initialDelayString = "${talent.backfill.initial-delay-ms:60000}",
+               fixedDelayString = "${talent.backfill.interval-ms:86400000}")
+    public void run() {
+        // Session-level lock, so it is taken and released on one connection held for the whole run
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate lockTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (!Boolean.TRUE.equals(lockTemplate.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, LOCK_KEY))) {
+                logger.debug("Skipping derived attribute backfill, another node is running it");
+                return;
+            }
+            try {
+                deriveAll();
+            } finally {
+                lockTemplate.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+            }
+        } catch (SQLException e) {
+            logger.warn("Cannot run derived attribute backfill", e);
+        }
+    }
+
+    /**
+     * Derive all outdated talents, one transaction per batch so progress survives failures
+     */
+    private void deriveAll() {
+        LocalDate today = LocalDate.now();
+        // Open-ended totals are counted in whole months, so they only change when a month starts
+        LocalDate staleBefore = today.withDayOfMonth(1);
+        int updated = 0;
+        int lastId = 0;
+        while (true) {
+            int afterId = lastId;
+            List<Integer> ids = transactionTemplate.execute(status -> deriveBatch(afterId, staleBefore, today));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            updated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (updated > 0) {
+            logger.info("Derived attributes of {} talents", updated);
+        }
+    }
+
+    private List<Integer> deriveBatch(int afterId, LocalDate staleBefore, LocalDate today) {
+        List<Talent> talents = talentRepository.findWithOutdatedDerivedAttributes(
+                afterId, staleBefore, PageRequest.of(0, batchSize));
+        Map<Integer, List<Integer>> idsByCustomer = new LinkedHashMap<>();
+        for (Talent talent : talents) {
+            talentService.deriveAttributes(talent, today);
+            idsByCustomer.computeIfAbsent(talent.getCustomer().getId(), customerId -> new ArrayList<>()).add(talent.getId());
+        }
+        // One bulk event per tenant and batch, heard after commit only by the caches that hold derived columns
+        idsByCustomer.forEach((customerId, ids) -> eventPublisher.publishEvent(new TalentsDerivedEvent(customerId, ids)));
+        return talents.stream().map(Talent::getId).toList();
+    }
+}
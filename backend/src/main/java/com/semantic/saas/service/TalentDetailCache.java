@@ -0,0 +1,328 @@
+package com.semantic.saas.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.semantic.saas.dto.TalentCacheStats;
+import com.semantic.saas.dto.TalentDTO;
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsDerivedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of talent details, one Caffeine cache for all tenants with a single memory budget.
+ * Caffeine's W-TinyLFU admission keeps frequently viewed talents over one-off reads, so a tenant paging
+ * through its whole pool cannot push out the talents other tenants keep coming back to.
+ * Each tenant also has a budget of its own: a tenant over it makes room among its own talents, dropping
+ * the least recently read of a few sampled ones, so a single tenant never fills the shared budget.
+ * Entries are DTO snapshots rather than entities, so they never hold a persistence context or lazy proxies.
+ */
+@Component
+public class TalentDetailCache {
+
+    // Rough heap cost of a key, an entry and a TalentDTO without its strings
+    private static final int BASE_WEIGHT = 320;
+    private static final int EVICTION_SAMPLES = 5;
+
+    private record Key(Integer customerId, Integer talentId) {
+    }
+
+    /**
+     * A cached snapshot, the weight its tenant was charged for it, and when it was last read
+     */
+    private static final class Entry {
+        private final TalentDTO talent;
+        private final int weight;
+        private volatile long lastRead = System.nanoTime();
+
+        Entry(TalentDTO talent) {
+            this.talent = talent;
+            this.weight = weigh(talent);
+        }
+    }
+
+    /**
+     * Write generation, counters and cached talents of one tenant; counters start when the tenant is first read
+     */
+    private static class TenantState {
+        private final AtomicLong generation = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final AtomicLong weight = new AtomicLong();
+        // The cached talent IDs, kept in an array so the budget can sample them
+        private final Map<Integer, Integer> positions = new HashMap<>();
+        private int[] talentIds = new int[16];
+
+        synchronized void added(int talentId) {
+            if (positions.containsKey(talentId)) {
+                return;
+            }
+            if (positions.size() == talentIds.length) {
+                talentIds = Arrays.copyOf(talentIds, talentIds.length * 2);
+            }
+            positions.put(talentId, positions.size());
+            talentIds[positions.size() - 1] = talentId;
+        }
+
+        synchronized void removed(int talentId) {
+            Integer position = positions.remove(talentId);
+            if (position == null) {
+                return;
+            }
+            // Move the last ID into the gap
+            int last = talentIds[positions.size()];
+            if (last != talentId) {
+                talentIds[position] = last;
+                positions.put(last, position);
+            }
+        }
+
+        synchronized int count() {
+            return positions.size();
+        }
+
+        synchronized int[] all() {
+            return Arrays.copyOf(talentIds, positions.size());
+        }
+
+        synchronized int[] sample(int size) {
+            int count = positions.size();
+            if (count <= size) {
+                return Arrays.copyOf(talentIds, count);
+            }
+            int[] sample = new int[size];
+            for (int i = 0; i < size; i++) {
+                sample[i] = talentIds[ThreadLocalRandom.current().nextInt(count)];
+            }
+            return sample;
+        }
+    }
+
+    private final boolean enabled;
+    private final long tenantMaxBytes;
+    private final Cache<Key, Entry> entries;
+    private final Map<Integer, TenantState> tenants = new ConcurrentHashMap<>();
+
+    public TalentDetailCache(
+            @Value("${talent.cache.enabled:true}") boolean enabled,
+            @Value("${talent.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${talent.cache.tenant-max-bytes:8388608}") long tenantMaxBytes) {
+        this.enabled = enabled;
+        this.tenantMaxBytes = tenantMaxBytes;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.weight)
+                // Runs as part of the eviction, so the tenant's counters never miss an entry
+                .evictionListener((Key key, Entry entry, RemovalCause cause) -> {
+                    TenantState tenant = tenant(key.customerId());
+                    tenant.weight.addAndGet(-entry.weight);
+                    tenant.removed(key.talentId());
+                    tenant.evictions.increment();
+                })
+                .build();
+    }
+
+    /**
+     * Get a talent from the cache, or load and cache it
+     * @param customerId The customer ID
+     * @param talentId The talent ID
+     * @param loader Loads the talent on a miss; exceptions are passed on and nothing is cached
+     * @return The talent
+     */
+    public TalentDTO get(Integer customerId, Integer talentId, Supplier<TalentDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        TenantState tenant = tenant(customerId);
+        Key key = new Key(customerId, talentId);
+        Entry cached = entries.getIfPresent(key);
+        if (cached != null) {
+            cached.lastRead = System.nanoTime();
+            tenant.hits.increment();
+            return cached.talent;
+        }
+        tenant.misses.increment();
+
+        // A change committed while loading makes the loaded value stale; the generation tells
+        long generation = tenant.generation.get();
+        TalentDTO loaded = loader.get();
+        if (tenant.generation.get() == generation) {
+            store(tenant, key, new Entry(loaded));
+            if (tenant.generation.get() != generation) {
+                discard(tenant, key);
+            } else {
+                enforceBudget(tenant, customerId);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Statistics of a tenant's share of the cache since the tenant was first read
+     * @param customerId The customer ID
+     * @return Hits, misses, evictions and memory use
+     */
+    public TalentCacheStats stats(Integer customerId) {
+        TenantState tenant = tenants.get(customerId);
+        if (tenant == null) {
+            return new TalentCacheStats(0, 0, 0, 0, 0, tenantMaxBytes);
+        }
+        return new TalentCacheStats(tenant.hits.sum(), tenant.misses.sum(), tenant.evictions.sum(),
+                tenant.count(), tenant.weight.get(), tenantMaxBytes);
+    }
+
+    /**
+     * Drop all cached talents of a tenant
+     * @param customerId The customer ID
+     */
+    public void invalidate(Integer customerId) {
+        TenantState tenant = tenants.get(customerId);
+        if (tenant != null) {
+            tenant.generation.incrementAndGet();
+            for (int talentId : tenant.all()) {
+                discard(tenant, new Key(customerId, talentId));
+            }
+        }
+    }
+
+    /**
+     * Write-through: committed updates replace a cached talent, deletes remove it. Events of concurrent
+     * transactions can arrive out of order, so a cached talent is only replaced by a newer version,
+     * and talents that are not cached are left to be loaded on their next read.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        TenantState tenant = tenants.get(event.customerId());
+        if (tenant == null) {
+            return;
+        }
+        tenant.generation.incrementAndGet();
+        Key key = new Key(event.customerId(), event.talentId());
+        if (event.type() == TalentChangedEvent.ChangeType.DELETED) {
+            discard(tenant, key);
+        } else {
+            TalentDTO changed = new TalentDTO(event.talent());
+            entries.asMap().computeIfPresent(key, (ignored, cached) -> {
+                TalentDTO kept = newer(cached.talent, changed);
+                Entry entry = kept == cached.talent ? cached : kept == null ? null : new Entry(kept);
+                tenant.weight.addAndGet((entry == null ? 0 : entry.weight) - cached.weight);
+                if (entry == null) {
+                    tenant.removed(key.talentId());
+                }
+                return entry;
+            });
+            enforceBudget(tenant, event.customerId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        TenantState tenant = tenants.get(event.customerId());
+        if (tenant != null) {
+            tenant.generation.incrementAndGet();
+            for (Integer talentId : event.talentIds()) {
+                discard(tenant, new Key(event.customerId(), talentId));
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsDerived(TalentsDerivedEvent event) {
+        // Cached details include experience and seniority
+        onTalentsImported(new TalentsImportedEvent(event.customerId(), event.talentIds()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            tenants.keySet().forEach(this::invalidate);
+        } else {
+            invalidate(event.customerId());
+        }
+    }
+
+    private TenantState tenant(Integer customerId) {
+        return tenants.computeIfAbsent(customerId, id -> new TenantState());
+    }
+
+    private void store(TenantState tenant, Key key, Entry entry) {
+        entries.asMap().compute(key, (ignored, cached) -> {
+            tenant.weight.addAndGet(entry.weight - (cached == null ? 0 : cached.weight));
+            tenant.added(key.talentId());
+            return entry;
+        });
+    }
+
+    private void discard(TenantState tenant, Key key) {
+        entries.asMap().computeIfPresent(key, (ignored, cached) -> {
+            tenant.weight.addAndGet(-cached.weight);
+            tenant.removed(key.talentId());
+            return null;
+        });
+    }
+
+    /**
+     * Drop the least recently read of a few sampled talents until the tenant is within its budget
+     */
+    private void enforceBudget(TenantState tenant, Integer customerId) {
+        while (tenant.weight.get() > tenantMaxBytes) {
+            Key oldest = null;
+            long oldestRead = 0;
+            for (int talentId : tenant.sample(EVICTION_SAMPLES)) {
+                Key key = new Key(customerId, talentId);
+                Entry entry = entries.policy().getIfPresentQuietly(key);
+                if (entry != null && (oldest == null || entry.lastRead - oldestRead < 0)) {
+                    oldest = key;
+                    oldestRead = entry.lastRead;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            discard(tenant, oldest);
+            tenant.evictions.increment();
+        }
+    }
+
+    /**
+     * The later of two snapshots of a talent; without versions to compare, the cached one is dropped
+     * @return The snapshot to keep, or null to remove the entry
+     */
+    private static TalentDTO newer(TalentDTO cached, TalentDTO changed) {
+        if (cached.getVersion() == null || changed.getVersion() == null) {
+            return null;
+        }
+        return changed.getVersion() >= cached.getVersion() ? changed : cached;
+    }
+
+    private static int weigh(TalentDTO talent) {
+        return BASE_WEIGHT
+                + weigh(talent.getFirstName()) + weigh(talent.getLastName()) + weigh(talent.getEmail())
+                + weigh(talent.getPhone()) + weigh(talent.getSkills()) + weigh(talent.getExperience())
+                + weigh(talent.getEducation()) + weigh(talent.getLocation()) + weigh(talent.getLinkedinUrl())
+                + weigh(talent.getGithubUrl()) + weigh(talent.getPortfolioUrl()) + weigh(talent.getResumeUrl())
+                + weigh(talent.getCurrentPosition()) + weigh(talent.getDesiredPosition())
+                + weigh(talent.getAvailability()) + weigh(talent.getNotes());
+    }
+
+    private static int weigh(String value) {
+        // Object header and array, plus two bytes per char for strings that are not Latin-1
+        return value == null ? 0 : 40 + 2 * value.length();
+    }
+}
@@ -0,0 +1,229 @@
+package com.semantic.saas.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams all talents of a customer as NDJSON or CSV.
+ * Rows are read from a server-side cursor and written straight from the result set, so no entities
+ * or DTO lists are built and memory stays flat however many talents there are.
+ */
+@Service
+public class TalentExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** First characters that make a spreadsheet evaluate a cell */
+    static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private enum Kind { NUMBER, TEXT, DATE, TIMESTAMP }
+
+    private record Column(String name, String sql, Kind kind) {
+    }
+
+    /** Same names as TalentDTO, so both exports read like the API */
+    private static final Column[] COLUMNS = {
+            new Column("id", "id", Kind.NUMBER),
+            new Column("firstName", "first_name", Kind.TEXT),
+            new Column("lastName", "last_name", Kind.TEXT),
+            new Column("email", "email", Kind.TEXT),
+            new Column("phone", "phone", Kind.TEXT),
+            new Column("skills", "skills", Kind.TEXT),
+            new Column("experience", "experience", Kind.TEXT),
+            new Column("education", "education", Kind.TEXT),
+            new Column("dateOfBirth", "date_of_birth", Kind.DATE),
+            new Column("location", "location", Kind.TEXT),
+            new Column("linkedinUrl", "linkedin_url", Kind.TEXT),
+            new Column("githubUrl", "github_url", Kind.TEXT),
+            new Column("portfolioUrl", "portfolio_url", Kind.TEXT),
+            new Column("resumeUrl", "resume_url", Kind.TEXT),
+            new Column("currentPosition", "current_position", Kind.TEXT),
+            new Column("desiredPosition", "desired_position", Kind.TEXT),
+            new Column("salaryExpectation", "salary_expectation", Kind.NUMBER),
+            new Column("availability", "availability", Kind.TEXT),
+            new Column("notes", "notes", Kind.TEXT),
+            new Column("totalExperienceMonths", "total_experience_months", Kind.NUMBER),
+            new Column("seniority", "seniority", Kind.TEXT),
+            new Column("createdAt", "created_at", Kind.TIMESTAMP),
+            new Column("updatedAt", "updated_at", Kind.TIMESTAMP)
+    };
+
+    private static final String QUERY = "SELECT "
+            + Stream.of(COLUMNS).map(Column::sql).collect(Collectors.joining(", "))
+            + " FROM talents WHERE customer_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public TalentExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${talent.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // PostgreSQL only uses a cursor with a fetch size inside a transaction; otherwise it buffers every row
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Write all talents of a customer, ordered by ID.
+     * Runs outside the request thread, so the customer is passed in rather than taken from the tenant context.
+     * @param customerId The customer ID
+     * @param format The output format
+     * @param gzip true to gzip the output
+     * @param out The response stream
+     * @return The number of talents written
+     * @throws IOException if the client goes away
+     */
+    public long export(Integer customerId, TalentFileFormat format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonGenerator json = format == TalentFileFormat.NDJSON ? jsonGenerator(writer) : null;
+        long[] count = new long[1];
+        try {
+            if (format == TalentFileFormat.CSV) {
+                writeCsvHeader(writer);
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(QUERY, rs -> {
+                try {
+                    if (json != null) {
+                        writeJsonRow(json, rs);
+                    } else {
+                        writeCsvRow(writer, rs);
+                    }
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, customerId));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (json != null) {
+            json.flush();
+            if (count[0] > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        return count[0];
+    }
+
+    /**
+     * One generator for the whole stream, one object per line; it only flushes when its buffer is full
+     */
+    private JsonGenerator jsonGenerator(Writer writer) throws IOException {
+        JsonGenerator json = jsonFactory.createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        return json;
+    }
+
+    private void writeJsonRow(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Column column = COLUMNS[i];
+            Object value = rs.getObject(i + 1);
+            if (value == null) {
+                json.writeNullField(column.name());
+            } else if (column.kind() == Kind.NUMBER) {
+                json.writeFieldName(column.name());
+                json.writeNumber(text(column, value));
+            } else {
+                json.writeStringField(column.name(), text(column, value));
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private void writeCsvHeader(Writer writer) throws IOException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS[i].name());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvRow(Writer writer, ResultSet rs) throws IOException, SQLException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = rs.getObject(i + 1);
+            if (value != null) {
+                writeCsvValue(writer, COLUMNS[i], text(COLUMNS[i], value));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting; free-text cells are guarded against formula evaluation
+     */
+    private void writeCsvValue(Writer writer, Column column, String value) throws IOException {
+        if (column.kind() == Kind.TEXT) {
+            value = guard(value);
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * Put a leading quote in front of a cell that a spreadsheet would run as a formula. Cells that already
+     * start with a quote get one too, so the import can take exactly one off again.
+     */
+    static String guard(String value) {
+        return !value.isEmpty() && (FORMULA_PREFIXES + "'").indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    private String text(Column column, Object value) {
+        return switch (column.kind()) {
+            // ISO-8601, as the API serializes LocalDate and LocalDateTime
+            case DATE -> ((Date) value).toLocalDate().toString();
+            case TIMESTAMP -> ((Timestamp) value).toLocalDateTime().toString();
+            case NUMBER -> value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            case TEXT -> value.toString();
+        };
+    }
+}
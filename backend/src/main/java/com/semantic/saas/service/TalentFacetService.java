@@ -0,0 +1,112 @@
+package com.semantic.saas.service;
+
+import com.semantic.saas.dto.FacetValue;
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.repository.TalentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Facet counts (skills, location, availability, desired position) for the talent search box.
+ * Counts are computed with a single grouped query and cached per tenant until the tenant's talents change.
+ */
+@Service
+public class TalentFacetService {
+
+    public static final List<String> FACETS = List.of("skills", "location", "availability", "desiredPosition");
+
+    private static final int MAX_CACHED_QUERIES_PER_TENANT = 256;
+
+    private final TalentRepository talentRepository;
+    private final Map<Integer, Map<String, Map<String, List<FacetValue>>>> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TalentFacetService(TalentRepository talentRepository) {
+        this.talentRepository = talentRepository;
+    }
+
+    /**
+     * Get the top values of each facet for the talents matching a query
+     * @param customerId The customer ID
+     * @param keyword Optional full-text query, null or blank for all talents
+     * @param limit The number of values to return per facet
+     * @return Facet name -> values with counts, most frequent first
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FacetValue>> getFacets(Integer customerId, String keyword, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Facet limit must be at least 1");
+        }
+
+        String key = (keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT)) + "|" + limit;
+
+        // Captured before querying: if the tenant is invalidated meanwhile, the result lands in a detached map
+        Map<String, Map<String, List<FacetValue>>> tenantCache =
+                cache.computeIfAbsent(customerId, id -> new ConcurrentHashMap<>());
+        Map<String, List<FacetValue>> cached = tenantCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TalentSearchQuery query = keyword == null ? null : TalentSearchQuery.parse(keyword);
+        List<Object[]> rows = query == null || query.isEmpty()
+                ? talentRepository.countFacets(customerId, limit)
+                : talentRepository.countFacetsForSearch(customerId, query.text(), query.prefix(), limit);
+
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            facets.put(facet, new ArrayList<>());
+        }
+        for (Object[] row : rows) {
+            facets.get((String) row[0]).add(new FacetValue((String) row[1], ((Number) row[2]).longValue()));
+        }
+        facets.replaceAll((facet, values) -> Collections.unmodifiableList(values));
+        Map<String, List<FacetValue>> result = Collections.unmodifiableMap(facets);
+
+        if (tenantCache.size() >= MAX_CACHED_QUERIES_PER_TENANT) {
+            tenantCache.clear();
+        }
+        tenantCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Drop the cached facet counts of a tenant
+     * @param customerId The customer ID
+     */
+    public void invalidate(Integer customerId) {
+        cache.remove(customerId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            cache.clear();
+        } else {
+            invalidate(event.customerId());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.semantic.saas.service;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File formats of talent export and import
+ */
+public enum TalentFileFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TalentFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse the "format" request parameter
+     * @param format Either "ndjson" or "csv"
+     * @return The format
+     */
+    public static TalentFileFormat parse(String format) {
+        for (TalentFileFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown format: " + format + " (expected ndjson or csv)");
+    }
+}
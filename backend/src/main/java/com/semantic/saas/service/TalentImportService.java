@@ -0,0 +1,497 @@
+package com.semantic.saas.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.semantic.saas.dto.TalentDTO;
+import com.semantic.saas.dto.TalentImportReport;
+import com.semantic.saas.dto.TalentImportReport.RowError;
+import com.semantic.saas.event.TalentsImportedEvent;
+import com.semantic.saas.index.SkillNormalizer;
+import com.semantic.saas.index.TalentDuplicateIndex;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.CustomerRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import of talents from CSV or NDJSON, optionally gzipped.
+ * Rows are parsed and validated one at a time and streamed into a temporary staging table with COPY,
+ * then merged into talents with a single INSERT ... SELECT. Memory holds one row plus the error report,
+ * whatever the size of the file. Either every valid row is imported or, on a fatal error, none is.
+ */
+@Service
+public class TalentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TalentImportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+    /** TalentDTO properties that can be imported; other CSV columns, such as those of an export, are ignored */
+    private static final List<String> IMPORTED_FIELDS = List.of(
+            "firstName", "lastName", "email", "phone", "skills", "experience", "education", "dateOfBirth",
+            "location", "linkedinUrl", "githubUrl", "portfolioUrl", "resumeUrl", "currentPosition",
+            "desiredPosition", "salaryExpectation", "availability", "notes");
+
+    private static final String STAGING_COLUMNS = "line, first_name, last_name, email, phone, skills, experience, "
+            + "education, date_of_birth, location, linkedin_url, github_url, portfolio_url, resume_url, current_position, "
+            + "desired_position, salary_expectation, availability, notes, total_experience_months, seniority, "
+            + "experience_ongoing, experience_extracted_on, latitude, longitude, geohash, location_geocoded_on";
+
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMPORARY TABLE talent_import ("
+            + "line BIGINT NOT NULL, id INT, first_name TEXT, last_name TEXT, email TEXT, phone TEXT, skills TEXT, "
+            + "experience TEXT, education TEXT, date_of_birth DATE, location TEXT, linkedin_url TEXT, github_url TEXT, "
+            + "portfolio_url TEXT, resume_url TEXT, current_position TEXT, desired_position TEXT, "
+            + "salary_expectation DECIMAL(12,2), availability TEXT, notes TEXT, total_experience_months INT, "
+            + "seniority TEXT, experience_ongoing BOOLEAN, experience_extracted_on DATE, latitude DOUBLE PRECISION, "
+            + "longitude DOUBLE PRECISION, geohash TEXT, location_geocoded_on DATE, normalized_skills TEXT"
+            + ") ON COMMIT DROP";
+
+    // Keeps the first row of every email; later rows of the same email are reported
+    private static final String DELETE_REPEATED_EMAILS = "DELETE FROM talent_import i USING talent_import earlier "
+            + "WHERE i.email = earlier.email AND i.line > earlier.line RETURNING i.line";
+
+    private static final String DELETE_EXISTING_EMAILS = "DELETE FROM talent_import i USING talents t "
+            + "WHERE t.email = i.email RETURNING i.line";
+
+    // Takes IDs a block at a time like Hibernate does; letting each row call nextval would burn a whole block per row
+    private static final String ASSIGN_IDS = "WITH numbered AS ("
+            + "SELECT line, row_number() OVER (ORDER BY line) - 1 AS n FROM talent_import), "
+            + "blocks AS (SELECT row_number() OVER () - 1 AS b, nextval('talents_id_seq') AS first_id "
+            + "FROM generate_series(1, (SELECT (count(*) + ? - 1) / ? FROM talent_import))) "
+            + "UPDATE talent_import i SET id = blocks.first_id + numbered.n % ? "
+            + "FROM numbered JOIN blocks ON blocks.b = numbered.n / ? WHERE i.line = numbered.line";
+
+    // ON CONFLICT covers talents created concurrently since the check above; those rows come back without an ID
+    private static final String MERGE = "WITH inserted AS ("
+            + "INSERT INTO talents (id, customer_id, " + STAGING_COLUMNS.substring("line, ".length()) + ") "
+            + "SELECT id, ?, " + STAGING_COLUMNS.substring("line, ".length()) + " FROM talent_import ORDER BY line "
+            + "ON CONFLICT (email) DO NOTHING RETURNING id, email), "
+            + "skills AS (INSERT INTO talent_skills (talent_id, skill) "
+            + "SELECT inserted.id, s.skill FROM inserted JOIN talent_import i ON i.email = inserted.email "
+            + "CROSS JOIN LATERAL unnest(string_to_array(i.normalized_skills, ',')) AS s(skill) "
+            + "WHERE i.normalized_skills <> '') "
+            + "SELECT i.line, inserted.id FROM talent_import i LEFT JOIN inserted ON inserted.email = i.email ORDER BY i.line";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerRepository customerRepository;
+    private final TalentService talentService;
+    private final TalentDuplicateIndex talentDuplicateIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader dtoReader;
+    private final Validator validator;
+    private final int maxRows;
+    private final int maxErrors;
+
+    @Autowired
+    public TalentImportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            CustomerRepository customerRepository,
+            TalentService talentService,
+            TalentDuplicateIndex talentDuplicateIndex,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${talent.import.max-rows:200000}") int maxRows,
+            @Value("${talent.import.max-errors:1000}") int maxErrors) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.customerRepository = customerRepository;
+        this.talentService = talentService;
+        this.talentDuplicateIndex = talentDuplicateIndex;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.dtoReader = objectMapper.readerFor(TalentDTO.class);
+        this.validator = validator;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Import talents. Rows that fail TalentDTO validation, whose email already exists or that are likely duplicates
+     * of existing talents by profile similarity, as with single creates, are skipped and reported.
+     * @param customerId The customer ID
+     * @param format The file format
+     * @param in The file, gzipped or not
+     * @param allowDuplicates true to import rows even if they look like existing talents
+     * @return The number of imported talents and the errors of the skipped rows
+     * @throws IllegalArgumentException if the file cannot be read as the format, or has more than talent.import.max-rows rows
+     * @throws EntityNotFoundException if the customer does not exist
+     */
+    public TalentImportReport importTalents(Integer customerId, TalentFileFormat format, InputStream in,
+                                            boolean allowDuplicates) throws IOException {
+        customerRepository.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id " + customerId));
+
+        Reader reader = new InputStreamReader(decompress(in), StandardCharsets.UTF_8);
+        long start = System.currentTimeMillis();
+        try {
+            TalentImportReport report = transactionTemplate.execute(status -> {
+                try {
+                    return importRows(customerId, format, reader, allowDuplicates);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Import failed for customer " + customerId, e);
+                }
+            });
+            logger.info("Imported {} of {} talents for tenant {} in {} ms",
+                    report.imported(), report.received(), customerId, System.currentTimeMillis() - start);
+            return report;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private TalentImportReport importRows(Integer customerId, TalentFileFormat format, Reader reader,
+                                          boolean allowDuplicates) throws IOException, SQLException {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+
+        Errors errors = new Errors();
+        // Loaded before COPY starts: nothing else may run on the connection until the COPY ends
+        Integer duplicateTenant = allowDuplicates ? null : customerId;
+        if (duplicateTenant != null) {
+            talentDuplicateIndex.preload(duplicateTenant);
+        }
+        // The connection of the surrounding transaction, so the staging table is visible to the statements below
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY talent_import (" + STAGING_COLUMNS + ", normalized_skills) FROM STDIN (FORMAT csv)");
+        int received;
+        try {
+            StagingWriter writer = new StagingWriter(copy);
+            received = format == TalentFileFormat.CSV
+                    ? readCsv(reader, writer, errors, duplicateTenant)
+                    : readNdjson(reader, writer, errors, duplicateTenant);
+            writer.flush();
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+
+        jdbcTemplate.execute("CREATE INDEX ON talent_import (email)");
+        jdbcTemplate.execute("ANALYZE talent_import");
+        jdbcTemplate.query(DELETE_REPEATED_EMAILS,
+                rs -> errors.reject(rs.getLong(1), List.of(emailError(rs.getLong(1), "Email appears earlier in the file"))));
+        jdbcTemplate.query(DELETE_EXISTING_EMAILS,
+                rs -> errors.reject(rs.getLong(1), List.of(emailError(rs.getLong(1), "Email already exists"))));
+
+        int blockSize = Talent.ID_ALLOCATION_SIZE;
+        jdbcTemplate.update(ASSIGN_IDS, blockSize, blockSize, blockSize, blockSize);
+
+        List<Integer> talentIds = new ArrayList<>();
+        jdbcTemplate.query(MERGE, rs -> {
+            int id = rs.getInt(2);
+            if (rs.wasNull()) {
+                errors.reject(rs.getLong(1), List.of(emailError(rs.getLong(1), "Email already exists")));
+            } else {
+                talentIds.add(id);
+            }
+        }, customerId);
+
+        if (!talentIds.isEmpty()) {
+            eventPublisher.publishEvent(new TalentsImportedEvent(customerId, talentIds));
+        }
+        return errors.report(received, talentIds.size());
+    }
+
+    private int readCsv(Reader reader, StagingWriter writer, Errors errors, Integer duplicateTenant)
+            throws IOException, SQLException {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_RECORD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            return 0;
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            // Byte order mark of files saved by spreadsheet programs
+            header.set(0, header.get(0).substring(1));
+        }
+        for (String required : List.of("firstName", "lastName", "email")) {
+            if (!header.contains(required)) {
+                throw new IllegalArgumentException("CSV header must contain firstName, lastName and email");
+            }
+        }
+
+        int received = 0;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            received = count(received);
+            long line = csv.getRecordLine();
+            if (fields.size() != header.size()) {
+                errors.reject(line, List.of(new RowError(line, null,
+                        "Expected " + header.size() + " fields but found " + fields.size())));
+                continue;
+            }
+            ObjectNode row = objectMapper.createObjectNode();
+            for (int i = 0; i < header.size(); i++) {
+                String value = fields.get(i);
+                if (IMPORTED_FIELDS.contains(header.get(i)) && !value.isEmpty()) {
+                    row.put(header.get(i), unguard(value));
+                }
+            }
+            stage(line, () -> dtoReader.readValue(row), writer, errors, duplicateTenant);
+        }
+        return received;
+    }
+
+    private int readNdjson(Reader reader, StagingWriter writer, Errors errors, Integer duplicateTenant)
+            throws IOException, SQLException {
+        StringBuilder buffer = new StringBuilder();
+        int received = 0;
+        long line = 0;
+        while (readLine(reader, buffer)) {
+            line++;
+            String json = buffer.toString();
+            if (json.isBlank()) {
+                continue;
+            }
+            received = count(received);
+            stage(line, () -> dtoReader.readValue(json), writer, errors, duplicateTenant);
+        }
+        return received;
+    }
+
+    private interface RowParser {
+        TalentDTO parse() throws IOException;
+    }
+
+    /**
+     * Parse, validate and derive one row, then send it to the staging table or report it
+     * @param duplicateTenant The tenant whose talents the row must not look like, or null to skip the check
+     */
+    private void stage(long line, RowParser parser, StagingWriter writer, Errors errors, Integer duplicateTenant)
+            throws IOException, SQLException {
+        TalentDTO dto;
+        try {
+            dto = parser.parse();
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            errors.reject(line, List.of(new RowError(line, field, field == null ? "Not a talent object" : "Invalid value")));
+            return;
+        } catch (JsonProcessingException e) {
+            errors.reject(line, List.of(new RowError(line, null, "Malformed JSON: " + e.getOriginalMessage())));
+            return;
+        }
+
+        Set<ConstraintViolation<TalentDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            errors.reject(line, violations.stream()
+                    .map(violation -> new RowError(line, violation.getPropertyPath().toString(), violation.getMessage()))
+                    .sorted(Comparator.comparing(RowError::field))
+                    .toList());
+            return;
+        }
+
+        Talent talent = dto.toEntity();
+        // IDs in the file, e.g. of an export, are not imported and must not hide the talent they belong to
+        talent.setId(null);
+        if (duplicateTenant != null) {
+            // Only existing talents are compared; rows of the same file are not indexed until they commit
+            List<TalentDuplicateIndex.Candidate> duplicates = talentDuplicateIndex.findCandidates(duplicateTenant, talent);
+            if (!duplicates.isEmpty()) {
+                TalentDuplicateIndex.Candidate closest = duplicates.get(0);
+                errors.reject(line, List.of(new RowError(line, null, String.format(Locale.ROOT,
+                        "Likely duplicate of talent %d (similarity %.2f)", closest.talentId(), closest.similarity()))));
+                return;
+            }
+        }
+        talentService.deriveAttributes(talent, LocalDate.now());
+        writer.write(line, talent, String.join(",", SkillNormalizer.normalize(talent.getSkills())));
+    }
+
+    private int count(int received) {
+        if (received >= maxRows) {
+            throw new IllegalArgumentException("Import is limited to " + maxRows + " rows per file");
+        }
+        return received + 1;
+    }
+
+    /**
+     * Read up to the next line break
+     * @return false at the end of the input
+     * @throws IllegalArgumentException if the line is longer than MAX_RECORD_LENGTH
+     */
+    private static boolean readLine(Reader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (buffer.length() == MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("Line is longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (c != '\r') {
+                buffer.append((char) c);
+            }
+            c = reader.read();
+        }
+        return true;
+    }
+
+    /**
+     * Undo {@link TalentExportService#guard}
+     */
+    static String unguard(String value) {
+        return value.length() > 1 && value.charAt(0) == '\''
+                && (TalentExportService.FORMULA_PREFIXES + "'").indexOf(value.charAt(1)) >= 0
+                ? value.substring(1)
+                : value;
+    }
+
+    private static RowError emailError(long line, String message) {
+        return new RowError(line, "email", message);
+    }
+
+    private static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        // Gzip magic number, so clients can send compressed files without a Content-Encoding the container ignores
+        return first == 0x1f && second == 0x8b ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+
+    /**
+     * Encodes rows as COPY CSV and sends them in large chunks. Every value is quoted,
+     * so an empty string stays distinct from an unquoted empty field, which is NULL.
+     */
+    private static class StagingWriter {
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+        StagingWriter(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        void write(long line, Talent talent, String normalizedSkills) throws SQLException {
+            buffer.append(line);
+            append(talent.getFirstName());
+            append(talent.getLastName());
+            append(talent.getEmail());
+            append(talent.getPhone());
+            append(talent.getSkills());
+            append(talent.getExperience());
+            append(talent.getEducation());
+            append(talent.getDateOfBirth());
+            append(talent.getLocation());
+            append(talent.getLinkedinUrl());
+            append(talent.getGithubUrl());
+            append(talent.getPortfolioUrl());
+            append(talent.getResumeUrl());
+            append(talent.getCurrentPosition());
+            append(talent.getDesiredPosition());
+            append(talent.getSalaryExpectation() == null ? null : BigDecimal.valueOf(talent.getSalaryExpectation()).toPlainString());
+            append(talent.getAvailability());
+            append(talent.getNotes());
+            append(talent.getTotalExperienceMonths());
+            append(talent.getSeniority() == null ? null : talent.getSeniority().name());
+            append(talent.isExperienceOngoing());
+            append(talent.getExperienceExtractedOn());
+            append(talent.getLatitude());
+            append(talent.getLongitude());
+            append(talent.getGeohash());
+            append(talent.getLocationGeocodedOn());
+            append(normalizedSkills);
+            buffer.append('\n');
+            if (buffer.length() >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (buffer.length() > 0) {
+                byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+                buffer.setLength(0);
+            }
+        }
+
+        private void append(Object value) {
+            buffer.append(',');
+            if (value != null) {
+                buffer.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+    }
+
+    /**
+     * Rejected rows and the first errors, kept in line order for the report
+     */
+    private class Errors {
+
+        private final Map<Long, List<RowError>> byLine = new HashMap<>();
+        private int rejected;
+        private int reported;
+        private boolean truncated;
+
+        void reject(long line, List<RowError> rowErrors) {
+            rejected++;
+            for (RowError error : rowErrors) {
+                if (reported == maxErrors) {
+                    truncated = true;
+                    return;
+                }
+                byLine.computeIfAbsent(line, key -> new ArrayList<>()).add(error);
+                reported++;
+            }
+        }
+
+        TalentImportReport report(int received, int imported) {
+            List<RowError> errors = byLine.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .flatMap(entry -> entry.getValue().stream())
+                    .toList();
+            return new TalentImportReport(received, imported, rejected, errors, truncated);
+        }
+    }
+}
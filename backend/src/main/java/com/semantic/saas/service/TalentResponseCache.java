@@ -0,0 +1,178 @@
+package com.semantic.saas.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.semantic.saas.event.CacheInvalidationEvent;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.event.TalentsDerivedEvent;
+import com.semantic.saas.event.TalentsImportedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized list and search pages, kept as JSON bytes and, for larger pages, gzipped bytes.
+ * A hit writes a stored array to the response; it needs neither the database nor Jackson.
+ * <p>
+ * Keys contain the tenant's write generation, which moves forward after every committed talent change.
+ * Invalidating a tenant is a single increment: pages of older generations are never looked up again
+ * and age out of the byte budget. A page loaded while a change commits is stored under the generation
+ * read before loading, so it can never be served as current.
+ */
+@Component
+public class TalentResponseCache {
+
+    // Smaller bodies do not shrink enough to be worth a Content-Encoding
+    private static final int MIN_GZIP_LENGTH = 512;
+    // Rough heap cost of a key and an entry without the arrays
+    private static final int ENTRY_OVERHEAD = 160;
+
+    /**
+     * A serialized response body
+     * @param json The JSON bytes
+     * @param gzip The same bytes gzipped, or null if the body is too small to compress
+     * @param hash Hash of the JSON bytes, the base of the ETags
+     */
+    public record CachedResponse(byte[] json, byte[] gzip, String hash) {
+
+        /**
+         * Strong ETag of one encoding of the body. It depends on the bytes only,
+         * so every node hands out the same tag for the same page.
+         * @param gzipped true for the gzipped body
+         * @return The quoted ETag
+         */
+        public String eTag(boolean gzipped) {
+            return gzipped ? "\"" + hash + "-gz\"" : "\"" + hash + "\"";
+        }
+    }
+
+    private record Key(Integer customerId, long generation, String query) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Key, CachedResponse> responses;
+    private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public TalentResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${talent.response-cache.enabled:true}") boolean enabled,
+            @Value("${talent.response-cache.max-bytes:33554432}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, CachedResponse response) -> weigh(key, response))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get a serialized response from the cache, or load, serialize and cache it
+     * @param customerId The customer ID
+     * @param query The normalized request; requests that return the same body must map to the same string
+     * @param loader Builds the response body on a miss; exceptions are passed on and nothing is cached
+     * @return The serialized body
+     */
+    public CachedResponse get(Integer customerId, String query, Supplier<?> loader) {
+        Key key = new Key(customerId, generation(customerId).get(), query);
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CachedResponse loaded = serialize(loader.get());
+        responses.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Make all cached pages of a tenant unreachable
+     * @param customerId The customer ID
+     */
+    public void invalidate(Integer customerId) {
+        generation(customerId).incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentChanged(TalentChangedEvent event) {
+        invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsImported(TalentsImportedEvent event) {
+        invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTalentsDerived(TalentsDerivedEvent event) {
+        invalidate(event.customerId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.customerId() == null) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            responses.invalidateAll();
+        } else {
+            invalidate(event.customerId());
+        }
+    }
+
+    private AtomicLong generation(Integer customerId) {
+        return generations.computeIfAbsent(customerId, id -> new AtomicLong());
+    }
+
+    private CachedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String hash = hash(json);
+            if (json.length < MIN_GZIP_LENGTH) {
+                return new CachedResponse(json, null, hash);
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(json);
+            }
+            return new CachedResponse(json, buffer.toByteArray(), hash);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            // 128 bits are plenty to tell versions of one page apart
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static int weigh(Key key, CachedResponse response) {
+        return ENTRY_OVERHEAD + 2 * key.query().length() + 2 * response.hash().length() + response.json().length
+                + (response.gzip() == null ? 0 : response.gzip().length);
+    }
+}
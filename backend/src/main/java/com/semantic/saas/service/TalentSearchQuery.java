@@ -0,0 +1,51 @@
+package com.semantic.saas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A user search string split into the two parts Postgres full-text search understands.
+ * Plain words, quoted phrases, "or" and "-exclusions" go to websearch_to_tsquery;
+ * words ending in '*' become prefix terms for to_tsquery (e.g. "kube*" matches "kubernetes").
+ */
+public record TalentSearchQuery(String text, String prefix) {
+
+    /**
+     * Parse a search keyword
+     * @param keyword The raw keyword entered by the user
+     * @return The parsed query
+     */
+    public static TalentSearchQuery parse(String keyword) {
+        StringBuilder text = new StringBuilder();
+        List<String> prefixes = new ArrayList<>();
+        boolean inPhrase = false;
+
+        for (String token : keyword.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            // Track quoted phrases so a '*' inside quotes is left to websearch_to_tsquery
+            int quotes = token.length() - token.replace("\"", "").length();
+            if (!inPhrase && quotes == 0 && token.length() > 1 && token.endsWith("*")) {
+                String term = token.substring(0, token.length() - 1).replaceAll("[^\\p{L}\\p{N}_]", "");
+                if (!term.isEmpty()) {
+                    prefixes.add(term + ":*");
+                }
+                continue;
+            }
+            if (quotes % 2 == 1) {
+                inPhrase = !inPhrase;
+            }
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(token);
+        }
+
+        return new TalentSearchQuery(text.toString(), String.join(" & ", prefixes));
+    }
+
+    public boolean isEmpty() {
+        return text.isBlank() && prefix.isBlank();
+    }
+}
@@ -1,28 +1,100 @@
 package com.semantic.saas.service;
 
+import com.semantic.saas.dto.DuplicateCandidate;
+import com.semantic.saas.dto.TalentCacheStats;
+import com.semantic.saas.dto.TalentCursor;
+import com.semantic.saas.dto.TalentDTO;
+import com.semantic.saas.dto.TalentFilter;
+import com.semantic.saas.dto.TalentSearchHit;
+import com.semantic.saas.dto.TalentSummary;
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.exception.DuplicateTalentException;
+import com.semantic.saas.exception.TalentModifiedException;
+import com.semantic.saas.index.ExperienceExtractor;
+import com.semantic.saas.index.Gazetteer;
+import com.semantic.saas.index.SkillBitmapIndex;
+import com.semantic.saas.index.SkillFilter;
+import com.semantic.saas.index.SkillNormalizer;
+import com.semantic.saas.index.TalentDuplicateIndex;
+import com.semantic.saas.index.TalentLuceneIndex;
+import com.semantic.saas.index.TalentSuggestIndex;
+import com.semantic.saas.index.TalentVectorIndex;
 import com.semantic.saas.model.Customer;
 import com.semantic.saas.model.Talent;
 import com.semantic.saas.repository.CustomerRepository;
 import com.semantic.saas.repository.TalentRepository;
+import com.semantic.saas.repository.TalentSpecifications;
 import jakarta.persistence.EntityNotFoundException;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class TalentService {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final TalentRepository talentRepository;
     private final CustomerRepository customerRepository;
+    private final SkillBitmapIndex skillBitmapIndex;
+    private final TalentLuceneIndex talentLuceneIndex;
+    private final TalentVectorIndex talentVectorIndex;
+    private final TalentDuplicateIndex talentDuplicateIndex;
+    private final TalentSuggestIndex talentSuggestIndex;
+    private final Gazetteer gazetteer;
+    private final TalentDetailCache talentDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${talent.search.fuzzy-threshold:0.3}")
+    private double defaultFuzzyThreshold;
+
+    @Value("${talent.filter.unindexed:warn}")
+    private String unindexedFilterPolicy;
 
     @Autowired
-    public TalentService(TalentRepository talentRepository, CustomerRepository customerRepository) {
+    public TalentService(
+            TalentRepository talentRepository,
+            CustomerRepository customerRepository,
+            SkillBitmapIndex skillBitmapIndex,
+            TalentLuceneIndex talentLuceneIndex,
+            TalentVectorIndex talentVectorIndex,
+            TalentDuplicateIndex talentDuplicateIndex,
+            TalentSuggestIndex talentSuggestIndex,
+            Gazetteer gazetteer,
+            TalentDetailCache talentDetailCache,
+            ApplicationEventPublisher eventPublisher) {
         this.talentRepository = talentRepository;
         this.customerRepository = customerRepository;
+        this.skillBitmapIndex = skillBitmapIndex;
+        this.talentLuceneIndex = talentLuceneIndex;
+        this.talentVectorIndex = talentVectorIndex;
+        this.talentDuplicateIndex = talentDuplicateIndex;
+        this.talentSuggestIndex = talentSuggestIndex;
+        this.gazetteer = gazetteer;
+        this.talentDetailCache = talentDetailCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -30,6 +102,11 @@ public class TalentService {
         return talentRepository.findAllByCustomerId(customerId, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Page<TalentSummary> getTalentSummaries(Integer customerId, Pageable pageable) {
+        return talentRepository.findSummariesByCustomerId(customerId, pageable);
+    }
+
     @Transactional(readOnly = true)
     public List<Talent> getAllTalents(Integer customerId) {
         return talentRepository.findAllByCustomerId(customerId);
@@ -41,13 +118,110 @@ public class TalentService {
                 .orElseThrow(() -> new EntityNotFoundException("Talent not found with id " + talentId));
     }
 
+    /**
+     * Get a talent for display, from the talent detail cache when possible.
+     * Not transactional, so a cache hit does not take a database connection.
+     * @param talentId The talent ID
+     * @param customerId The customer ID
+     * @return The talent
+     * @throws EntityNotFoundException if the tenant has no such talent
+     */
+    public TalentDTO getTalentDetail(Integer talentId, Integer customerId) {
+        return talentDetailCache.get(customerId, talentId, () -> new TalentDTO(
+                talentRepository.findByIdAndCustomerId(talentId, customerId)
+                        .orElseThrow(() -> new EntityNotFoundException("Talent not found with id " + talentId))));
+    }
+
+    /**
+     * Statistics of the talent detail cache of a tenant
+     * @param customerId The customer ID
+     * @return The statistics
+     */
+    public TalentCacheStats getTalentCacheStats(Integer customerId) {
+        return talentDetailCache.stats(customerId);
+    }
+
+    /**
+     * Create a talent
+     * @param talent The talent
+     * @param customerId The customer ID
+     * @param allowDuplicates true to create the talent even if it looks like an existing one
+     * @return The saved talent
+     * @throws DuplicateTalentException if duplicates are not allowed and likely duplicates exist
+     */
     @Transactional
-    public Talent createTalent(Talent talent, Integer customerId) {
+    public Talent createTalent(Talent talent, Integer customerId, boolean allowDuplicates) {
+        if (!allowDuplicates) {
+            List<DuplicateCandidate> duplicates = findDuplicateCandidates(customerId, talent);
+            if (!duplicates.isEmpty()) {
+                throw new DuplicateTalentException(duplicates);
+            }
+        }
+        
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found with id " + customerId));
         
+        // Versioned entities count as new by their null version; an ID sent by the client would make persist fail
+        talent.setId(null);
         talent.setCustomer(customer);
-        return talentRepository.save(talent);
+        talent.setNormalizedSkills(SkillNormalizer.normalize(talent.getSkills()));
+        deriveAttributes(talent, LocalDate.now());
+        Talent savedTalent = talentRepository.save(talent);
+        
+        eventPublisher.publishEvent(TalentChangedEvent.created(customerId, savedTalent));
+        return savedTalent;
+    }
+
+    /**
+     * Create several talents in one transaction. IDs come from the sequence in blocks and the inserts
+     * go out in JDBC batches, so a batch costs a few round trips rather than one per talent.
+     * @param talents The talents
+     * @param customerId The customer ID
+     * @param allowDuplicates true to create talents even if they look like existing ones
+     * @return The saved talents, in the given order
+     * @throws IllegalArgumentException if there are too many talents or an email is repeated or already taken
+     * @throws DuplicateTalentException if duplicates are not allowed and a talent has likely duplicates
+     */
+    @Transactional
+    public List<Talent> createTalents(List<Talent> talents, Integer customerId, boolean allowDuplicates) {
+        if (talents.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " talents can be created at once");
+        }
+        Set<String> emails = new HashSet<>();
+        for (Talent talent : talents) {
+            if (!emails.add(talent.getEmail())) {
+                throw new IllegalArgumentException("Email appears more than once: " + talent.getEmail());
+            }
+        }
+        List<String> existing = talentRepository.findExistingEmails(emails);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("Email already exists: " + existing.get(0));
+        }
+        if (!allowDuplicates) {
+            for (Talent talent : talents) {
+                List<DuplicateCandidate> duplicates = findDuplicateCandidates(customerId, talent);
+                if (!duplicates.isEmpty()) {
+                    throw new DuplicateTalentException(duplicates);
+                }
+            }
+        }
+        
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id " + customerId));
+        
+        LocalDate today = LocalDate.now();
+        for (Talent talent : talents) {
+            talent.setId(null);
+            talent.setCustomer(customer);
+            talent.setNormalizedSkills(SkillNormalizer.normalize(talent.getSkills()));
+            deriveAttributes(talent, today);
+        }
+        List<Talent> savedTalents = talentRepository.saveAll(talents);
+        
+        for (Talent savedTalent : savedTalents) {
+            eventPublisher.publishEvent(TalentChangedEvent.created(customerId, savedTalent));
+        }
+        return savedTalents;
     }
 
     @Transactional
@@ -74,18 +248,475 @@ public class TalentService {
         talent.setAvailability(talentDetails.getAvailability());
         talent.setNotes(talentDetails.getNotes());
         
-        return talentRepository.save(talent);
+        // Keep the normalized skills in step with the free-text column
+        Set<String> skills = SkillNormalizer.normalize(talent.getSkills());
+        talent.getNormalizedSkills().retainAll(skills);
+        talent.getNormalizedSkills().addAll(skills);
+        deriveAttributes(talent, LocalDate.now());
+        
+        Talent updatedTalent = talentRepository.save(talent);
+        
+        eventPublisher.publishEvent(TalentChangedEvent.updated(customerId, updatedTalent));
+        return updatedTalent;
+    }
+
+    /**
+     * Update a talent only if it still has one of the given versions (If-Match).
+     * The row is written by a single conditional UPDATE without reading it first;
+     * the updated talent is then loaded for the response and the change event.
+     * @param talentId The talent ID
+     * @param talentDetails The new talent values
+     * @param customerId The customer ID
+     * @param versions The acceptable current versions
+     * @return The updated talent
+     * @throws EntityNotFoundException if the tenant has no such talent
+     * @throws TalentModifiedException if the talent has another version
+     */
+    @Transactional
+    public Talent updateTalentIfMatch(Integer talentId, Talent talentDetails, Integer customerId, Collection<Long> versions) {
+        deriveAttributes(talentDetails, LocalDate.now());
+        talentDetails.setUpdatedAt(LocalDateTime.now());
+        
+        if (versions.isEmpty() || talentRepository.updateIfVersion(talentId, customerId, versions, talentDetails) == 0) {
+            // Only a failed update pays for telling a missing talent from a stale version
+            throw new TalentModifiedException(talentId, getTalentById(talentId, customerId).getVersion());
+        }
+        
+        Talent talent = getTalentById(talentId, customerId);
+        Set<String> skills = SkillNormalizer.normalize(talent.getSkills());
+        talent.getNormalizedSkills().retainAll(skills);
+        talent.getNormalizedSkills().addAll(skills);
+        
+        eventPublisher.publishEvent(TalentChangedEvent.updated(customerId, talent));
+        return talent;
+    }
+
+    /**
+     * Compute the columns derived from free text: experience months and seniority, and coordinates
+     * @param talent The talent to update
+     * @param today The date the derivation is based on
+     */
+    public void deriveAttributes(Talent talent, LocalDate today) {
+        ExperienceExtractor.apply(talent, today);
+        gazetteer.apply(talent, today);
     }
 
     @Transactional
     public void deleteTalent(Integer talentId, Integer customerId) {
         Talent talent = getTalentById(talentId, customerId);
         talentRepository.delete(talent);
+        
+        eventPublisher.publishEvent(TalentChangedEvent.deleted(customerId, talentId));
+    }
+
+    /**
+     * Filter talents by skills using the in-memory skill bitmap index
+     * @param customerId The customer ID
+     * @param filter The AND / OR / NOT skill filter
+     * @param pageable The page to return; results are ordered by ID
+     * @return The page of matching talents
+     */
+    @Transactional(readOnly = true)
+    public Page<TalentSummary> filterBySkills(Integer customerId, SkillFilter filter, Pageable pageable) {
+        RoaringBitmap matches = skillBitmapIndex.evaluate(customerId, filter);
+        int total = matches.getCardinality();
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        
+        List<Integer> ids = new ArrayList<>(to - from);
+        for (int rank = from; rank < to; rank++) {
+            ids.add(matches.select(rank));
+        }
+        
+        List<TalentSummary> rows = ids.isEmpty()
+                ? List.of()
+                : inIdOrder(ids, talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids), TalentSummary::id);
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    /**
+     * Filter talents by a structured filter tree, always within the customer
+     * @param customerId The customer ID
+     * @param filter The filter tree
+     * @param pageable The page and sort to return
+     * @return The page of matching talents
+     * @throws IllegalArgumentException if the filter is malformed, or unindexed while the policy is "refuse"
+     */
+    @Transactional(readOnly = true)
+    public Page<Talent> filterTalents(Integer customerId, TalentFilter filter, Pageable pageable) {
+        return talentRepository.findAll(
+                TalentSpecifications.belongsTo(customerId).and(TalentSpecifications.matching(filter)), pageable);
+    }
+
+    /**
+     * Build a radius filter
+     * @param near Either "lat,lon" or a place name known to the gazetteer, e.g. "Berlin, Germany"
+     * @param radiusKm The radius in kilometers
+     * @return The filter
+     * @throws IllegalArgumentException if the place is unknown
+     */
+    public TalentFilter nearFilter(String near, double radiusKm) {
+        String[] coordinates = near.split(",");
+        if (coordinates.length == 2) {
+            try {
+                return new TalentFilter.Near(new TalentFilter.Circle(
+                        Double.parseDouble(coordinates[0].trim()), Double.parseDouble(coordinates[1].trim()), radiusKm));
+            } catch (NumberFormatException e) {
+                // A place name such as "Portland, ME"
+            }
+        }
+        Gazetteer.Place place = gazetteer.geocode(near);
+        if (place == null) {
+            throw new IllegalArgumentException("Unknown place: " + near + " (expected lat,lon or a city name)");
+        }
+        return new TalentFilter.Near(new TalentFilter.Circle(place.latitude(), place.longitude(), radiusKm));
+    }
+
+    /**
+     * Check a filter against the unindexed filter policy
+     * @param filter The filter tree
+     * @return A warning if no index can narrow the filter down, otherwise null
+     * @throws IllegalArgumentException if the filter is malformed, or unindexed while the policy is "refuse"
+     */
+    public String checkFilter(TalentFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        TalentSpecifications.validate(filter);
+        if (TalentSpecifications.isIndexed(filter)) {
+            return null;
+        }
+        String message = "No index can narrow this filter down, it reads every talent of the customer; "
+                + "add a positive condition such as salary, location, availability or skills";
+        if ("refuse".equalsIgnoreCase(unindexedFilterPolicy)) {
+            throw new IllegalArgumentException(message);
+        }
+        return message;
+    }
+
+    /**
+     * Find existing talents that are likely the same person, e.g. with another email address
+     * @param customerId The customer ID
+     * @param talent The talent to check, saved or not
+     * @return The likely duplicates, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidate> findDuplicateCandidates(Integer customerId, Talent talent) {
+        List<TalentDuplicateIndex.Candidate> matches = talentDuplicateIndex.findCandidates(customerId, talent);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Integer> ids = matches.stream().map(TalentDuplicateIndex.Candidate::talentId).toList();
+        Map<Integer, TalentSummary> rows = new HashMap<>();
+        for (TalentSummary summary : talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids)) {
+            rows.put(summary.id(), summary);
+        }
+        List<DuplicateCandidate> candidates = new ArrayList<>(matches.size());
+        for (TalentDuplicateIndex.Candidate match : matches) {
+            TalentSummary summary = rows.get(match.talentId());
+            if (summary != null) {
+                candidates.add(new DuplicateCandidate(summary, match.similarity()));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Get the latest report of duplicate clusters, refreshed in the background
+     * @param customerId The customer ID
+     * @return The report
+     */
+    public TalentDuplicateIndex.DuplicateReport getDuplicateReport(Integer customerId) {
+        return talentDuplicateIndex.getReport(customerId);
     }
 
+    /**
+     * Full-text search ranked by relevance.
+     * Supports plain words, "quoted phrases", or, -exclusions and prefix terms ending in '*'.
+     * @param customerId The customer ID
+     * @param keyword The search query
+     * @param pageable The page to return (must be unsorted; results are ordered by rank)
+     * @return The page of matching talents, best matches first
+     */
     @Transactional(readOnly = true)
     public Page<Talent> searchTalents(Integer customerId, String keyword, Pageable pageable) {
-        return talentRepository.search(customerId, keyword, pageable);
+        TalentSearchQuery query = TalentSearchQuery.parse(keyword);
+        if (query.isEmpty()) {
+            return getAllTalents(customerId, pageable);
+        }
+        
+        Page<Integer> ids = talentRepository.searchRankedIds(customerId, query.text(), query.prefix(), pageable);
+        List<Talent> rows = ids.isEmpty()
+                ? List.of()
+                : talentRepository.findAllByCustomerIdAndIdIn(customerId, ids.getContent());
+        
+        return new PageImpl<>(inIdOrder(ids.getContent(), rows, Talent::getId), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Same as {@link #searchTalents} but returns summary projections
+     */
+    @Transactional(readOnly = true)
+    public Page<TalentSummary> searchTalentSummaries(Integer customerId, String keyword, Pageable pageable) {
+        TalentSearchQuery query = TalentSearchQuery.parse(keyword);
+        if (query.isEmpty()) {
+            return getTalentSummaries(customerId, pageable);
+        }
+        
+        Page<Integer> ids = talentRepository.searchRankedIds(customerId, query.text(), query.prefix(), pageable);
+        List<TalentSummary> rows = ids.isEmpty()
+                ? List.of()
+                : talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids.getContent());
+        
+        return new PageImpl<>(inIdOrder(ids.getContent(), rows, TalentSummary::id), pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Full-text search on the embedded Lucene index: BM25 with field boosts, Lucene query syntax and highlighting
+     * @param customerId The customer ID
+     * @param keyword The search query
+     * @param pageable The page to return (must be unsorted; results are ordered by score)
+     * @return The page of hits, best matches first
+     */
+    @Transactional(readOnly = true)
+    public Page<TalentSearchHit> searchTalentsWithLucene(Integer customerId, String keyword, Pageable pageable) {
+        requireLucene();
+        if (keyword == null || keyword.isBlank()) {
+            return Page.empty(pageable);
+        }
+        
+        TalentLuceneIndex.SearchResult result = talentLuceneIndex.search(
+                customerId, keyword.trim(), (int) pageable.getOffset(), pageable.getPageSize());
+        List<Integer> ids = result.hits().stream().map(TalentLuceneIndex.Hit::talentId).toList();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.totalHits());
+        }
+        
+        // The index may briefly lag behind deletes; rows that no longer exist are dropped
+        Map<Integer, TalentSummary> rows = new HashMap<>();
+        for (TalentSummary summary : talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids)) {
+            rows.put(summary.id(), summary);
+        }
+        List<TalentSearchHit> hits = new ArrayList<>(ids.size());
+        for (TalentLuceneIndex.Hit hit : result.hits()) {
+            TalentSummary summary = rows.get(hit.talentId());
+            if (summary != null) {
+                hits.add(new TalentSearchHit(summary, hit.score(), hit.highlights()));
+            }
+        }
+        return new PageImpl<>(hits, pageable, result.totalHits());
+    }
+
+    /**
+     * Semantic search: talents whose profiles are closest to the query in the local embedding space,
+     * so related wording matches even without shared keywords
+     * @param customerId The customer ID
+     * @param query The free-text query
+     * @param k The number of results, between 1 and 100
+     * @return Up to k hits, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<TalentSearchHit> semanticSearch(Integer customerId, String query, int k) {
+        if (k < 1 || k > 100) {
+            throw new IllegalArgumentException("k must be between 1 and 100");
+        }
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        
+        List<TalentVectorIndex.Hit> matches = talentVectorIndex.search(customerId, query, k);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Integer> ids = matches.stream().map(TalentVectorIndex.Hit::talentId).toList();
+        Map<Integer, TalentSummary> rows = new HashMap<>();
+        for (TalentSummary summary : talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids)) {
+            rows.put(summary.id(), summary);
+        }
+        List<TalentSearchHit> hits = new ArrayList<>(matches.size());
+        for (TalentVectorIndex.Hit match : matches) {
+            TalentSummary summary = rows.get(match.talentId());
+            if (summary != null) {
+                hits.add(new TalentSearchHit(summary, match.similarity(), Map.of()));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Autocomplete a search prefix from the in-memory suggest index, without querying the database
+     * @param customerId The customer ID
+     * @param prefix The typed prefix
+     * @param kinds Comma separated kinds to suggest (name, skill, position, location), null for all
+     * @param limit The maximum number of suggestions, between 1 and 50
+     * @return The suggestions, most used first
+     */
+    public List<TalentSuggestIndex.Suggestion> suggest(Integer customerId, String prefix, String kinds, int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new IllegalArgumentException("Limit must be between 1 and 50");
+        }
+        
+        Set<TalentSuggestIndex.Kind> selected = EnumSet.allOf(TalentSuggestIndex.Kind.class);
+        if (kinds != null && !kinds.isBlank()) {
+            selected = EnumSet.noneOf(TalentSuggestIndex.Kind.class);
+            for (String kind : kinds.split(",")) {
+                try {
+                    selected.add(TalentSuggestIndex.Kind.valueOf(kind.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown suggestion kind: " + kind.trim());
+                }
+            }
+        }
+        
+        return talentSuggestIndex.suggest(customerId, prefix, selected, limit);
+    }
+
+    /**
+     * Rebuild the tenant's Lucene index from the talents table
+     * @param customerId The customer ID
+     * @return The number of indexed talents
+     */
+    public int rebuildSearchIndex(Integer customerId) {
+        requireLucene();
+        return talentLuceneIndex.rebuild(customerId);
+    }
+
+    /**
+     * Compare the tenant's Lucene index with the talents table
+     * @param customerId The customer ID
+     * @return The consistency report
+     */
+    @Transactional(readOnly = true)
+    public TalentLuceneIndex.ConsistencyReport checkSearchIndex(Integer customerId) {
+        requireLucene();
+        return talentLuceneIndex.check(customerId);
+    }
+
+    /**
+     * Get the slice of talents that follows a cursor, without OFFSET or COUNT.
+     * With a keyword the slice holds full-text matches in ID order and the sort arguments are ignored.
+     * @param customerId The customer ID
+     * @param keyword Optional search query, null to list all talents
+     * @param sortField The sort field
+     * @param descending true to sort in descending order
+     * @param after The cursor of the previous slice, null for the first slice
+     * @param size The slice size
+     * @return The slice of talents
+     */
+    @Transactional(readOnly = true)
+    public Slice<Talent> scrollTalents(Integer customerId, String keyword, String sortField, boolean descending,
+                                       TalentCursor after, int size) {
+        TalentSearchQuery query = keyword != null ? TalentSearchQuery.parse(keyword) : null;
+        if (query != null && !query.isEmpty()) {
+            List<Integer> ids = searchIdsAfter(customerId, query, after, size + 1);
+            List<Talent> rows = ids.isEmpty()
+                    ? List.of()
+                    : talentRepository.findAllByCustomerIdAndIdIn(customerId, ids);
+            return toSlice(inIdOrder(ids, rows, Talent::getId), size);
+        }
+        
+        // Fetch one extra row to learn whether another slice exists
+        List<Talent> rows = talentRepository.findSlice(
+                customerId,
+                sortField,
+                descending,
+                after != null ? after.getLastValue() : null,
+                after != null ? after.getLastId() : null,
+                size + 1);
+        
+        return toSlice(rows, size);
+    }
+
+    /**
+     * Same as {@link #scrollTalents} but returns summary projections
+     */
+    @Transactional(readOnly = true)
+    public Slice<TalentSummary> scrollTalentSummaries(Integer customerId, String keyword, String sortField,
+                                                      boolean descending, TalentCursor after, int size) {
+        TalentSearchQuery query = keyword != null ? TalentSearchQuery.parse(keyword) : null;
+        if (query != null && !query.isEmpty()) {
+            List<Integer> ids = searchIdsAfter(customerId, query, after, size + 1);
+            List<TalentSummary> rows = ids.isEmpty()
+                    ? List.of()
+                    : talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids);
+            return toSlice(inIdOrder(ids, rows, TalentSummary::id), size);
+        }
+        
+        List<TalentSummary> rows = talentRepository.findSummarySlice(
+                customerId,
+                sortField,
+                descending,
+                after != null ? after.getLastValue() : null,
+                after != null ? after.getLastId() : null,
+                size + 1);
+        
+        return toSlice(rows, size);
+    }
+
+    /**
+     * Typo-tolerant lookup by name or email, ranked by trigram similarity
+     * @param customerId The customer ID
+     * @param term The (possibly misspelled) name or email
+     * @param threshold The minimum similarity between 0 and 1, null for the configured default
+     * @param limit The maximum number of results
+     * @return The most similar talents, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<TalentSummary> fuzzySearch(Integer customerId, String term, Double threshold, int limit) {
+        double similarity = threshold != null ? threshold : defaultFuzzyThreshold;
+        if (similarity < 0 || similarity > 1) {
+            throw new IllegalArgumentException("Similarity threshold must be between 0 and 1");
+        }
+        if (term == null || term.isBlank()) {
+            return List.of();
+        }
+        
+        // The % operator reads its threshold from this setting, which keeps the trigram indexes usable
+        talentRepository.setSimilarityThreshold(Double.toString(similarity));
+        List<Integer> ids = talentRepository.findSimilarIds(customerId, term.trim(), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        return inIdOrder(ids, talentRepository.findSummariesByCustomerIdAndIdIn(customerId, ids), TalentSummary::id);
+    }
+
+    private void requireLucene() {
+        if (!talentLuceneIndex.isEnabled()) {
+            throw new IllegalArgumentException("The lucene search engine is disabled");
+        }
+    }
+
+    private List<Integer> searchIdsAfter(Integer customerId, TalentSearchQuery query, TalentCursor after, int limit) {
+        int afterId = after != null ? after.getLastId() : 0;
+        return talentRepository.searchIdsAfter(customerId, query.text(), query.prefix(), afterId, limit);
+    }
+
+    /**
+     * Put rows fetched with an IN query back into the order of the given IDs
+     */
+    private static <T> List<T> inIdOrder(List<Integer> ids, List<T> rows, Function<T, Integer> idOf) {
+        Map<Integer, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    private static <T> Slice<T> toSlice(List<T> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
     }
 
     @Transactional(readOnly = true)
@@ -1,39 +1,56 @@
 package com.semantic.saas.service;
 
+import com.semantic.saas.event.UserChangedEvent;
 import com.semantic.saas.model.Customer;
-import com.semantic.saas.model.Role;
 import com.semantic.saas.model.User;
 import com.semantic.saas.repository.CustomerRepository;
-import com.semantic.saas.repository.RoleRepository;
 import com.semantic.saas.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 @Service
 public class UserService {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * A user to create
+     * @param user The user, with its plain text password
+     * @param customerId The customer ID
+     * @param roleNames The role names to assign
+     */
+    public record NewUser(User user, Long customerId, Set<String> roleNames) {
+    }
+
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public UserService(
             UserRepository userRepository,
             CustomerRepository customerRepository,
-            RoleRepository roleRepository,
-            PasswordEncoder passwordEncoder) {
+            RoleRegistry roleRegistry,
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.customerRepository = customerRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -114,18 +131,69 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
         // Assign roles
-        Set<Role> roles = new HashSet<>();
         for (String roleName : roleNames) {
-            Role role = roleRepository.findByName(roleName)
-                    .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
-            roles.add(role);
+            user.addRole(roleRegistry.reference(roleName));
         }
         
-        for (Role role : roles) {
-            user.addRole(role);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+        return userRepository.save(user);
+    }
+
+    /**
+     * Create several users in one transaction; the inserts go out in JDBC batches.
+     * Password hashing is deliberately slow, which is what limits the batch size.
+     * @param newUsers The users to create, each with its customer ID and role names
+     * @return The created users, in the given order
+     */
+    @Transactional
+    public List<User> createUsers(List<NewUser> newUsers) {
+        if (newUsers.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " users can be created at once");
         }
         
-        return userRepository.save(user);
+        // Check usernames and emails within the batch, then against existing users in two queries
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (NewUser newUser : newUsers) {
+            if (!usernames.add(newUser.user().getUsername())) {
+                throw new IllegalArgumentException("Username appears more than once: " + newUser.user().getUsername());
+            }
+            if (!emails.add(newUser.user().getEmail())) {
+                throw new IllegalArgumentException("Email appears more than once: " + newUser.user().getEmail());
+            }
+        }
+        List<String> existingUsernames = userRepository.findExistingUsernames(usernames);
+        if (!existingUsernames.isEmpty()) {
+            throw new IllegalArgumentException("Username already exists: " + existingUsernames.get(0));
+        }
+        List<String> existingEmails = userRepository.findExistingEmails(emails);
+        if (!existingEmails.isEmpty()) {
+            throw new IllegalArgumentException("Email already exists: " + existingEmails.get(0));
+        }
+        
+        Map<Long, Customer> customers = new HashMap<>();
+        
+        List<User> users = new ArrayList<>(newUsers.size());
+        for (NewUser newUser : newUsers) {
+            User user = newUser.user();
+            Long customerId = newUser.customerId();
+            Customer customer = customers.get(customerId);
+            if (customer == null) {
+                customer = customerRepository.findById(customerId)
+                        .orElseThrow(() -> new IllegalArgumentException("Customer not found with id " + customerId));
+                customers.put(customerId, customer);
+            }
+            user.setCustomer(customer);
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            if (newUser.roleNames() != null) {
+                for (String roleName : newUser.roleNames()) {
+                    user.addRole(roleRegistry.reference(roleName));
+                }
+            }
+            users.add(user);
+        }
+        
+        return userRepository.saveAll(users);
     }
 
     /**
@@ -138,6 +206,8 @@ public class UserService {
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id " + id));
+        // Issued tokens carry the email from before this update
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         
         // Update the user details
         user.setUsername(userDetails.getUsername());
@@ -170,11 +240,10 @@ public class UserService {
         
         // Assign new roles
         for (String roleName : roleNames) {
-            Role role = roleRepository.findByName(roleName)
-                    .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
-            user.addRole(role);
+            user.addRole(roleRegistry.reference(roleName));
         }
         
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         return userRepository.save(user);
     }
 
@@ -188,5 +257,6 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id " + id));
         
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
     }
 }
@@ -0,0 +1,15 @@
+-- Coordinates geocoded from the free-text location at write time against the bundled gazetteer (Gazetteer).
+-- Existing rows are geocoded by TalentBackfill, which finds them by location_geocoded_on IS NULL.
+ALTER TABLE talents ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE talents ADD COLUMN longitude DOUBLE PRECISION;
+-- Byte-wise collation lets geohash LIKE 'prefix%' use the index below as a range scan
+ALTER TABLE talents ADD COLUMN geohash VARCHAR(12) COLLATE "C";
+ALTER TABLE talents ADD COLUMN location_geocoded_on DATE;
+
+-- Radius searches scan the prefixes of up to nine geohash cells, then check the exact distance
+CREATE INDEX idx_talents_customer_geohash ON talents (customer_id, geohash);
+
+-- The backfill now also looks for rows that were never geocoded
+DROP INDEX idx_talents_experience_outdated;
+CREATE INDEX idx_talents_derived_outdated ON talents (id)
+    WHERE experience_extracted_on IS NULL OR experience_ongoing OR location_geocoded_on IS NULL;
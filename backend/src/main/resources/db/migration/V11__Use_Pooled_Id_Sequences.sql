@@ -0,0 +1,6 @@
+-- Hibernate allocates IDs of customers, users and talents in blocks of 50 (pooled-lo: nextval returns the first ID
+-- of a block), so inserts no longer need the database to generate the key and can be sent in JDBC batches.
+-- Inserts that leave the ID to the column default still work; each takes the first ID of a block of its own.
+ALTER SEQUENCE customers_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE talents_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Optimistic locking version of talents, also served as their ETag.
+-- Conditional updates (If-Match) check and increment it in the same UPDATE statement.
+ALTER TABLE talents ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,31 @@
+-- Make full-text search match email addresses again.
+-- Weights: name (A) > skills (B) > experience (C) > notes, email (D)
+-- The parser keeps a whole address as one lexeme; the address is also indexed split
+-- at its punctuation so a search for the user name or the domain finds it too.
+CREATE OR REPLACE FUNCTION talents_search_vector_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector =
+        setweight(to_tsvector('english', coalesce(NEW.first_name, '') || ' ' || coalesce(NEW.last_name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(NEW.skills, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(NEW.experience, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(NEW.notes, '')), 'D') ||
+        setweight(to_tsvector('english', coalesce(NEW.email, '') || ' ' || translate(coalesce(NEW.email, ''), '@.+-', '    ')), 'D');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER talents_search_vector_trigger ON talents;
+
+CREATE TRIGGER talents_search_vector_trigger
+BEFORE INSERT OR UPDATE OF first_name, last_name, email, skills, experience, notes ON talents
+FOR EACH ROW
+EXECUTE FUNCTION talents_search_vector_update();
+
+-- Backfill existing rows
+UPDATE talents SET search_vector =
+    setweight(to_tsvector('english', coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(skills, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(experience, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(notes, '')), 'D') ||
+    setweight(to_tsvector('english', coalesce(email, '') || ' ' || translate(coalesce(email, ''), '@.+-', '    ')), 'D');
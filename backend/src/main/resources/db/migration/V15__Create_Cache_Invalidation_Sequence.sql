@@ -0,0 +1,6 @@
+-- Every transaction that announces cache invalidations takes one number from this sequence right before it
+-- commits and sends it along. nextval holds no lock until commit, so announcing transactions never wait for
+-- each other. A number that has not arrived one check interval after it was handed out was either missed
+-- or belongs to a transaction that failed to commit; nodes drop their caches in both cases.
+-- CACHE must stay 1: numbers cached by a session are lost when it closes and would look missed.
+CREATE SEQUENCE cache_invalidation_seq CACHE 1;
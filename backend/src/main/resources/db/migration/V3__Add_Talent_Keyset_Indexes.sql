@@ -0,0 +1,11 @@
+-- Composite indexes for keyset (seek) pagination on talents.
+-- Each matches a supported sort key: WHERE customer_id = ? AND (key, id) > (?, ?) ORDER BY key, id
+
+-- Superseded by idx_talents_customer_id_id, which serves the same lookups
+DROP INDEX IF EXISTS idx_talents_customer_id;
+
+CREATE INDEX idx_talents_customer_id_id ON talents (customer_id, id);
+
+CREATE INDEX idx_talents_customer_created_at_id ON talents (customer_id, created_at, id);
+
+CREATE INDEX idx_talents_customer_last_name_id ON talents (customer_id, last_name, id);
@@ -0,0 +1,29 @@
+-- Weighted full-text search document for talents.
+-- Weights: name (A) > skills (B) > experience (C) > notes (D)
+ALTER TABLE talents ADD COLUMN search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION talents_search_vector_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector =
+        setweight(to_tsvector('english', coalesce(NEW.first_name, '') || ' ' || coalesce(NEW.last_name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(NEW.skills, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(NEW.experience, '')), 'C') ||
+        setweight(to_tsvector('english', coalesce(NEW.notes, '')), 'D');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER talents_search_vector_trigger
+BEFORE INSERT OR UPDATE OF first_name, last_name, skills, experience, notes ON talents
+FOR EACH ROW
+EXECUTE FUNCTION talents_search_vector_update();
+
+-- Backfill existing rows
+UPDATE talents SET search_vector =
+    setweight(to_tsvector('english', coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(skills, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(experience, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(notes, '')), 'D');
+
+CREATE INDEX idx_talents_search_vector ON talents USING GIN (search_vector);
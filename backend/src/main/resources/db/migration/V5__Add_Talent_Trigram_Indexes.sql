@@ -0,0 +1,8 @@
+-- Trigram indexes for typo-tolerant name and email lookup
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_talents_first_name_trgm ON talents USING GIN (first_name gin_trgm_ops);
+
+CREATE INDEX idx_talents_last_name_trgm ON talents USING GIN (last_name gin_trgm_ops);
+
+CREATE INDEX idx_talents_email_trgm ON talents USING GIN (email gin_trgm_ops);
@@ -0,0 +1,18 @@
+-- Normalized skills, one row per (talent, skill).
+-- Populated by TalentService on create and update; normalization must match SkillNormalizer.
+CREATE TABLE talent_skills (
+    talent_id INT NOT NULL,
+    skill VARCHAR(100) NOT NULL,
+    PRIMARY KEY (talent_id, skill),
+    FOREIGN KEY (talent_id) REFERENCES talents(id) ON DELETE CASCADE
+);
+
+-- Lookup of talents by skill
+CREATE INDEX idx_talent_skills_skill ON talent_skills (skill, talent_id);
+
+-- Backfill from the free-text skills column
+INSERT INTO talent_skills (talent_id, skill)
+SELECT DISTINCT t.id, left(trim(regexp_replace(lower(s.part), '\s+', ' ', 'g')), 100)
+FROM talents t
+CROSS JOIN LATERAL regexp_split_to_table(coalesce(t.skills, ''), '[,;\n]') AS s(part)
+WHERE trim(regexp_replace(s.part, '\s+', ' ', 'g')) <> '';
@@ -0,0 +1,23 @@
+CREATE TABLE job_requisitions (
+    id SERIAL PRIMARY KEY,
+    customer_id INT NOT NULL,
+    title VARCHAR(150) NOT NULL,
+    required_skills TEXT,
+    location VARCHAR(100),
+    salary_min DECIMAL(12,2),
+    salary_max DECIMAL(12,2),
+    seniority VARCHAR(20),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
+    CHECK (salary_min IS NULL OR salary_max IS NULL OR salary_min <= salary_max)
+);
+
+CREATE TRIGGER job_requisitions_update_timestamp
+BEFORE UPDATE ON job_requisitions
+FOR EACH ROW
+EXECUTE FUNCTION update_timestamp();
+
+-- Requisitions are always read per customer
+CREATE INDEX idx_job_requisitions_customer_id ON job_requisitions (customer_id, id);
@@ -0,0 +1,16 @@
+-- Indexes for the structured filter endpoint (POST /api/talents/filter).
+-- created_at is served by idx_talents_customer_created_at_id and skills by idx_talent_skills_skill.
+
+CREATE INDEX idx_talents_customer_salary ON talents (customer_id, salary_expectation);
+
+-- Location and desired position are compared case-insensitively
+CREATE INDEX idx_talents_customer_lower_location ON talents (customer_id, lower(location));
+
+CREATE INDEX idx_talents_customer_lower_desired_position ON talents (customer_id, lower(desired_position));
+
+CREATE INDEX idx_talents_customer_availability ON talents (customer_id, availability);
+
+-- Only "has a URL" is selective enough to be worth an index
+CREATE INDEX idx_talents_customer_with_github ON talents (customer_id) WHERE github_url IS NOT NULL;
+
+CREATE INDEX idx_talents_customer_with_linkedin ON talents (customer_id) WHERE linkedin_url IS NOT NULL;
@@ -0,0 +1,15 @@
+-- Experience attributes derived from the free-text experience column at write time (ExperienceExtractor).
+-- Existing rows are filled in by TalentBackfill, which finds them by experience_extracted_on IS NULL.
+ALTER TABLE talents ADD COLUMN total_experience_months INT;
+ALTER TABLE talents ADD COLUMN seniority VARCHAR(20);
+-- An open-ended range ("2018-Present") grows every month and is re-extracted by the backfill
+ALTER TABLE talents ADD COLUMN experience_ongoing BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE talents ADD COLUMN experience_extracted_on DATE;
+
+CREATE INDEX idx_talents_customer_experience_months ON talents (customer_id, total_experience_months);
+
+CREATE INDEX idx_talents_customer_seniority ON talents (customer_id, seniority);
+
+-- Keeps the backfill scan cheap once most rows are extracted
+CREATE INDEX idx_talents_experience_outdated ON talents (id)
+    WHERE experience_extracted_on IS NULL OR experience_ongoing;
@@ -0,0 +1,69 @@
+package com.semantic.saas.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TalentControllerTest {
+
+    @Test
+    void acceptsGzipWhenListedWithPositiveQuality() {
+        assertThat(TalentController.acceptsGzip("gzip")).isTrue();
+        assertThat(TalentController.acceptsGzip("deflate, GZIP")).isTrue();
+        assertThat(TalentController.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(TalentController.acceptsGzip("x-gzip")).isTrue();
+        assertThat(TalentController.acceptsGzip("gzip ; Q=0.001")).isTrue();
+    }
+
+    @Test
+    void refusesGzipWithZeroQuality() {
+        assertThat(TalentController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(TalentController.acceptsGzip("br, gzip;q=0.000")).isFalse();
+        assertThat(TalentController.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(TalentController.acceptsGzip("gzip;q=oops")).isFalse();
+    }
+
+    @Test
+    void fallsBackToTheWildcard() {
+        assertThat(TalentController.acceptsGzip("*")).isTrue();
+        assertThat(TalentController.acceptsGzip("br, *;q=0.1")).isTrue();
+        assertThat(TalentController.acceptsGzip("*;q=0")).isFalse();
+    }
+
+    @Test
+    void refusesGzipWhenNotListed() {
+        assertThat(TalentController.acceptsGzip(null)).isFalse();
+        assertThat(TalentController.acceptsGzip("")).isFalse();
+        assertThat(TalentController.acceptsGzip("identity")).isFalse();
+        assertThat(TalentController.acceptsGzip("br, deflate")).isFalse();
+        assertThat(TalentController.acceptsGzip("gzipped")).isFalse();
+    }
+
+    @Test
+    void parsesVersionsFromIfMatch() {
+        assertThat(TalentController.parseIfMatch("\"v3\"")).containsExactly(3L);
+        assertThat(TalentController.parseIfMatch("\"v3\", \"v12\"")).containsExactly(3L, 12L);
+        assertThat(TalentController.parseIfMatch(" \"v0\" ,\"v7\" ")).containsExactly(0L, 7L);
+    }
+
+    @Test
+    void matchesAnyVersionForWildcard() {
+        assertThat(TalentController.parseIfMatch("*")).isNull();
+        assertThat(TalentController.parseIfMatch(" * ")).isNull();
+    }
+
+    @Test
+    void ignoresWeakAndForeignTags() {
+        assertThat(TalentController.parseIfMatch("W/\"v3\"")).isEmpty();
+        assertThat(TalentController.parseIfMatch("v3")).isEmpty();
+        assertThat(TalentController.parseIfMatch("\"v\", \"vx\", \"3\", \"\"")).isEmpty();
+        assertThat(TalentController.parseIfMatch("\"abc-gz\", \"v5\"")).containsExactly(5L);
+        assertThat(TalentController.parseIfMatch("\"v99999999999999999999\"")).isEmpty();
+        assertThat(TalentController.parseIfMatch("")).isEmpty();
+    }
+
+    @Test
+    void parsesTheTagsItHandsOut() {
+        assertThat(TalentController.parseIfMatch(TalentController.talentETag(42L))).containsExactly(42L);
+    }
+}
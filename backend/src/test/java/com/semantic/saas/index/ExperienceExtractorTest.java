@@ -0,0 +1,102 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.Seniority;
+import com.semantic.saas.model.Talent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExperienceExtractorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    @Test
+    void openEndedRangesRunUntilToday() {
+        ExperienceExtractor.Extraction extraction =
+                ExperienceExtractor.extract("Software Engineer at Tech Corp (2018-Present)", null, TODAY);
+
+        // A bare start year counts from July
+        assertThat(extraction.totalMonths()).isEqualTo(72);
+        assertThat(extraction.ongoing()).isTrue();
+        assertThat(extraction.seniority()).isEqualTo(Seniority.SENIOR);
+    }
+
+    @Test
+    void bareYearsCountFromMiddleToMiddle() {
+        assertThat(ExperienceExtractor.extract("Developer 2015-2018", null, TODAY).totalMonths()).isEqualTo(36);
+        assertThat(ExperienceExtractor.extract("Intern 2019-2019", null, TODAY).totalMonths()).isEqualTo(1);
+    }
+
+    @Test
+    void understandsMonthNamesNumbersAndSeparators() {
+        assertThat(ExperienceExtractor.extract("Sr. Developer, Sept. 2016 to Feb. 2020", null, TODAY).totalMonths())
+                .isEqualTo(42);
+        assertThat(ExperienceExtractor.extract("Developer March 2019 \u2013 now", null, TODAY))
+                .isEqualTo(new ExperienceExtractor.Extraction(64, Seniority.SENIOR, true));
+    }
+
+    @Test
+    void mergesOverlappingAndAdjacentRanges() {
+        assertThat(ExperienceExtractor.extract("Jan 2020 - Dec 2021, Jun 2021 - Mar 2022", null, TODAY).totalMonths())
+                .isEqualTo(27);
+        assertThat(ExperienceExtractor.extract("01/2019 - 06/2019; 07/2019 - 12/2019", null, TODAY).totalMonths())
+                .isEqualTo(12);
+        assertThat(ExperienceExtractor.extract("Worked 2012 until 2014 and 2013 - 2016", null, TODAY).totalMonths())
+                .isEqualTo(48);
+    }
+
+    @Test
+    void keepsGapsBetweenRanges() {
+        assertThat(ExperienceExtractor.extract("Jan 2010 - Dec 2010, Jan 2015 - Dec 2015", null, TODAY).totalMonths())
+                .isEqualTo(24);
+    }
+
+    @Test
+    void ignoresRangesStartingInTheFuture() {
+        assertThat(ExperienceExtractor.extract("2030-2032", null, TODAY))
+                .isEqualTo(new ExperienceExtractor.Extraction(null, null, false));
+    }
+
+    @Test
+    void fallsBackToStatedYears() {
+        assertThat(ExperienceExtractor.extract("5+ years of experience", null, TODAY).totalMonths()).isEqualTo(60);
+        assertThat(ExperienceExtractor.extract("3 yrs in QA, 7 years overall", null, TODAY).totalMonths()).isEqualTo(84);
+    }
+
+    @Test
+    void titlesDecideSeniorityBeforeDurations() {
+        assertThat(ExperienceExtractor.extract("Staff Engineer", null, TODAY).seniority()).isEqualTo(Seniority.LEAD);
+        assertThat(ExperienceExtractor.extract("Mid-level developer", null, TODAY).seniority()).isEqualTo(Seniority.MID);
+        // The current position wins over older titles
+        assertThat(ExperienceExtractor.extract("Lead engineer 2010-2020", "Junior Developer", TODAY))
+                .isEqualTo(new ExperienceExtractor.Extraction(120, Seniority.JUNIOR, false));
+    }
+
+    @Test
+    void durationsAloneGiveJuniorMidOrSenior() {
+        assertThat(ExperienceExtractor.extract("01/2019 - 06/2019", null, TODAY).seniority()).isEqualTo(Seniority.JUNIOR);
+        assertThat(ExperienceExtractor.extract("Developer 2015-2018", null, TODAY).seniority()).isEqualTo(Seniority.MID);
+        assertThat(ExperienceExtractor.extract("10 years of experience", null, TODAY).seniority()).isEqualTo(Seniority.SENIOR);
+    }
+
+    @Test
+    void emptyTextHasNoAttributes() {
+        assertThat(ExperienceExtractor.extract(null, null, TODAY))
+                .isEqualTo(new ExperienceExtractor.Extraction(null, null, false));
+    }
+
+    @Test
+    void applyStoresTheExtractionOnTheTalent() {
+        Talent talent = new Talent();
+        talent.setExperience("Senior Developer (2020-Present)");
+
+        ExperienceExtractor.apply(talent, TODAY);
+
+        assertThat(talent.getTotalExperienceMonths()).isEqualTo(48);
+        assertThat(talent.getSeniority()).isEqualTo(Seniority.SENIOR);
+        assertThat(talent.isExperienceOngoing()).isTrue();
+        assertThat(talent.getExperienceExtractedOn()).isEqualTo(TODAY);
+    }
+}
@@ -0,0 +1,91 @@
+package com.semantic.saas.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoHashTest {
+
+    @Test
+    void encodesKnownPoints() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(42.6, -5.6, 5)).isEqualTo("ezs42");
+        assertThat(GeoHash.encode(-90, -180, 3)).isEqualTo("000");
+        assertThat(GeoHash.encode(89.99999, 179.99999, 3)).isEqualTo("zzz");
+    }
+
+    @Test
+    void shorterHashesArePrefixes() {
+        String hash = GeoHash.encode(52.52, 13.405, GeoHash.PRECISION);
+
+        assertThat(hash).hasSize(GeoHash.PRECISION);
+        for (int precision = 1; precision < GeoHash.PRECISION; precision++) {
+            assertThat(hash).startsWith(GeoHash.encode(52.52, 13.405, precision));
+        }
+    }
+
+    @Test
+    void coverContainsCenterCellAndAtMostNineCells() {
+        Set<String> cells = GeoHash.cover(52.52, 13.405, 25);
+        String cell = cells.iterator().next();
+
+        assertThat(cells).hasSizeLessThanOrEqualTo(9);
+        assertThat(cells).contains(GeoHash.encode(52.52, 13.405, cell.length()));
+        assertThat(cells).allSatisfy(prefix -> assertThat(prefix).hasSameSizeAs(cell));
+    }
+
+    @Test
+    void coverContainsEveryPointWithinTheRadius() {
+        Random random = new Random(7);
+        double[][] centers = {{52.52, 13.405}, {-33.87, 151.21}, {0.0, 179.9}, {64.15, -21.94}, {0.01, -0.01}};
+        double[] radii = {0.05, 1, 12.5, 80, 400, 1000};
+
+        for (double[] center : centers) {
+            for (double radiusKm : radii) {
+                Set<String> cells = GeoHash.cover(center[0], center[1], radiusKm);
+                int precision = cells.iterator().next().length();
+                for (int i = 0; i < 200; i++) {
+                    // Mostly on the circle itself, where misses would show first
+                    double distance = radiusKm * (i % 4 == 0 ? random.nextDouble() : 1);
+                    double[] point = destination(center[0], center[1], distance, random.nextDouble() * 360);
+                    assertThat(GeoHash.distanceKm(center[0], center[1], point[0], point[1]))
+                            .isCloseTo(distance, within(1e-6 + distance * 1e-6));
+                    assertThat(cells).contains(GeoHash.encode(point[0], point[1], precision));
+                }
+            }
+        }
+    }
+
+    @Test
+    void coverRefusesCirclesTooLargeForTheLatitude() {
+        assertThatThrownBy(() -> GeoHash.cover(89.5, 0, 1000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void measuresGreatCircleDistance() {
+        assertThat(GeoHash.distanceKm(52.52, 13.405, 48.8566, 2.3522)).isCloseTo(878, within(3.0));
+        assertThat(GeoHash.distanceKm(0, 179.5, 0, -179.5)).isCloseTo(111.2, within(0.5));
+        assertThat(GeoHash.distanceKm(10, 10, 10, 10)).isZero();
+    }
+
+    /**
+     * Point at a distance and bearing from a start point on the sphere
+     */
+    private static double[] destination(double lat, double lon, double distanceKm, double bearingDegrees) {
+        double angle = distanceKm / GeoHash.EARTH_RADIUS_KM;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(lat);
+        double lon1 = Math.toRadians(lon);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angle) + Math.cos(lat1) * Math.sin(angle) * Math.cos(bearing));
+        double lon2 = lon1 + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat1),
+                Math.cos(angle) - Math.sin(lat1) * Math.sin(lat2));
+        double longitude = Math.toDegrees(lon2);
+        longitude = longitude >= 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+        return new double[] {Math.toDegrees(lat2), longitude};
+    }
+}
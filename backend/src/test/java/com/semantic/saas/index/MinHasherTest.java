@@ -0,0 +1,78 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.model.Talent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHasherTest {
+
+    private final MinHasher minHasher = new MinHasher();
+
+    @Test
+    void identicalProfilesHaveEqualSignatures() {
+        int[] signature = minHasher.signature(talent("John", "Smith", "+1 555 123 4567", "Senior Java developer at Acme"));
+        int[] other = minHasher.signature(talent("John", "Smith", "+1 555 123 4567", "Senior Java developer at Acme"));
+
+        assertThat(signature).hasSize(MinHasher.SIGNATURE_LENGTH).isEqualTo(other);
+        assertThat(MinHasher.similarity(signature, other)).isEqualTo(1.0f);
+    }
+
+    @Test
+    void signaturesAreStableAcrossInstances() {
+        Talent talent = talent("Jane", "Doe", "555 987 6543", "Data engineer building pipelines");
+
+        assertThat(new MinHasher().signature(talent)).isEqualTo(minHasher.signature(talent));
+    }
+
+    @Test
+    void nameOrderAndCaseDoNotMatter() {
+        int[] signature = minHasher.signature(talent("John", "Smith", null, "Backend developer"));
+        int[] swapped = minHasher.signature(talent("SMITH", "john", null, "backend developer"));
+
+        assertThat(MinHasher.similarity(signature, swapped)).isEqualTo(1.0f);
+    }
+
+    @Test
+    void phoneNumbersMatchWithoutCountryPrefix() {
+        int[] national = minHasher.signature(talent("Anna", "Berg", "0151 2345 6789", "Product manager"));
+        int[] international = minHasher.signature(talent("Anna", "Berg", "+49 151 2345 6789", "Product manager"));
+
+        assertThat(MinHasher.similarity(national, international)).isEqualTo(1.0f);
+    }
+
+    @Test
+    void nearDuplicatesAreSimilar() {
+        int[] signature = minHasher.signature(talent("Jonathan", "Smith", "555 123 4567",
+                "Senior Java developer at Acme building payment services"));
+        int[] edited = minHasher.signature(talent("Jonathan", "Smith", "555 123 4567",
+                "Senior Java developer at Acme building payment systems"));
+
+        assertThat(MinHasher.similarity(signature, edited)).isGreaterThanOrEqualTo(0.5f);
+    }
+
+    @Test
+    void unrelatedProfilesAreDissimilar() {
+        int[] signature = minHasher.signature(talent("Jonathan", "Smith", "555 123 4567",
+                "Senior Java developer at Acme building payment services"));
+        int[] other = minHasher.signature(talent("Maria", "Garcia", "444 987 6543",
+                "Marketing lead for consumer electronics in Madrid"));
+
+        assertThat(MinHasher.similarity(signature, other)).isLessThan(0.2f);
+    }
+
+    @Test
+    void profilesWithTooLittleTextHaveNoSignature() {
+        assertThat(minHasher.signature(talent("Al", null, null, null))).isNull();
+        assertThat(minHasher.signature(new Talent())).isNull();
+    }
+
+    static Talent talent(String firstName, String lastName, String phone, String experience) {
+        Talent talent = new Talent();
+        talent.setFirstName(firstName);
+        talent.setLastName(lastName);
+        talent.setPhone(phone);
+        talent.setExperience(experience);
+        return talent;
+    }
+}
@@ -0,0 +1,146 @@
+package com.semantic.saas.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RadixTrieTest {
+
+    @Test
+    void returnsHeaviestCompletionsFirst() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("java", "Java", 5);
+        trie.add("javascript", "JavaScript", 9);
+        trie.add("jakarta ee", "Jakarta EE", 2);
+        trie.add("kotlin", "Kotlin", 7);
+
+        assertThat(trie.topK("ja", 10)).containsExactly(
+                new RadixTrie.Entry("JavaScript", 9),
+                new RadixTrie.Entry("Java", 5),
+                new RadixTrie.Entry("Jakarta EE", 2));
+        assertThat(trie.topK("ja", 2)).extracting(RadixTrie.Entry::display).containsExactly("JavaScript", "Java");
+        assertThat(trie.topK("", 1)).extracting(RadixTrie.Entry::display).containsExactly("JavaScript");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void matchesPrefixesEndingInsideAnEdge() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("postgresql", "PostgreSQL", 3);
+
+        assertThat(trie.topK("postg", 5)).extracting(RadixTrie.Entry::display).containsExactly("PostgreSQL");
+        assertThat(trie.topK("postgresql", 5)).extracting(RadixTrie.Entry::display).containsExactly("PostgreSQL");
+        assertThat(trie.topK("posts", 5)).isEmpty();
+        assertThat(trie.topK("postgresql server", 5)).isEmpty();
+        assertThat(trie.topK("x", 5)).isEmpty();
+    }
+
+    @Test
+    void termThatIsPrefixOfAnotherSplitsTheEdge() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("spring boot", "Spring Boot", 4);
+        trie.add("spring", "Spring", 6);
+
+        assertThat(trie.topK("spring", 5)).extracting(RadixTrie.Entry::display)
+                .containsExactly("Spring", "Spring Boot");
+        assertThat(trie.topK("spring ", 5)).extracting(RadixTrie.Entry::display).containsExactly("Spring Boot");
+    }
+
+    @Test
+    void keepsTheFirstDisplayAndSumsWeights() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("react", "React", 1);
+        trie.add("react", "REACT", 2);
+
+        assertThat(trie.topK("re", 5)).containsExactly(new RadixTrie.Entry("React", 3));
+        assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsTermsWhoseWeightReachesZero() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("go", "Go", 2);
+        trie.add("golang", "Golang", 1);
+        trie.add("google cloud", "Google Cloud", 3);
+
+        trie.add("golang", "Golang", -1);
+        trie.add("go", "Go", -5);
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.topK("go", 5)).containsExactly(new RadixTrie.Entry("Google Cloud", 3));
+
+        // Re-adding a dropped term takes the new display
+        trie.add("go", "GO", 1);
+        assertThat(trie.topK("go", 5)).extracting(RadixTrie.Entry::display).containsExactly("Google Cloud", "GO");
+    }
+
+    @Test
+    void ignoresRemovalOfUnknownTerms() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("scala", "Scala", 2);
+
+        trie.add("scalding", "Scalding", -1);
+        trie.add("sc", "Sc", -1);
+        trie.add("rust", "Rust", -1);
+        trie.add("", "", 1);
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.topK("s", 5)).containsExactly(new RadixTrie.Entry("Scala", 2));
+    }
+
+    @Test
+    void agreesWithBruteForceUnderRandomUpdates() {
+        Random random = new Random(42);
+        String[] alphabet = {"a", "b", "ab", "ba", " ", "c"};
+        RadixTrie trie = new RadixTrie();
+        Map<String, Integer> expected = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            StringBuilder key = new StringBuilder();
+            int parts = 1 + random.nextInt(4);
+            for (int i = 0; i < parts; i++) {
+                key.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            int delta = random.nextInt(7) - 3;
+            trie.add(key.toString(), key.toString(), delta);
+            int weight = Math.max(0, expected.getOrDefault(key.toString(), 0) + delta);
+            if (weight == 0) {
+                expected.remove(key.toString());
+            } else {
+                expected.put(key.toString(), weight);
+            }
+
+            if (step % 50 == 0) {
+                assertThat(trie.size()).isEqualTo(expected.size());
+                for (String prefix : List.of("", "a", "ab", "b ", "ca", "abab")) {
+                    assertMatches(trie.topK(prefix, 5), expected, prefix, 5);
+                }
+            }
+        }
+    }
+
+    private static void assertMatches(List<RadixTrie.Entry> actual, Map<String, Integer> expected, String prefix, int k) {
+        List<Integer> expectedWeights = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                expectedWeights.add(entry.getValue());
+            }
+        }
+        expectedWeights.sort(Comparator.reverseOrder());
+
+        // Ties may come in any order, so compare weights and check every returned term on its own
+        assertThat(actual).extracting(RadixTrie.Entry::weight)
+                .containsExactlyElementsOf(expectedWeights.subList(0, Math.min(k, expectedWeights.size())));
+        for (RadixTrie.Entry entry : actual) {
+            assertThat(entry.display()).startsWith(prefix);
+            assertThat(expected).containsEntry(entry.display(), entry.weight());
+        }
+    }
+}
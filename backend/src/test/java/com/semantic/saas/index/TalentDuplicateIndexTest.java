@@ -0,0 +1,100 @@
+package com.semantic.saas.index;
+
+import com.semantic.saas.event.TalentChangedEvent;
+import com.semantic.saas.model.Talent;
+import com.semantic.saas.repository.TalentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static com.semantic.saas.index.MinHasherTest.talent;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TalentDuplicateIndexTest {
+
+    private static final Integer CUSTOMER_ID = 7;
+
+    private TalentDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        TalentRepository talentRepository = mock(TalentRepository.class);
+        when(talentRepository.findSlice(eq(CUSTOMER_ID), eq("id"), eq(false), any(), any(), anyInt()))
+                .thenReturn(List.of(
+                        withId(1, talent("Jonathan", "Smith", "555 123 4567",
+                                "Senior Java developer at Acme building payment services")),
+                        withId(2, talent("Maria", "Garcia", "444 987 6543",
+                                "Marketing lead for consumer electronics in Madrid")),
+                        withId(3, talent("Al", null, null, null))));
+
+        index = new TalentDuplicateIndex(talentRepository, mock(PlatformTransactionManager.class), 0.5f, 10, 60);
+        ReflectionTestUtils.setField(index, "entityManager", mock(EntityManager.class));
+    }
+
+    @Test
+    void findsNearDuplicateThroughSharedBand() {
+        Talent candidate = talent("Smith", "Jonathan", "+1 555 123 4567",
+                "Senior Java developer at Acme building payment systems");
+
+        List<TalentDuplicateIndex.Candidate> candidates = index.findCandidates(CUSTOMER_ID, candidate);
+
+        assertThat(candidates).extracting(TalentDuplicateIndex.Candidate::talentId).containsExactly(1);
+        assertThat(candidates.get(0).similarity()).isGreaterThanOrEqualTo(0.5f);
+    }
+
+    @Test
+    void neverReturnsTheTalentItself() {
+        Talent stored = withId(1, talent("Jonathan", "Smith", "555 123 4567",
+                "Senior Java developer at Acme building payment services"));
+
+        assertThat(index.findCandidates(CUSTOMER_ID, stored)).isEmpty();
+    }
+
+    @Test
+    void ignoresProfilesWithoutSignature() {
+        assertThat(index.findCandidates(CUSTOMER_ID, talent("Al", null, null, null))).isEmpty();
+    }
+
+    @Test
+    void followsCommittedChanges() {
+        Talent candidate = talent("Maria", "Garcia", "444 987 6543",
+                "Marketing lead for consumer electronics in Madrid");
+        assertThat(index.findCandidates(CUSTOMER_ID, candidate))
+                .extracting(TalentDuplicateIndex.Candidate::talentId).containsExactly(2);
+
+        index.onTalentChanged(TalentChangedEvent.deleted(CUSTOMER_ID, 2));
+        assertThat(index.findCandidates(CUSTOMER_ID, candidate)).isEmpty();
+
+        index.onTalentChanged(TalentChangedEvent.created(CUSTOMER_ID, withId(4, talent("Maria", "Garcia", "444 987 6543",
+                "Marketing lead for consumer electronics in Madrid"))));
+        assertThat(index.findCandidates(CUSTOMER_ID, candidate))
+                .extracting(TalentDuplicateIndex.Candidate::talentId).containsExactly(4);
+    }
+
+    @Test
+    void clustersDuplicatesInReport() {
+        Talent duplicate = withId(5, talent("Jonathan", "Smith", "555 123 4567",
+                "Senior Java developer at Acme building payment systems"));
+        index.findCandidates(CUSTOMER_ID, duplicate);
+        index.onTalentChanged(TalentChangedEvent.created(CUSTOMER_ID, duplicate));
+
+        TalentDuplicateIndex.DuplicateReport report = index.getReport(CUSTOMER_ID);
+
+        assertThat(report.talentCount()).isEqualTo(3);
+        assertThat(report.clusters()).containsExactly(List.of(1, 5));
+    }
+
+    private static Talent withId(int id, Talent talent) {
+        talent.setId(id);
+        return talent;
+    }
+}
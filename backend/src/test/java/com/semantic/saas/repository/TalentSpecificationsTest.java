@@ -0,0 +1,130 @@
+package com.semantic.saas.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.semantic.saas.dto.TalentFilter;
+import com.semantic.saas.model.Seniority;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TalentSpecificationsTest {
+
+    private static final TalentFilter SALARY = new TalentFilter.Salary(new TalentFilter.Range(50000.0, 90000.0));
+    private static final TalentFilter NOT_AVAILABLE =
+            new TalentFilter.Not(new TalentFilter.Availability(List.of("Not available")));
+
+    @Test
+    void acceptsWellFormedTree() {
+        TalentFilter filter = new TalentFilter.And(List.of(
+                SALARY,
+                new TalentFilter.Or(List.of(
+                        new TalentFilter.Location(List.of("Berlin", "Remote")),
+                        new TalentFilter.HasGithub(true))),
+                NOT_AVAILABLE,
+                new TalentFilter.Skills(new TalentFilter.SkillSet(List.of("java"), List.of("aws", "gcp"), null)),
+                new TalentFilter.ExperienceYears(new TalentFilter.Range(3.0, null)),
+                new TalentFilter.SeniorityLevel(List.of(Seniority.SENIOR)),
+                new TalentFilter.CreatedAt(new TalentFilter.Window(LocalDateTime.of(2024, 1, 1, 0, 0), null)),
+                new TalentFilter.Near(new TalentFilter.Circle(52.52, 13.40, 25.0))));
+
+        assertThatCode(() -> TalentSpecifications.validate(filter)).doesNotThrowAnyException();
+        assertThat(TalentSpecifications.matching(filter)).isNotNull();
+    }
+
+    @Test
+    void rejectsRangesWithoutBounds() {
+        assertInvalid(new TalentFilter.Salary(new TalentFilter.Range(null, null)), "salary");
+        assertInvalid(new TalentFilter.Salary(null), "salary");
+        assertInvalid(new TalentFilter.ExperienceYears(new TalentFilter.Range(null, null)), "experienceYears");
+        assertInvalid(new TalentFilter.CreatedAt(new TalentFilter.Window(null, null)), "createdAt");
+    }
+
+    @Test
+    void rejectsReversedRanges() {
+        assertInvalid(new TalentFilter.Salary(new TalentFilter.Range(90000.0, 50000.0)), "salary");
+        assertInvalid(new TalentFilter.ExperienceYears(new TalentFilter.Range(10.0, 2.0)), "experienceYears");
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        assertInvalid(new TalentFilter.CreatedAt(new TalentFilter.Window(now, now)), "createdAt");
+    }
+
+    @Test
+    void rejectsEmptyRangeParsedFromJson() throws Exception {
+        TalentFilter filter = new ObjectMapper().readValue("{\"salary\":{}}", TalentFilter.class);
+
+        assertThat(filter).isInstanceOf(TalentFilter.Salary.class);
+        assertInvalid(filter, "salary");
+    }
+
+    @Test
+    void rejectsNullListElements() {
+        assertInvalid(new TalentFilter.Location(Arrays.asList("Berlin", null)), "location");
+        assertInvalid(new TalentFilter.DesiredPosition(Arrays.asList((String) null)), "desiredPosition");
+        assertInvalid(new TalentFilter.Availability(Arrays.asList(null, "Immediately")), "availability");
+        assertInvalid(new TalentFilter.SeniorityLevel(Arrays.asList(Seniority.MID, null)), "seniority");
+        assertInvalid(new TalentFilter.Skills(new TalentFilter.SkillSet(null, Arrays.asList("java", null), null)), "skills.any");
+    }
+
+    @Test
+    void rejectsEmptyConditions() {
+        assertInvalid(null, "empty");
+        assertInvalid(new TalentFilter.And(List.of()), "and");
+        assertInvalid(new TalentFilter.Or(null), "or");
+        assertInvalid(new TalentFilter.Not(null), "empty");
+        assertInvalid(new TalentFilter.Location(List.of()), "location");
+        assertInvalid(new TalentFilter.Skills(new TalentFilter.SkillSet(List.of(), null, null)), "skills");
+    }
+
+    @Test
+    void rejectsTooManyValues() {
+        List<String> locations = Collections.nCopies(101, "Berlin");
+
+        assertInvalid(new TalentFilter.Location(locations), "at most 100");
+    }
+
+    @Test
+    void rejectsTreesThatAreTooDeepOrTooLarge() {
+        TalentFilter deep = SALARY;
+        for (int i = 0; i < 8; i++) {
+            deep = new TalentFilter.Not(deep);
+        }
+        assertInvalid(deep, "deeper");
+
+        List<TalentFilter> children = new ArrayList<>(Collections.nCopies(64, SALARY));
+        assertInvalid(new TalentFilter.And(children), "more than 64");
+    }
+
+    @Test
+    void rejectsInvalidCircles() {
+        assertInvalid(new TalentFilter.Near(new TalentFilter.Circle(91.0, 0.0, 10.0)), "near");
+        assertInvalid(new TalentFilter.Near(new TalentFilter.Circle(52.5, 13.4, null)), "near");
+        assertInvalid(new TalentFilter.Near(new TalentFilter.Circle(52.5, 13.4, 0.0)), "radiusKm");
+    }
+
+    @Test
+    void tellsWhichTreesAnIndexCanServe() {
+        TalentFilter noneOnly = new TalentFilter.Skills(new TalentFilter.SkillSet(null, null, List.of("php")));
+
+        assertThat(TalentSpecifications.isIndexed(SALARY)).isTrue();
+        assertThat(TalentSpecifications.isIndexed(NOT_AVAILABLE)).isFalse();
+        assertThat(TalentSpecifications.isIndexed(noneOnly)).isFalse();
+        assertThat(TalentSpecifications.isIndexed(new TalentFilter.HasGithub(false))).isFalse();
+        assertThat(TalentSpecifications.isIndexed(new TalentFilter.And(List.of(NOT_AVAILABLE, SALARY)))).isTrue();
+        assertThat(TalentSpecifications.isIndexed(new TalentFilter.Or(List.of(SALARY, NOT_AVAILABLE)))).isFalse();
+        assertThat(TalentSpecifications.isIndexed(new TalentFilter.Or(List.of(SALARY, new TalentFilter.HasGithub(true)))))
+                .isTrue();
+    }
+
+    private static void assertInvalid(TalentFilter filter, String message) {
+        assertThatThrownBy(() -> TalentSpecifications.validate(filter))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(message);
+    }
+}
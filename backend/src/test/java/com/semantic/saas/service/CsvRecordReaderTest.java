@@ -0,0 +1,94 @@
+package com.semantic.saas.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsPlainAndEmptyFields() throws IOException {
+        CsvRecordReader reader = reader("a,b,c\r\n,x,\n");
+
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.next()).containsExactly("", "x", "");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsLastRecordWithoutLineBreak() throws IOException {
+        CsvRecordReader reader = reader("a,b");
+
+        assertThat(reader.next()).containsExactly("a", "b");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void unquotesSeparatorsAndDoubledQuotes() throws IOException {
+        CsvRecordReader reader = reader("\"Smith, John\",\"say \"\"hi\"\"\",\"\"\n");
+
+        assertThat(reader.next()).containsExactly("Smith, John", "say \"hi\"", "");
+    }
+
+    @Test
+    void keepsLineBreaksInQuotedFieldsAndTracksRecordLines() throws IOException {
+        CsvRecordReader reader = reader("h1,h2\r\n\"first\r\nsecond\nthird\",x\r\nlast,y\r\n");
+
+        assertThat(reader.next()).containsExactly("h1", "h2");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("first\r\nsecond\nthird", "x");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("last", "y");
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsUnclosedQuote() throws IOException {
+        CsvRecordReader reader = reader("ok\n\"never closed,x\n");
+
+        assertThat(reader.next()).containsExactly("ok");
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void rejectsOverlongRecord() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"" + "x".repeat(100)), 50);
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("longer than 50");
+    }
+
+    @Test
+    void formulaGuardSurvivesExportAndImport() throws IOException {
+        List<String> values = List.of("=SUM(A1:A9)", "+1 555 0100", "-5", "@user", "\tindented", "'quoted",
+                "'=already guarded", "''", "'", "plain", "", "it's fine");
+
+        StringBuilder csv = new StringBuilder();
+        for (String value : values) {
+            String cell = TalentExportService.guard(value);
+            assertThat(cell).doesNotStartWith("=").doesNotStartWith("+").doesNotStartWith("-").doesNotStartWith("@");
+            csv.append('"').append(cell.replace("\"", "\"\"")).append("\"\r\n");
+        }
+
+        CsvRecordReader reader = reader(csv.toString());
+        List<String> imported = new ArrayList<>();
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            imported.add(TalentImportService.unguard(fields.get(0)));
+        }
+        assertThat(imported).isEqualTo(values);
+    }
+
+    private static CsvRecordReader reader(String csv) {
+        return new CsvRecordReader(new StringReader(csv), 1024);
+    }
+}
@@ -0,0 +1,54 @@
+package com.semantic.saas.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TalentSearchQueryTest {
+
+    @Test
+    void plainWordsGoToWebsearch() {
+        TalentSearchQuery query = TalentSearchQuery.parse("  java   developer ");
+
+        assertThat(query.text()).isEqualTo("java developer");
+        assertThat(query.prefix()).isEmpty();
+        assertThat(query.isEmpty()).isFalse();
+    }
+
+    @Test
+    void starredWordsBecomePrefixTerms() {
+        TalentSearchQuery query = TalentSearchQuery.parse("kube* java k8s*");
+
+        assertThat(query.text()).isEqualTo("java");
+        assertThat(query.prefix()).isEqualTo("kube:* & k8s:*");
+    }
+
+    @Test
+    void prefixTermsKeepOnlyLettersDigitsAndUnderscores() {
+        TalentSearchQuery query = TalentSearchQuery.parse("node.js* c++* ('x*");
+
+        assertThat(query.text()).isEmpty();
+        assertThat(query.prefix()).isEqualTo("nodejs:* & c:* & x:*");
+    }
+
+    @Test
+    void starsInsidePhrasesAreLeftToWebsearch() {
+        TalentSearchQuery query = TalentSearchQuery.parse("\"spring boot* microservices\" aws* -php");
+
+        assertThat(query.text()).isEqualTo("\"spring boot* microservices\" -php");
+        assertThat(query.prefix()).isEqualTo("aws:*");
+    }
+
+    @Test
+    void loneOrEmptyStarsAreNoPrefix() {
+        assertThat(TalentSearchQuery.parse("*").text()).isEqualTo("*");
+        assertThat(TalentSearchQuery.parse("*").prefix()).isEmpty();
+        assertThat(TalentSearchQuery.parse("-* .*").isEmpty()).isTrue();
+    }
+
+    @Test
+    void blankKeywordIsEmpty() {
+        assertThat(TalentSearchQuery.parse("   ").isEmpty()).isTrue();
+        assertThat(TalentSearchQuery.parse("").isEmpty()).isTrue();
+    }
+}
@@ -116,7 +116,15 @@ const TalentForm: React.FC = () => {
         await talentService.updateTalent(Number(id), talent);
         alert('Talent updated successfully');
       } else {
-        await talentService.createTalent(talent);
+        try {
+          await talentService.createTalent(talent);
+        } catch (error: any) {
+          // 409: the talent looks like an existing one, let the user decide
+          if (error?.response?.status !== 409 || !window.confirm(`${error.response.data.message}\n\nCreate anyway?`)) {
+            throw error;
+          }
+          await talentService.createTalent(talent, true);
+        }
         alert('Talent created successfully');
       }
       navigate('/talents');
@@ -1,12 +1,13 @@
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { Talent, PagedResponse, talentService } from '../../services/talentService';
+import { Talent, PagedResponse, Suggestion, talentService } from '../../services/talentService';
 import { useAuth } from '../../hooks/useAuth';
 
 const TalentList: React.FC = () => {
   const [talents, setTalents] = useState<Talent[]>([]);
   const [loading, setLoading] = useState<boolean>(true);
   const [searchTerm, setSearchTerm] = useState<string>('');
+  const [suggestions, setSuggestions] = useState<Suggestion[]>([]);
   const [page, setPage] = useState<number>(0);
   const [totalPages, setTotalPages] = useState<number>(0);
   const [totalElements, setTotalElements] = useState<number>(0);
@@ -26,6 +27,32 @@ const TalentList: React.FC = () => {
     fetchTalents();
   }, [page, isAdmin, navigate]);
 
+  // Typeahead is served from the in-memory suggest index; the full search only runs on submit
+  useEffect(() => {
+    const prefix = searchTerm.trim();
+    if (!isAdmin || prefix.length === 0) {
+      setSuggestions([]);
+      return;
+    }
+
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const result = await talentService.suggest(prefix);
+        if (!cancelled) {
+          setSuggestions(result);
+        }
+      } catch (error) {
+        console.error('Failed to fetch suggestions', error);
+      }
+    }, 150);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm, isAdmin]);
+
   const fetchTalents = async () => {
     setLoading(true);
     try {
@@ -92,10 +119,18 @@ const TalentList: React.FC = () => {
             <input
               className="block w-full pl-10 pr-3 py-2 border border-gray-300 rounded-md leading-5 bg-white placeholder-gray-500 focus:outline-none focus:ring-blue-500 focus:border-blue-500 sm:text-sm"
               placeholder="Search talents..."
+              list="talent-suggestions"
               value={searchTerm}
               onChange={(e) => setSearchTerm(e.target.value)}
               onKeyPress={(e) => e.key === 'Enter' && handleSearch()}
             />
+            <datalist id="talent-suggestions">
+              {suggestions.map((suggestion) => (
+                <option key={`${suggestion.kind}:${suggestion.text}`} value={suggestion.text}>
+                  {suggestion.kind.toLowerCase()}
+                </option>
+              ))}
+            </datalist>
           </div>
           <button 
             className="ml-2 bg-blue-500 hover:bg-blue-700 text-white font-bold py-2 px-4 rounded"
@@ -20,6 +20,9 @@ export interface Talent {
   salaryExpectation?: number;
   availability?: string;
   notes?: string;
+  // Derived from the experience text by the server; ignored on save
+  totalExperienceMonths?: number;
+  seniority?: 'JUNIOR' | 'MID' | 'SENIOR' | 'LEAD';
   createdAt?: string;
   updatedAt?: string;
 }
@@ -34,6 +37,19 @@ export interface PagedResponse<T> {
   first: boolean;
 }
 
+export interface FacetValue {
+  value: string;
+  count: number;
+}
+
+export type TalentFacets = Record<'skills' | 'location' | 'availability' | 'desiredPosition', FacetValue[]>;
+
+export interface Suggestion {
+  text: string;
+  kind: 'NAME' | 'SKILL' | 'POSITION' | 'LOCATION';
+  count: number;
+}
+
 export interface ApiResponse<T = any> {
   success: boolean;
   message: string;
@@ -48,7 +64,8 @@ export const talentService = {
     sortDir = 'asc'
   ): Promise<PagedResponse<Talent>> => {
     const response = await api.get('/talents', {
-      params: { page, size, sortBy, sortDir },
+      // The list only needs the summary fields, not the large text columns
+      params: { page, size, sortBy, sortDir, view: 'summary' },
     });
     return response.data;
   },
@@ -58,8 +75,10 @@ export const talentService = {
     return response.data;
   },
 
-  createTalent: async (talent: Talent): Promise<ApiResponse<Talent>> => {
-    const response = await api.post('/talents', talent);
+  createTalent: async (talent: Talent, allowDuplicates = false): Promise<ApiResponse<Talent>> => {
+    const response = await api.post('/talents', talent, {
+      params: allowDuplicates ? { allowDuplicates: true } : undefined
+    });
     return response.data;
   },
 
@@ -79,7 +98,21 @@ export const talentService = {
     size = 10
   ): Promise<PagedResponse<Talent>> => {
     const response = await api.get('/talents/search', {
-      params: { keyword, page, size },
+      params: { keyword, page, size, view: 'summary' },
+    });
+    return response.data;
+  },
+
+  getFacets: async (keyword?: string, limit = 10): Promise<TalentFacets> => {
+    const response = await api.get('/talents/facets', {
+      params: { keyword, limit },
+    });
+    return response.data;
+  },
+
+  suggest: async (prefix: string, limit = 8): Promise<Suggestion[]> => {
+    const response = await api.get('/talents/suggest', {
+      params: { prefix, limit },
     });
     return response.data;
   },